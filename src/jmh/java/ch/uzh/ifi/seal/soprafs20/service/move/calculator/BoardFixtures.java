@@ -0,0 +1,309 @@
+package ch.uzh.ifi.seal.soprafs20.service.move.calculator;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BoardConstants;
+import ch.uzh.ifi.seal.soprafs20.constant.DevelopmentType;
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.constant.TileType;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
+
+import java.util.*;
+
+/**
+ * Creates games in memory for the benchmarks.
+ * <p>
+ * The boards are built the same way as by the BoardService, but without the database.
+ * Buildings and roads are placed with a fixed seed, so every run measures the same boards:
+ * every player first places two settlements with a road each, then extends the road network,
+ * builds further settlements on it and upgrades settlements to cities.
+ */
+final class BoardFixtures {
+
+    static final Long GAME_ID = 1L;
+
+    private static final long SEED = 16L;
+
+    /**
+     * The stages of a game, with the buildings every player has on the board
+     */
+    enum Stage {
+        SETUP(1, 0, 1, 0),
+        EARLY(2, 0, 4, 1),
+        MID(2, 1, 8, 3),
+        LATE(2, 2, 12, 5);
+
+        private final int settlements;
+        private final int cities;
+        private final int roads;
+        private final int resources;
+
+        Stage(int settlements, int cities, int roads, int resources) {
+            this.settlements = settlements;
+            this.cities = cities;
+            this.roads = roads;
+            this.resources = resources;
+        }
+    }
+
+    private BoardFixtures() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Creates a started game in the given stage, the first player is the current player
+     *
+     * @param stage       the stage
+     * @param playerCount the number of players
+     * @return the game
+     */
+    static Game createGame(Stage stage, int playerCount) {
+
+        Random random = new Random(SEED + 31L * playerCount + stage.ordinal());
+        BoardBuilder builder = new BoardBuilder(random);
+
+        Game game = new Game();
+        game.setId(GAME_ID);
+        game.setName("Benchmark");
+        game.setStarted(true);
+        game.setBoard(builder.board);
+
+        for (int p = 0; p < playerCount; p++) {
+            game.addPlayer(createPlayer(p + 1L, stage));
+        }
+        List<Player> players = game.getPlayers();
+
+        // the first settlements in snake order, as in the first part of the game
+        int firstSettlements = Math.min(2, stage.settlements + stage.cities);
+        for (int round = 0; round < firstSettlements; round++) {
+            for (int p = 0; p < playerCount; p++) {
+                Player player = players.get(round % 2 == 0 ? p : playerCount - 1 - p);
+                int vertex = builder.findVertex(player.getUserId(), false);
+                builder.placeSettlement(player.getUserId(), vertex);
+                builder.placeRoad(player.getUserId(), vertex);
+            }
+        }
+
+        // extend the road networks and build on them
+        for (Player player : players) {
+            for (int road = firstSettlements; road < stage.roads; road++) {
+                builder.extendRoads(player.getUserId());
+            }
+            for (int settlement = firstSettlements; settlement < stage.settlements + stage.cities; settlement++) {
+                int vertex = builder.findVertex(player.getUserId(), true);
+                if (vertex != BoardTopology.NO_VERTEX) {
+                    builder.placeSettlement(player.getUserId(), vertex);
+                }
+            }
+            builder.upgradeSettlements(player.getUserId(), stage.cities);
+        }
+
+        game.setCurrentPlayer(players.get(0));
+        return game;
+    }
+
+    private static Player createPlayer(Long userId, Stage stage) {
+
+        Player player = new Player();
+        player.setUserId(userId);
+        player.setGameId(GAME_ID);
+        player.setUsername("Player" + userId);
+
+        for (ResourceType type : ResourceType.values()) {
+            player.getWallet().addResource(type, stage.resources);
+        }
+
+        // a few development cards once the game is running
+        DevelopmentType[] types = DevelopmentType.values();
+        for (int card = 0; card < stage.resources; card++) {
+            player.addDevelopmentCard(new DevelopmentCard(types[card % types.length]));
+        }
+        return player;
+    }
+
+    /**
+     * Places the buildings and keeps track of the occupied vertices and edges
+     */
+    private static class BoardBuilder {
+
+        private final Random random;
+        private final Board board = new Board();
+        private final Coordinate[] coordinates = new Coordinate[BoardTopology.NUMBER_OF_VERTICES];
+
+        private final long[] buildingOwners = new long[BoardTopology.NUMBER_OF_VERTICES];
+        private final BitSet roads = new BitSet(BoardTopology.NUMBER_OF_EDGES);
+        private final Map<Long, BitSet> networks = new HashMap<>();
+        private final Map<Long, List<Settlement>> settlements = new HashMap<>();
+
+        private BoardBuilder(Random random) {
+            this.random = random;
+            Arrays.fill(buildingOwners, -1);
+
+            for (int vertex = 0; vertex < coordinates.length; vertex++) {
+                coordinates[vertex] = new Coordinate(BoardTopology.getX(vertex), BoardTopology.getY(vertex));
+            }
+            for (int vertex = 0; vertex < coordinates.length; vertex++) {
+                List<Coordinate> neighbors = new ArrayList<>();
+                for (int neighbor : BoardTopology.getNeighbors(vertex)) {
+                    neighbors.add(coordinates[neighbor]);
+                }
+                coordinates[vertex].setNeighbors(neighbors);
+            }
+
+            board.setGameId(GAME_ID);
+            board.setTiles(createTiles());
+        }
+
+        private List<Tile> createTiles() {
+
+            List<TileType> types = new ArrayList<>();
+            types.addAll(Collections.nCopies(BoardConstants.NUMBER_OF_FIELDS, TileType.FIELD));
+            types.addAll(Collections.nCopies(BoardConstants.NUMBER_OF_FORESTS, TileType.FOREST));
+            types.addAll(Collections.nCopies(BoardConstants.NUMBER_OF_MOUNTAINS, TileType.MOUNTAIN));
+            types.addAll(Collections.nCopies(BoardConstants.NUMBER_OF_HILLS, TileType.HILL));
+            types.addAll(Collections.nCopies(BoardConstants.NUMBER_OF_PASTURES, TileType.PASTURE));
+            Collections.shuffle(types, random);
+
+            List<Tile> tiles = new ArrayList<>();
+            for (int t = 0; t < BoardTopology.NUMBER_OF_TILES; t++) {
+                Tile tile = new Tile();
+                tile.setId(t + 1L);
+                tile.setGameId(GAME_ID);
+                tile.setTileNumber(BoardTopology.TILE_NUMBERS[t]);
+
+                List<Coordinate> corners = new ArrayList<>();
+                for (int vertex : BoardTopology.getTileVertices(t)) {
+                    corners.add(coordinates[vertex]);
+                }
+                tile.setCoordinates(corners);
+
+                if (t == BoardTopology.DESERT_TILE) {
+                    tile.setType(TileType.DESERT);
+                    tile.setRobber(true);
+                }
+                else {
+                    tile.setType(types.remove(0));
+                }
+                tiles.add(tile);
+            }
+            return tiles;
+        }
+
+        /**
+         * Finds a free vertex that keeps the distance to the other buildings
+         *
+         * @param userId    the owner
+         * @param onNetwork if the vertex has to be on the road network of the owner
+         * @return the vertex or NO_VERTEX
+         */
+        private int findVertex(Long userId, boolean onNetwork) {
+
+            List<Integer> candidates = new ArrayList<>();
+            for (int vertex = 0; vertex < coordinates.length; vertex++) {
+                if (isFree(vertex) && (!onNetwork || network(userId).get(vertex))) {
+                    candidates.add(vertex);
+                }
+            }
+            if (candidates.isEmpty()) {
+                return BoardTopology.NO_VERTEX;
+            }
+            return candidates.get(random.nextInt(candidates.size()));
+        }
+
+        private boolean isFree(int vertex) {
+            if (buildingOwners[vertex] >= 0) {
+                return false;
+            }
+            for (int neighbor : BoardTopology.getNeighbors(vertex)) {
+                if (buildingOwners[neighbor] >= 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void placeSettlement(Long userId, int vertex) {
+
+            Settlement settlement = new Settlement();
+            settlement.setUserId(userId);
+            settlement.setCoordinate(coordinates[vertex]);
+            board.addSettlement(settlement);
+
+            buildingOwners[vertex] = userId;
+            network(userId).set(vertex);
+            settlements.computeIfAbsent(userId, id -> new ArrayList<>()).add(settlement);
+        }
+
+        /**
+         * Builds a road from a vertex to a random neighbor
+         *
+         * @return true if a free edge was found
+         */
+        private boolean placeRoad(Long userId, int vertex) {
+
+            // the road network of a player ends at buildings of other players
+            if (buildingOwners[vertex] >= 0 && buildingOwners[vertex] != userId) {
+                return false;
+            }
+
+            List<Integer> neighbors = new ArrayList<>();
+            for (int neighbor : BoardTopology.getNeighbors(vertex)) {
+                neighbors.add(neighbor);
+            }
+            Collections.shuffle(neighbors, random);
+
+            for (int neighbor : neighbors) {
+                int edge = BoardTopology.edgeBetween(vertex, neighbor);
+                if (!roads.get(edge)) {
+                    Road road = new Road();
+                    road.setUserId(userId);
+                    road.setCoordinate1(coordinates[vertex]);
+                    road.setCoordinate2(coordinates[neighbor]);
+                    board.addRoad(road);
+
+                    roads.set(edge);
+                    network(userId).set(vertex);
+                    network(userId).set(neighbor);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void extendRoads(Long userId) {
+
+            int[] vertices = network(userId).stream().toArray();
+            for (int attempt = 0; attempt < vertices.length; attempt++) {
+                if (placeRoad(userId, vertices[random.nextInt(vertices.length)])) {
+                    return;
+                }
+            }
+        }
+
+        private void upgradeSettlements(Long userId, int cities) {
+
+            List<Settlement> owned = settlements.getOrDefault(userId, new ArrayList<>());
+            for (int c = 0; c < cities && !owned.isEmpty(); c++) {
+                Settlement settlement = owned.remove(0);
+                board.getSettlements().remove(settlement);
+
+                City city = new City();
+                city.setUserId(userId);
+                city.setCoordinate(settlement.getCoordinate());
+                board.addCity(city);
+            }
+        }
+
+        private BitSet network(Long userId) {
+            return networks.computeIfAbsent(userId, id -> new BitSet(BoardTopology.NUMBER_OF_VERTICES));
+        }
+    }
+}
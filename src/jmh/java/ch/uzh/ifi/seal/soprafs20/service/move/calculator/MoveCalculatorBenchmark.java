@@ -0,0 +1,65 @@
+package ch.uzh.ifi.seal.soprafs20.service.move.calculator;
+
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the move calculation that runs after every move.
+ * <p>
+ * Every benchmark runs on boards of the setup, early, mid and late game with two to four players,
+ * see {@link BoardFixtures}. Run with the GC profiler to get the allocation rate per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class MoveCalculatorBenchmark {
+
+    @Param({"2", "3", "4"})
+    private int players;
+
+    @Param({"SETUP", "EARLY", "MID", "LATE"})
+    private String stage;
+
+    private Game game;
+    private Long userId;
+    private BoardIndex index;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        game = BoardFixtures.createGame(BoardFixtures.Stage.valueOf(stage), players);
+        userId = game.getCurrentPlayer().getUserId();
+        index = BoardIndex.of(game.getBoard());
+    }
+
+    @Benchmark
+    public List<Move> calculateAllStandardMoves() {
+        return MoveCalculator.calculateAllStandardMoves(game);
+    }
+
+    @Benchmark
+    public List<Move> calculateFirstSettlementMoves() {
+        return MoveCalculator.calculateFirstSettlementMoves(game);
+    }
+
+    @Benchmark
+    public List<Move> calculateAllRoadProgressMoves() {
+        return MoveCalculator.calculateAllRoadProgressMoves(game, 0);
+    }
+
+    @Benchmark
+    public BoardIndex indexBoard() {
+        return BoardIndex.of(game.getBoard());
+    }
+
+    @Benchmark
+    public int[] getRoadEndPoints() {
+        return index.getRoadEndPoints(userId);
+    }
+}
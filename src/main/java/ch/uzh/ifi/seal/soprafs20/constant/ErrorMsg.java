@@ -10,6 +10,7 @@ public class ErrorMsg {
     public static final String GAME_ACCESS_DENIED = "Game access denied!";
     public static final String NO_MOVE_WITH_ID = "There is no move with that id";
     public static final String MOVE_INVALID = "This is not a valid move!";
+    public static final String MOVE_PARAMETERS_INVALID = "The parameters of the move are missing or not valid";
     public static final String PATHVARIABLE_NOT_MATCH_ID = "The gameId and the PathVariable do not match!";
     public static final String USER_NOT_MATCH_PLAYER_ID = "Users id does not match moves playerId";
     public static final String NOT_ALLOWED_TO_MAKE_MOVE = "You are not allowed to make this move!";
@@ -34,6 +35,9 @@ public class ErrorMsg {
     public static final String THE_GAME_HAS_STARTED = "The game has already started!";
     public static final String COORDINATE_ONLY_ONE_NEIGHBOR = "The coordinate should have at least two neighbors";
     public static final String PLENTY_TYPE_INVALID = "This plenty progress type does not exist!";
+    public static final String GAME_VERSION_NOT_MATCH = "The version of the game does not match the requested version";
+    public static final String GAME_CHANGED_CONCURRENTLY = "The game was changed concurrently";
+    public static final String GAME_HAS_CHANGED = "The game has changed in the meantime, please try again!";
 
     private ErrorMsg() {
         throw new IllegalStateException("ErrorMsg class should not be initialized");
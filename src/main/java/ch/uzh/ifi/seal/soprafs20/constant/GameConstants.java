@@ -9,6 +9,8 @@ public class GameConstants {
     public static final int NUMBER_OF_FIRST_ROUNDS = 2;
     public static final int NUMBER_OF_ROADS_ROAD_PROGRESS = 2;
     public static final int WIN_POINTS = 10;
+    public static final int DEFAULT_HISTORY_PAGE_SIZE = 50;
+    public static final int MAX_HISTORY_PAGE_SIZE = 200;
 
     private GameConstants() {
         throw new IllegalStateException(ErrorMsg.GAME_CONSTANTS_INITIALIZATION);
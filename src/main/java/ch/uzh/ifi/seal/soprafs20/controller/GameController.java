@@ -2,27 +2,36 @@ package ch.uzh.ifi.seal.soprafs20.controller;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.summary.GameSummary;
 import ch.uzh.ifi.seal.soprafs20.exceptions.RestException;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameDeltaDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameLinkDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GamePostDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.history.GameHistoryPageDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MovePutDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.HistoryService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventService;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameLaneExecutor;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameStateVersions;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -37,18 +46,27 @@ public class GameController {
     private final MoveService moveService;
     private final PlayerService playerService;
     private final HistoryService historyService;
+    private final GameLaneExecutor gameLaneExecutor;
+    private final GameStateVersions gameStateVersions;
+    private final GameEventService gameEventService;
 
     GameController(GameService gameService,
                    UserService userService,
                    MoveService moveService,
                    PlayerService playerService,
-                   HistoryService historyService) {
+                   HistoryService historyService,
+                   GameLaneExecutor gameLaneExecutor,
+                   GameStateVersions gameStateVersions,
+                   GameEventService gameEventService) {
 
         this.gameService = gameService;
         this.userService = userService;
         this.moveService = moveService;
         this.playerService = playerService;
         this.historyService = historyService;
+        this.gameLaneExecutor = gameLaneExecutor;
+        this.gameStateVersions = gameStateVersions;
+        this.gameEventService = gameEventService;
     }
 
 
@@ -58,26 +76,33 @@ public class GameController {
      * returns for all games an Id and a link in an array
      * <p>
      * Success: 200 OK, Failure 401 UNAUTHORIZED
+     * <p>
+     * The games can be filtered with ?started=true|false and ?open=true, which only returns the games
+     * that can still be joined. With ?size the games are returned in pages, ?page starts at 0.
      *
      * @return List of GameLinkDTOs
      */
     @GetMapping("/games")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
-    public List<GameLinkDTO> getGames(@RequestHeader(name = "Token") String token) {
+    public List<GameLinkDTO> getGames(@RequestHeader(name = "Token") String token,
+                                      @RequestParam(name = "started", required = false) Boolean started,
+                                      @RequestParam(name = "open", defaultValue = "false") boolean open,
+                                      @RequestParam(name = "page", defaultValue = "0") int page,
+                                      @RequestParam(name = "size", required = false) Integer size) {
 
         //Check token for validity
         GameControllerHelper.checkToken(userService, token);
 
-        //Get list of games from game service
-        List<Game> games = gameService.getGames();
+        //Get the lobby from game service, the games themselves are not loaded
+        List<GameListing> listings = gameService.getLobby(started, open, page, size);
 
         //Create new list for DTOs
         List<GameLinkDTO> gameLinks = new ArrayList<>();
 
         //Create DTOs for each game
-        for (Game game : games) {
-            gameLinks.add(DTOMapper.INSTANCE.convertGameToGameLinkDTO(game));
+        for (GameListing listing : listings) {
+            gameLinks.add(DTOMapper.INSTANCE.convertGameListingToGameLinkDTO(listing));
         }
 
         log.info("GET /games called");
@@ -142,27 +167,60 @@ public class GameController {
      * <p>
      * returns the game that has the Id gameId
      * <p>
-     * Success: 200 OK, Failure: 403 FORBIDDEN, 404 NOT FOUND, 401 UNAUTHORIZED
+     * Success: 200 OK, 304 NOT MODIFIED, Failure: 403 FORBIDDEN, 404 NOT FOUND, 401 UNAUTHORIZED
      * (If the game exists but the user lacks permission, then 403 is returned)
+     * <p>
+     * The state version of the game is returned as ETag. If the client sends the current
+     * version in If-None-Match, 304 is returned. The game is not loaded if the user is a
+     * registered player of the game, otherwise 304 is only returned after the game and the
+     * player are checked.
+     * <p>
+     * If the client sends the version of the last GameDTO it has seen in since, only the changes
+     * since that version are returned as GameDeltaDTO, without the tiles and the whole history.
      *
-     * @param gameId the games unique id
+     * @param gameId      the games unique id
+     * @param ifNoneMatch the ETag of the state the client has seen, optional
+     * @param since       the version of the game the client has, optional
+     * @param history     if the history is added to the GameDTO, the history can be paged with
+     *                    GET /games/:gameId/history instead
      * @return the game
      */
     @GetMapping("/games/{gameId}")
     @ResponseStatus(HttpStatus.OK)
     @ResponseBody
-    public Object getGameWithId(@RequestHeader(name = "Token") String token,
-                                @PathVariable Long gameId) {
+    public ResponseEntity<Object> getGameWithId(@RequestHeader(name = "Token") String token,
+                                                @PathVariable Long gameId,
+                                                @RequestHeader(name = HttpHeaders.IF_NONE_MATCH, required = false)
+                                                        String ifNoneMatch,
+                                                @RequestParam(name = "since", required = false) Long since,
+                                                @RequestParam(name = "history", defaultValue = "true") boolean history) {
 
         //Check token for validity
         GameControllerHelper.checkToken(userService, token);
 
+        //The version is taken before the game is loaded, so it is never newer than the returned state
+        String eTag = gameStateVersions.getETag(gameId);
+
+        HttpHeaders headers = new HttpHeaders();
+        if (eTag != null) {
+            headers.setETag(eTag);
+        }
+        headers.setVary(List.of("Token"));
+
+        //Return 304 if the client has seen the current state and is a registered player of the game
+        boolean notModified = GameControllerHelper.isNotModified(ifNoneMatch, eTag);
+        if (notModified && gameService.isRegisteredPlayerOfGame(
+                GameControllerHelper.findUserByToken(userService, token).getId(), gameId)) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
         // check for gameSummary (e.g. game has been finished)
         GameSummary summary = gameService.findGameSummary(gameId);
 
         // return summary if provided
         if (summary != null) {
-            return DTOMapper.INSTANCE.convertGameSummaryToGameSummaryDTO(summary);
+            return new ResponseEntity<>(DTOMapper.INSTANCE.convertGameSummaryToGameSummaryDTO(summary),
+                    headers, HttpStatus.OK);
         }
 
         //find game else throw 404
@@ -172,6 +230,22 @@ public class GameController {
         User requestingUser = GameControllerHelper.checkIfUserIsPlayerElseThrow403(
                 gameService, userService, token, foundGame);
 
+        //The player is not registered, 304 is only returned once the game and the player are checked
+        if (notModified) {
+            return new ResponseEntity<>(headers, HttpStatus.NOT_MODIFIED);
+        }
+
+        //If the client knows an older version of the game, only return the changes
+        if (since != null && since >= 0 && since <= foundGame.getVersion()) {
+            GameDeltaDTO deltaDTO = GameControllerHelper.createGameDeltaDTO(
+                    moveService, playerService, historyService, requestingUser, foundGame, since);
+
+            String message = String.format("GET /games/%d?since=%d called", gameId, since);
+            log.info(message);
+
+            return new ResponseEntity<>(deltaDTO, headers, HttpStatus.OK);
+        }
+
         //If user has access create the GameDTO
         GameDTO gameDTO = DTOMapper.INSTANCE.convertGameToGameDTO(foundGame);
 
@@ -179,13 +253,88 @@ public class GameController {
         GameControllerHelper.addCardsAndMoves(moveService, playerService, requestingUser, gameDTO);
 
         //Add the game History
-        GameControllerHelper.addGameHistory(historyService, gameDTO);
+        if (history) {
+            GameControllerHelper.addGameHistory(historyService, gameDTO);
+        }
 
         String message = String.format("GET /games/%d called", gameId);
         log.info(message);
 
         //Return gameDTO
-        return gameDTO;
+        return new ResponseEntity<>(gameDTO, headers, HttpStatus.OK);
+    }
+
+    /**
+     * GET /games/:gameId/history
+     * <p>
+     * returns a page of the history of the game, the moves after the given sequence
+     * <p>
+     * Success: 200 OK, Failure: 403 FORBIDDEN, 404 NOT FOUND, 401 UNAUTHORIZED
+     *
+     * @param token  unique authentication string for every user
+     * @param gameId the games unique id
+     * @param after  the sequence of the last move the client has, 0 for the first page
+     * @param limit  the maximal number of moves of the page
+     * @return the page of the history
+     */
+    @GetMapping("/games/{gameId}/history")
+    @ResponseStatus(HttpStatus.OK)
+    @ResponseBody
+    public GameHistoryPageDTO getGameHistory(@RequestHeader(name = "Token") String token,
+                                             @PathVariable Long gameId,
+                                             @RequestParam(name = "after", defaultValue = "0") long after,
+                                             @RequestParam(name = "limit", required = false) Integer limit) {
+
+        //Check token for validity
+        GameControllerHelper.checkToken(userService, token);
+
+        //find game else throw 404
+        Game foundGame = GameControllerHelper.checkIfGameExists(gameService, gameId);
+
+        //check if the user is also a player
+        GameControllerHelper.checkIfUserIsPlayerElseThrow403(gameService, userService, token, foundGame);
+
+        String message = String.format("GET /games/%d/history called. After: %d", gameId, after);
+        log.info(message);
+
+        return GameControllerHelper.createGameHistoryPageDTO(historyService, gameId, after, limit);
+    }
+
+    /**
+     * GET /games/:gameId/events
+     * <p>
+     * streams an event to the player whenever the state of the game changes
+     * <p>
+     * Success: 200 OK (text/event-stream), Failure: 403 FORBIDDEN, 404 NOT FOUND, 401 UNAUTHORIZED
+     * <p>
+     * The first event contains the current ETag of the game. The state itself is fetched with
+     * GET /games/:gameId, the stream ends with an end event when the game is over.
+     *
+     * @param token  unique authentication string for every user
+     * @param gameId the games unique id
+     * @return the event stream
+     */
+    @GetMapping(path = "/games/{gameId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter getGameEvents(@RequestHeader(name = "Token") String token,
+                                    @PathVariable Long gameId) {
+
+        //Check token for validity
+        GameControllerHelper.checkToken(userService, token);
+
+        //find game else throw 404
+        Game foundGame = GameControllerHelper.checkIfGameExists(gameService, gameId);
+
+        //check if the user is also a player
+        User requestingUser = GameControllerHelper.checkIfUserIsPlayerElseThrow403(
+                gameService, userService, token, foundGame);
+
+        String message = String.format("GET /games/%d/events called. Player: %d", gameId, requestingUser.getId());
+        log.info(message);
+
+        //The game exists, a game that is not registered after a restart gets its version now
+        gameStateVersions.register(gameId);
+
+        return gameEventService.subscribe(gameId, requestingUser.getId(), () -> gameStateVersions.getETag(gameId));
     }
 
     /**
@@ -194,9 +343,12 @@ public class GameController {
      * a requested move is checked for authentication and identification and gets
      * carried out eventually
      * <p>
-     * Success: 202 ACCEPTED, Failure: 401 UNAUTHORIZED, 404 NOT FOUND, 403 FORBIDDEN
+     * Success: 202 ACCEPTED, Failure: 401 UNAUTHORIZED, 404 NOT FOUND, 403 FORBIDDEN, 409 CONFLICT
      * (if the game and the move both exist, but the player lacks permission, then
-     * 403 is returned)
+     * 403 is returned, if the game does not have the requested version, then 409 is returned)
+     * <p>
+     * The move is validated and performed in the lane of the game, so concurrent
+     * requests to the same game are applied one after the other.
      *
      * @param token      unique authentication string for every user
      * @param gameId     unique game Id
@@ -212,9 +364,34 @@ public class GameController {
         //If user does not possess a valid token return 401
         GameControllerHelper.checkToken(userService, token);
 
+        //The move is retried a few times if the game changes concurrently, else return 409 CONFLICT
+        try {
+            gameLaneExecutor.execute(gameId, () -> {
+                performMoveForUser(token, gameId, movePutDTO);
+                return null;
+            });
+        }
+        catch (OptimisticLockingFailureException e) {
+            throw new RestException(HttpStatus.CONFLICT, ErrorMsg.GAME_CHANGED_CONCURRENTLY,
+                    ErrorMsg.GAME_HAS_CHANGED);
+        }
+    }
+
+    /**
+     * Validates the requested move and performs it, is executed in the lane of the game
+     *
+     * @param token      the token of the requesting user
+     * @param gameId     the game id
+     * @param movePutDTO the requested move
+     */
+    private void performMoveForUser(String token, Long gameId, MovePutDTO movePutDTO) {
+
         //If game does not exists return 404
         Game foundGame = GameControllerHelper.checkIfGameExists(gameService, gameId);
 
+        //If the game changed since the client has seen it return 409
+        GameControllerHelper.checkVersionElseThrow409(foundGame, movePutDTO.getVersion());
+
         //Find move
         Long requestedMoveId = movePutDTO.getMoveId();
         Move foundMove = GameControllerHelper.findMoveIfExistsElseThrow403(moveService, requestedMoveId);
@@ -227,6 +404,9 @@ public class GameController {
         //Check if move and game and user build a valid set of instructions
         GameControllerHelper.checkIsValidGameMoveUserCombinationElseThrow(gameService, foundGame, foundMove, requestingUser);
 
+        //Bind the parameters the move leaves open, if they are not valid return 403
+        foundMove = GameControllerHelper.bindMoveParametersElseThrow403(foundGame, foundMove, movePutDTO);
+
         String message = String.format("PUT /games/%d called. Player: %d Move: %s",
                 gameId, requestingUser.getId(), foundMove.getClass().getSimpleName());
         log.info(message);
@@ -4,22 +4,31 @@ import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.constant.GameConstants;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
 import ch.uzh.ifi.seal.soprafs20.entity.history.GameHistory;
+import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.exceptions.RestException;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.building.BuildingDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.DevelopmentCardsDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameDeltaDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.PlayerDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.ResourceDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.history.GameHistoryDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.history.GameHistoryPageDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MovePutDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.HistoryService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
+import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveBinder;
 import org.springframework.http.HttpStatus;
 
 import java.util.ArrayList;
@@ -63,6 +72,20 @@ class GameControllerHelper {
         }
     }
 
+    /**
+     * Returns the user with the token
+     *
+     * @param userService the user service
+     * @param token       the user token
+     * @return the user
+     */
+    static User findUserByToken(UserService userService, String token) {
+
+        User tempUser = new User();
+        tempUser.setToken(token);
+        return userService.findUser(tempUser);
+    }
+
     /**
      * Checks the token for validity
      * This method helps guard the /games endpoints but does not
@@ -86,10 +109,54 @@ class GameControllerHelper {
     static void addCardsAndMoves(MoveService moveService, PlayerService playerService, User requestingUser, GameDTO gameDTO) {
 
         //Add the players cards to the dto
+        addCards(playerService, requestingUser, gameDTO.getPlayers());
+
+        //Add the moves to the GameDTO
+        gameDTO.setMoves(createMoveDTOs(moveService, gameDTO.getGameId(), requestingUser));
+    }
+
+    static GameDeltaDTO createGameDeltaDTO(MoveService moveService, PlayerService playerService,
+                                           HistoryService historyService, User requestingUser,
+                                           Game game, long since) {
+
+        GameDeltaDTO deltaDTO = DTOMapper.INSTANCE.convertGameToGameDeltaDTO(game);
+        deltaDTO.setSince(since);
+
+        //Add the buildings that were built since the requested version
+        Board board = game.getBoard();
+        if (board != null) {
+            deltaDTO.setRoads(createBuildingDTOsSince(board.getRoads(), since));
+            deltaDTO.setSettlements(createBuildingDTOsSince(board.getSettlements(), since));
+            deltaDTO.setCities(createBuildingDTOsSince(board.getCities(), since));
+
+            //The robber is sent as the index of its tile
+            List<Tile> tiles = board.getTiles();
+            for (int i = 0; i < tiles.size(); i++) {
+                if (tiles.get(i).isRobber()) {
+                    deltaDTO.setRobberTile(i);
+                    break;
+                }
+            }
+        }
+
+        //Add the history entries since the requested version
+        GameHistoryDTO historyDTO = new GameHistoryDTO();
+        historyDTO.setMoves(historyService.findMoveHistorySince(game.getId(), since));
+        deltaDTO.setHistory(historyDTO);
+
+        //Add the cards and the moves of the requesting player
+        addCards(playerService, requestingUser, deltaDTO.getPlayers());
+        deltaDTO.setMoves(createMoveDTOs(moveService, game.getId(), requestingUser));
+
+        return deltaDTO;
+    }
+
+    private static void addCards(PlayerService playerService, User requestingUser, List<PlayerDTO> playerDTOs) {
+
         Player player = playerService.findPlayerByUserId(requestingUser.getId());
 
         //Find corresponding PlayerDTO
-        for (PlayerDTO playerDTO : gameDTO.getPlayers()) {
+        for (PlayerDTO playerDTO : playerDTOs) {
             if (playerDTO.getUserId().equals(player.getUserId())) {
 
                 //set development cards
@@ -105,28 +172,37 @@ class GameControllerHelper {
                 break;
             }
         }
+    }
 
+    private static List<MoveDTO> createMoveDTOs(MoveService moveService, Long gameId, User requestingUser) {
 
-        //Add the moves to the GameDTO
-        List<Move> moves = moveService.findMovesForGameAndPlayer(gameDTO.getGameId(), requestingUser.getId());
+        List<Move> moves = moveService.findMovesForGameAndPlayer(gameId, requestingUser.getId());
 
         //Transform moves to moveDTOs
         List<MoveDTO> moveDTOs = new ArrayList<>();
         for (Move move : moves) {
             moveDTOs.add(move.getMoveHandler().mapToDTO(move));
         }
+        return moveDTOs;
+    }
 
-        //Set the moves of the GameDTO
-        gameDTO.setMoves(moveDTOs);
+    private static List<BuildingDTO> createBuildingDTOsSince(List<? extends Building> buildings, long since) {
 
+        List<BuildingDTO> buildingDTOs = new ArrayList<>();
+        for (Building building : buildings) {
 
+            //Buildings without a version were built before versions were recorded
+            long builtIn = building.getGameVersion() == null ? 0 : building.getGameVersion();
+            if (builtIn > since) {
+                buildingDTOs.add(DTOMapper.INSTANCE.convertBuildingToBuildingDTO(building));
+            }
+        }
+        return buildingDTOs;
     }
 
     static User checkIfUserIsPlayerElseThrow403(GameService gameService, UserService userService, String token, Game foundGame) {
 
-        User tempUser = new User();
-        tempUser.setToken(token);
-        User requestingUser = userService.findUser(tempUser);
+        User requestingUser = findUserByToken(userService, token);
 
         //If user is not a player return  403 forbidden
         if (!gameService.userCanAccessGame(requestingUser, foundGame)) {
@@ -161,6 +237,35 @@ class GameControllerHelper {
         }
     }
 
+    static void checkVersionElseThrow409(Game foundGame, Long requestedVersion) {
+
+        //If the client has seen an older state of the game return 409 CONFLICT
+        if (requestedVersion != null && requestedVersion != foundGame.getVersion()) {
+            throw new RestException(HttpStatus.CONFLICT, ErrorMsg.GAME_VERSION_NOT_MATCH,
+                    ErrorMsg.GAME_HAS_CHANGED);
+        }
+    }
+
+    static boolean isNotModified(String ifNoneMatch, String eTag) {
+
+        //The client did not send a version or the version is not known
+        if (ifNoneMatch == null || eTag == null) {
+            return false;
+        }
+
+        //The header may contain a list of ETags, weak ETags are compared like strong ones
+        for (String requestedETag : ifNoneMatch.split(",")) {
+            String trimmed = requestedETag.trim();
+            if (trimmed.startsWith("W/")) {
+                trimmed = trimmed.substring(2);
+            }
+            if (trimmed.equals("*") || trimmed.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     static Move findMoveIfExistsElseThrow403(MoveService moveService, Long requestedMoveId) {
 
         Move foundMove = moveService.findMoveById(requestedMoveId);
@@ -173,6 +278,19 @@ class GameControllerHelper {
         return foundMove;
     }
 
+    static Move bindMoveParametersElseThrow403(Game game, Move move, MovePutDTO movePutDTO) {
+
+        Move boundMove = MoveBinder.bind(game, move, movePutDTO.getNeededType(), movePutDTO.getMonopolyType(),
+                movePutDTO.getPlentyType(), movePutDTO.getTileId());
+
+        //If the move leaves parameters open and they are missing or not valid return 403 FORBIDDEN
+        if (boundMove == null) {
+            throw new RestException(HttpStatus.FORBIDDEN, ErrorMsg.MOVE_PARAMETERS_INVALID,
+                    ErrorMsg.MOVE_INVALID);
+        }
+        return boundMove;
+    }
+
     static void checkConflict(Game createdGame) {
 
         //if created game is null there was a conflict
@@ -199,6 +317,30 @@ class GameControllerHelper {
         }
     }
 
+    static GameHistoryPageDTO createGameHistoryPageDTO(HistoryService historyService, Long gameId,
+                                                       long after, Integer limit) {
+
+        //The page size is bounded, so a page is never the whole history of a long game
+        int pageSize = limit == null ? GameConstants.DEFAULT_HISTORY_PAGE_SIZE : limit;
+        pageSize = Math.max(1, Math.min(pageSize, GameConstants.MAX_HISTORY_PAGE_SIZE));
+        long cursor = Math.max(0, after);
+
+        //One more move is loaded to know if there is a next page
+        List<MoveHistory> moves = historyService.findMoveHistoryPage(gameId, cursor, pageSize + 1);
+        boolean hasMore = moves.size() > pageSize;
+        if (hasMore) {
+            moves = moves.subList(0, pageSize);
+        }
+
+        GameHistoryPageDTO pageDTO = new GameHistoryPageDTO();
+        pageDTO.setGameId(gameId);
+        pageDTO.setAfter(cursor);
+        pageDTO.setMoves(moves);
+        pageDTO.setHasMore(hasMore);
+        pageDTO.setNext(moves.isEmpty() ? cursor : moves.get(moves.size() - 1).getSequence());
+        return pageDTO;
+    }
+
     public static void addGameHistory(HistoryService historyService, GameDTO gameDTO) {
         GameHistory history = historyService.findGameHistory(gameDTO.getGameId());
         GameHistoryDTO historyDTO = DTOMapper.INSTANCE.convertGameHistoryToGameHistoryDTO(history);
@@ -48,6 +48,11 @@ public class Game implements Serializable {
     @Column
     private boolean started = false;
 
+    // increased with every change of the game and with every performed move
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     public Game() {
         players = new ArrayList<>();
     }
@@ -60,6 +65,14 @@ public class Game implements Serializable {
         this.started = started;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public Long getId() {
         return id;
     }
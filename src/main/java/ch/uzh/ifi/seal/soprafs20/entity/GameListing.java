@@ -0,0 +1,50 @@
+package ch.uzh.ifi.seal.soprafs20.entity;
+
+/**
+ * A game as it is shown in the lobby.
+ * <p>
+ * This is not an entity but a read-only projection of a game, it is selected by
+ * the GameRepository without loading the players or the board of the game.
+ */
+public class GameListing {
+
+    private final Long id;
+    private final String name;
+    private final int playerMinimum;
+    private final int joinedPlayers;
+    private final boolean withBots;
+    private final boolean started;
+
+    public GameListing(Long id, String name, int playerMinimum, long joinedPlayers, boolean withBots, boolean started) {
+        this.id = id;
+        this.name = name;
+        this.playerMinimum = playerMinimum;
+        this.joinedPlayers = (int) joinedPlayers;
+        this.withBots = withBots;
+        this.started = started;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getPlayerMinimum() {
+        return playerMinimum;
+    }
+
+    public int getJoinedPlayers() {
+        return joinedPlayers;
+    }
+
+    public boolean isWithBots() {
+        return withBots;
+    }
+
+    public boolean isStarted() {
+        return started;
+    }
+}
@@ -41,6 +41,10 @@ public class User implements Serializable {
     @OneToOne
     private UserLocation location;
 
+    // increased on logout, signed tokens of an older generation are no longer valid
+    @Column(nullable = false)
+    private long tokenGeneration;
+
     public Long getId() {
         return id;
     }
@@ -96,4 +100,12 @@ public class User implements Serializable {
     public void setLocation(UserLocation location) {
         this.location = location;
     }
+
+    public long getTokenGeneration() {
+        return tokenGeneration;
+    }
+
+    public void setTokenGeneration(long tokenGeneration) {
+        this.tokenGeneration = tokenGeneration;
+    }
 }
@@ -19,7 +19,11 @@ public class Board implements Serializable {
     private static final long serialVersionUID = 1L;
 
     @Id
-    @Column(nullable = false, updatable = false, unique = true)
+    @GeneratedValue
+    private Long id;
+
+    //A board of the pool has no game yet
+    @Column(unique = true)
     private Long gameId;
 
     @ManyToMany(cascade = CascadeType.ALL)
@@ -42,6 +46,14 @@ public class Board implements Serializable {
         roads = new ArrayList<>();
     }
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
     public Long getGameId() {
         return gameId;
     }
@@ -53,6 +53,10 @@ public class Player implements Serializable {
         this.victoryPoints = victoryPoints;
     }
 
+    public void addVictoryPoints(int victoryPoints) {
+        this.victoryPoints += victoryPoints;
+    }
+
     public List<DevelopmentCard> getDevelopmentCards() {
         return developmentCards;
     }
@@ -7,45 +7,74 @@ import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import javax.persistence.*;
 import java.io.Serializable;
 import java.util.ArrayList;
-import java.util.EnumMap;
 import java.util.List;
-import java.util.Map;
 
+/**
+ * The resources of a player or the price of a building or card.
+ * <p>
+ * Every resource type has its own int column in the wallet row, so reading or changing
+ * the wallet never touches another table.
+ */
 @Entity
 @Table(name = "RESOURCE_WALLET")
 public class ResourceWallet implements Serializable {
 
-    @ElementCollection
-    private final Map<ResourceType, Integer> resources;
     @Id
     @GeneratedValue
     private Long id;
 
+    @Column(nullable = false)
+    private int brick;
+
+    @Column(nullable = false)
+    private int lumber;
+
+    @Column(nullable = false)
+    private int ore;
+
+    @Column(nullable = false)
+    private int grain;
+
+    @Column(nullable = false)
+    private int wool;
+
 
     public ResourceWallet() {
-        resources = new EnumMap<>(ResourceType.class);
 
         int initAmount = PlayerConstants.INIT_RESOURCE_AMOUNT;
 
         for (ResourceType type : ResourceType.values()) {
-            resources.put(type, initAmount);
+            setResourceAmount(type, initAmount);
         }
     }
 
     public void addResource(ResourceType type, int amount) {
-        int updatedAmount = resources.get(type) + amount;
-        resources.put(type, updatedAmount);
+        int updatedAmount = getResourceAmount(type) + amount;
+        setResourceAmount(type, updatedAmount);
     }
 
     public int getResourceAmount(ResourceType type) {
-        return resources.get(type);
+        switch (type) {
+            case BRICK:
+                return brick;
+            case LUMBER:
+                return lumber;
+            case ORE:
+                return ore;
+            case GRAIN:
+                return grain;
+            case WOOL:
+                return wool;
+            default:
+                throw new IllegalStateException("Unknown resource type not allowed!");
+        }
     }
 
     public void removeResource(ResourceType type, int amount) {
-        int currentAmount = resources.get(type);
+        int currentAmount = getResourceAmount(type);
         currentAmount = currentAmount - amount;
 
-        resources.put(type, currentAmount);
+        setResourceAmount(type, currentAmount);
 
         if (currentAmount < 0) {
             throw new IllegalStateException(ErrorMsg.NO_NEGATIVE_RESOURCES);
@@ -53,15 +82,34 @@ public class ResourceWallet implements Serializable {
     }
 
     public List<ResourceType> getAllTypes() {
-        return new ArrayList<>(resources.keySet());
+        return new ArrayList<>(List.of(ResourceType.values()));
     }
 
     public boolean isEmpty() {
-        for (ResourceType type : ResourceType.values()) {
-            if (resources.get(type) > 0) {
-                return false;
-            }
+        return brick <= 0 && lumber <= 0 && ore <= 0 && grain <= 0 && wool <= 0;
+    }
+
+    // -- helper methods --
+
+    private void setResourceAmount(ResourceType type, int amount) {
+        switch (type) {
+            case BRICK:
+                brick = amount;
+                break;
+            case LUMBER:
+                lumber = amount;
+                break;
+            case ORE:
+                ore = amount;
+                break;
+            case GRAIN:
+                grain = amount;
+                break;
+            case WOOL:
+                wool = amount;
+                break;
+            default:
+                throw new IllegalStateException("Unknown resource type not allowed!");
         }
-        return true;
     }
 }
@@ -15,11 +15,14 @@ public class Tile implements Serializable {
 
     private static final long serialVersionUID = 1L;
 
+    //The ids are allocated in blocks, a new board does not query the sequence for every tile
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tileSequence")
+    @SequenceGenerator(name = "tileSequence", sequenceName = "TILE_SEQUENCE", allocationSize = 50)
     private Long id;
 
-    @Column(nullable = false)
+    //A tile of a pooled board has no game yet
+    @Column
     private Long gameId;
 
     @Column
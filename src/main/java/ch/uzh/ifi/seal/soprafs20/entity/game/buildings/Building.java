@@ -25,6 +25,9 @@ public abstract class Building implements Serializable {
     @Column(nullable = false, updatable = false)
     private BuildingType type;
 
+    //Version of the game the building was built in
+    @Column
+    private Long gameVersion;
 
     //Abstract methods
     public abstract int getVictoryPoints();
@@ -52,4 +55,12 @@ public abstract class Building implements Serializable {
         this.userId = playerId;
     }
 
+    public Long getGameVersion() {
+        return gameVersion;
+    }
+
+    public void setGameVersion(Long gameVersion) {
+        this.gameVersion = gameVersion;
+    }
+
 }
@@ -14,4 +14,11 @@ public abstract class Card implements Serializable {
     @Column(updatable = false, nullable = false)
     private Long id;
 
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
 }
@@ -4,11 +4,6 @@ import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.history.MoveHistoryDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 
-import javax.persistence.Entity;
-import javax.persistence.Table;
-
-@Entity
-@Table(name = "BUILD_MOVE_HISTORY")
 public class BuildMoveHistory extends MoveHistory {
 
     private BuildingType buildingType;
@@ -3,11 +3,6 @@ package ch.uzh.ifi.seal.soprafs20.entity.history;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.history.MoveHistoryDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 
-import javax.persistence.Entity;
-import javax.persistence.Table;
-
-@Entity
-@Table(name = "DICE_MOVE_HISTORY")
 public class DiceMoveHistory extends MoveHistory {
 
     private int roll = 0;
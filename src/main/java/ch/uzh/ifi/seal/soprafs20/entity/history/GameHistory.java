@@ -11,7 +11,12 @@ public class GameHistory {
     @Id
     private Long gameId;
 
-    @OneToMany(cascade = CascadeType.ALL)
+    //Sequence of the last move in the history log of the game
+    @Column(nullable = false)
+    private long lastSequence;
+
+    //The moves are stored in the history log and only added when the history is read
+    @Transient
     private List<MoveHistory> moves;
 
     public GameHistory() {
@@ -26,6 +31,24 @@ public class GameHistory {
         this.gameId = gameId;
     }
 
+    public long getLastSequence() {
+        return lastSequence;
+    }
+
+    public void setLastSequence(long lastSequence) {
+        this.lastSequence = lastSequence;
+    }
+
+    /**
+     * Reserves the sequence of the next move
+     *
+     * @return the sequence
+     */
+    public long nextSequence() {
+        lastSequence++;
+        return lastSequence;
+    }
+
     public List<MoveHistory> getMoves() {
         return moves;
     }
@@ -0,0 +1,180 @@
+package ch.uzh.ifi.seal.soprafs20.entity.history;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
+import org.springframework.data.domain.Persistable;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * An entry of the append-only history log of a game.
+ * <p>
+ * The entries are keyed by the game and the position of the move in its history, so a page
+ * of the history is a range scan. The kind of the move, the dice roll and the building type
+ * are encoded into a single payload:
+ * <pre>
+ *     bits 0-7   kind of the move, index in MOVE_KINDS
+ *     bits 8-11  dice roll, 0 if the move is not a dice move
+ *     bits 12-13 building type, ordinal + 1, 0 if the move built nothing
+ *     bits 14-15 type of the history, 0 move, 1 dice move, 2 build move
+ * </pre>
+ * An entry is never changed once it is written.
+ */
+@Entity
+@Table(name = "HISTORY_LOG", indexes = @Index(name = "HISTORY_LOG_VERSION", columnList = "gameId, gameVersion"))
+@IdClass(HistoryEntryKey.class)
+public class HistoryEntry implements Persistable<HistoryEntryKey>, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //The kinds of moves, new kinds are only ever appended so stored payloads stay valid
+    private static final List<String> MOVE_KINDS = List.of(
+            "Move", "StartMove", "FirstSettlementMove", "FirstRoadMove", "FirstPassMove",
+            "DiceMove", "BuildMove", "TradeMove", "PurchaseMove", "CardMove", "PassMove",
+            "KnightMove", "StealMove", "MonopolyMove", "PlentyMove", "RoadProgressMove");
+
+    private static final int KIND_MASK = 0xFF;
+    private static final int ROLL_SHIFT = 8;
+    private static final int ROLL_MASK = 0xF;
+    private static final int BUILDING_SHIFT = 12;
+    private static final int BUILDING_MASK = 0x3;
+    private static final int TYPE_SHIFT = 14;
+    private static final int DICE_TYPE = 1;
+    private static final int BUILD_TYPE = 2;
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private Long gameId;
+
+    @Id
+    @Column(updatable = false, nullable = false)
+    private Long sequence;
+
+    @Column(updatable = false)
+    private Long gameVersion;
+
+    @Column(updatable = false)
+    private Long userId;
+
+    @Column(updatable = false)
+    private String username;
+
+    @Column(updatable = false, nullable = false)
+    private int payload;
+
+    //Entries are only inserted, never merged
+    @Transient
+    private boolean stored;
+
+    /**
+     * Encodes the move history as entry of the log
+     *
+     * @param moveHistory the move history
+     * @param gameId      the game id
+     * @param sequence    the position of the move in the history of the game
+     * @return the entry
+     */
+    public static HistoryEntry of(MoveHistory moveHistory, Long gameId, long sequence) {
+
+        HistoryEntry entry = new HistoryEntry();
+        entry.gameId = gameId;
+        entry.sequence = sequence;
+        entry.gameVersion = moveHistory.getGameVersion();
+        entry.userId = moveHistory.getUserId();
+        entry.username = moveHistory.getUsername();
+
+        //Unknown kinds are stored as plain moves
+        String moveName = moveHistory.getMoveName();
+        int kind = moveName == null ? 0 : Math.max(0, MOVE_KINDS.indexOf(moveName));
+        int roll = 0;
+        int building = 0;
+        int type = 0;
+
+        if (moveHistory instanceof DiceMoveHistory) {
+            roll = ((DiceMoveHistory) moveHistory).getRoll();
+            type = DICE_TYPE;
+        }
+        else if (moveHistory instanceof BuildMoveHistory) {
+            BuildingType buildingType = ((BuildMoveHistory) moveHistory).getBuildingType();
+            building = buildingType == null ? 0 : buildingType.ordinal() + 1;
+            type = BUILD_TYPE;
+        }
+
+        entry.payload = kind
+                | (roll & ROLL_MASK) << ROLL_SHIFT
+                | (building & BUILDING_MASK) << BUILDING_SHIFT
+                | type << TYPE_SHIFT;
+        return entry;
+    }
+
+    /**
+     * Decodes the entry
+     *
+     * @return the move history
+     */
+    public MoveHistory toMoveHistory() {
+
+        int roll = (payload >> ROLL_SHIFT) & ROLL_MASK;
+        int building = (payload >> BUILDING_SHIFT) & BUILDING_MASK;
+        int type = payload >> TYPE_SHIFT;
+
+        MoveHistory moveHistory;
+        if (type == DICE_TYPE) {
+            DiceMoveHistory diceMoveHistory = new DiceMoveHistory();
+            diceMoveHistory.setRoll(roll);
+            moveHistory = diceMoveHistory;
+        }
+        else if (type == BUILD_TYPE) {
+            BuildMoveHistory buildMoveHistory = new BuildMoveHistory();
+            buildMoveHistory.setBuildingType(building == 0 ? null : BuildingType.values()[building - 1]);
+            moveHistory = buildMoveHistory;
+        }
+        else {
+            moveHistory = new MoveHistory();
+        }
+
+        moveHistory.setGameId(gameId);
+        moveHistory.setSequence(sequence);
+        moveHistory.setGameVersion(gameVersion);
+        moveHistory.setUserId(userId);
+        moveHistory.setUsername(username);
+        moveHistory.setMoveName(MOVE_KINDS.get(payload & KIND_MASK));
+        return moveHistory;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public Long getGameVersion() {
+        return gameVersion;
+    }
+
+    public int getPayload() {
+        return payload;
+    }
+
+    @Override
+    public HistoryEntryKey getId() {
+        HistoryEntryKey key = new HistoryEntryKey();
+        key.gameId = gameId;
+        key.sequence = sequence;
+        return key;
+    }
+
+    @Override
+    public boolean isNew() {
+        return !stored;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markStored() {
+        stored = true;
+    }
+}
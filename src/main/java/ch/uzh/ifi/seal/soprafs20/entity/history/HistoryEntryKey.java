@@ -0,0 +1,34 @@
+package ch.uzh.ifi.seal.soprafs20.entity.history;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+public class HistoryEntryKey implements Serializable {
+    Long gameId;
+    Long sequence;
+
+    @Override
+    public int hashCode() {
+
+        int hash = 7;
+        hash = 31 * hash + (gameId == null ? 0 : gameId.hashCode());
+        hash = 31 * hash + (sequence == null ? 0 : sequence.hashCode());
+
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+
+        if (o == null || o.getClass() != this.getClass()) {
+            return false;
+        }
+
+        HistoryEntryKey other = (HistoryEntryKey) o;
+
+        return Objects.equals(gameId, other.gameId) && Objects.equals(sequence, other.sequence);
+    }
+}
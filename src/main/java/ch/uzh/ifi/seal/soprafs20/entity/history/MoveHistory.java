@@ -3,25 +3,41 @@ package ch.uzh.ifi.seal.soprafs20.entity.history;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.history.MoveHistoryDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
 
-import javax.persistence.*;
-
-@Entity
-@Table(name = "MOVE_HISTORY")
-@Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
+/**
+ * A move in the history of a game, it is stored as {@link HistoryEntry} in the history log
+ */
 public class MoveHistory {
 
-    @Id
-    @GeneratedValue
-    private Long id;
+    private Long gameId;
+
+    //Position of the move in the history of its game, starting at 1
+    private Long sequence;
 
-    @Column
     private Long userId;
 
     private String username;
 
-    @Column
     private String moveName;
 
+    //Version of the game the move was performed in
+    private Long gameVersion;
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
     public Long getUserId() {
         return userId;
     }
@@ -46,6 +62,14 @@ public class MoveHistory {
         this.moveName = moveName;
     }
 
+    public Long getGameVersion() {
+        return gameVersion;
+    }
+
+    public void setGameVersion(Long gameVersion) {
+        this.gameVersion = gameVersion;
+    }
+
     public MoveHistoryDTO getDTO() {
         return DTOMapper.INSTANCE.convertMoveHistoryToMoveHistoryDTO(this);
     }
@@ -1,8 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.BuildMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 
 import javax.persistence.*;
 
@@ -14,11 +13,6 @@ public class BuildMove extends Move {
     @OneToOne(cascade = CascadeType.PERSIST)
     private Building building; //Has the coordinates set already
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new BuildMoveHandler();
-    }
-
     public Building getBuilding() {
         return building;
     }
@@ -26,4 +20,20 @@ public class BuildMove extends Move {
     public void setBuilding(Building building) {
         this.building = building;
     }
+
+    @Override
+    protected String getParameterKey() {
+        if (building == null) {
+            return "";
+        }
+
+        StringBuilder key = new StringBuilder(":").append(building.getType());
+        for (Coordinate coordinate : building.getCoordinates()) {
+            key.append(":");
+            if (coordinate != null) {
+                key.append(coordinate.getX()).append("/").append(coordinate.getY());
+            }
+        }
+        return key.toString();
+    }
 }
@@ -1,8 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.CardMoveHandler;
 
 import javax.persistence.Entity;
 import javax.persistence.OneToOne;
@@ -15,11 +13,6 @@ public class CardMove extends Move {
     @OneToOne
     private DevelopmentCard developmentCard;
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new CardMoveHandler();
-    }
-
     public DevelopmentCard getDevelopmentCard() {
         return developmentCard;
     }
@@ -27,4 +20,9 @@ public class CardMove extends Move {
     public void setDevelopmentCard(DevelopmentCard developmentCard) {
         this.developmentCard = developmentCard;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + (developmentCard == null ? null : developmentCard.getId());
+    }
 }
@@ -1,6 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandlerRegistry;
 
 import javax.persistence.*;
 import java.io.Serializable;
@@ -48,9 +49,37 @@ public abstract class Move implements Serializable {
         this.gameId = gameId;
     }
 
-    public abstract MoveHandler getMoveHandler();
+    /**
+     * Returns the handler of the kind of move, the handler is shared by all moves of that kind
+     *
+     * @return the handler
+     */
+    public MoveHandler getMoveHandler() {
+        return MoveHandlerRegistry.getHandler(getClass());
+    }
 
     public String getMoveName() {
         return this.getClass().getSimpleName();
     }
+
+    /**
+     * Describes the move by its kind, its owner and its parameters
+     * <p>
+     * Two moves with the same key have the same effect, so a move that is still
+     * available after another move was performed does not need to be replaced.
+     *
+     * @return the key
+     */
+    public String getMoveKey() {
+        return getMoveName() + ":" + userId + getParameterKey();
+    }
+
+    /**
+     * Describes the parameters of the move, subclasses with parameters extend it
+     *
+     * @return the parameters as part of the key
+     */
+    protected String getParameterKey() {
+        return "";
+    }
 }
@@ -0,0 +1,284 @@
+package ch.uzh.ifi.seal.soprafs20.entity.moves;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
+import ch.uzh.ifi.seal.soprafs20.constant.DevelopmentType;
+import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstRoadMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * An available move as it is stored in the compact move table.
+ * <p>
+ * All kinds of moves are stored in a single table indexed by the game and the player, so the
+ * moves of a player are read with one index range scan. The parameters of the move are packed
+ * into a single payload, an id the move refers to is stored as reference:
+ * <pre>
+ *     payload bits 0-7   first type: building type, needed resource, monopoly, plenty or card type
+ *     payload bits 8-15  second type: offered resource
+ *     payload bits 16-47 the coordinates of a building, x and y with 8 bits each, 0xFF if not set
+ *     payload bits 48-55 previous road progress moves
+ *     reference          victim of a steal move, tile of a knight move, card of a card move
+ * </pre>
+ * The building of a build move is not stored, it is created again when the move is read.
+ */
+@Entity
+@Table(name = "MOVE_RECORD", indexes = @Index(name = "MOVE_RECORD_PLAYER", columnList = "gameId, userId"))
+public class MoveRecord implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    //The kinds of moves, new kinds are only ever appended so stored kinds stay valid
+    private static final List<Class<? extends Move>> MOVE_KINDS = List.of(
+            StartMove.class, FirstSettlementMove.class, FirstRoadMove.class, FirstPassMove.class,
+            DiceMove.class, BuildMove.class, TradeMove.class, PurchaseMove.class, CardMove.class,
+            PassMove.class, KnightMove.class, StealMove.class, MonopolyMove.class, PlentyMove.class,
+            RoadProgressMove.class);
+
+    private static final int TYPE_MASK = 0xFF;
+    private static final int SECOND_TYPE_SHIFT = 8;
+    private static final int COORDINATES_SHIFT = 16;
+    private static final int COORDINATE_BITS = 8;
+    private static final int NO_COORDINATE = 0xFF;
+    private static final int NUMBER_OF_COORDINATES = 2;
+    private static final int PROGRESS_SHIFT = 48;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "moveRecordSequence")
+    @SequenceGenerator(name = "moveRecordSequence", sequenceName = "MOVE_RECORD_SEQUENCE", allocationSize = 50)
+    @Column(updatable = false, nullable = false)
+    private Long id;
+
+    @Column(updatable = false, nullable = false)
+    private Long gameId;
+
+    @Column(updatable = false)
+    private Long userId;
+
+    @Column(updatable = false, nullable = false)
+    private int kind;
+
+    @Column(updatable = false, nullable = false)
+    private long payload;
+
+    @Column(updatable = false)
+    private Long reference;
+
+    /**
+     * Encodes the move
+     *
+     * @param move the move
+     * @return the record
+     * @throws IllegalArgumentException if the kind of the move can not be stored
+     */
+    public static MoveRecord of(Move move) {
+
+        int kind = MOVE_KINDS.indexOf(move.getClass());
+        if (kind < 0) {
+            throw new IllegalArgumentException("Unknown kind of move: " + move.getMoveName());
+        }
+
+        MoveRecord moveRecord = new MoveRecord();
+        moveRecord.gameId = move.getGameId();
+        moveRecord.userId = move.getUserId();
+        moveRecord.kind = kind;
+
+        long payload = coordinatesPayload(null);
+
+        if (move instanceof BuildMove) {
+            Building building = ((BuildMove) move).getBuilding();
+            if (building != null) {
+                payload = ordinal(building.getType()) | coordinatesPayload(building.getCoordinates());
+            }
+            if (move instanceof RoadProgressMove) {
+                payload |= (long) (((RoadProgressMove) move).getPreviousRoadProgressMoves() & TYPE_MASK)
+                        << PROGRESS_SHIFT;
+            }
+        }
+        else if (move instanceof TradeMove) {
+            TradeMove tradeMove = (TradeMove) move;
+            payload |= ordinal(tradeMove.getNeededType())
+                    | ordinal(tradeMove.getOfferedType()) << SECOND_TYPE_SHIFT;
+        }
+        else if (move instanceof MonopolyMove) {
+            payload |= ordinal(((MonopolyMove) move).getMonopolyType());
+        }
+        else if (move instanceof PlentyMove) {
+            payload |= ordinal(((PlentyMove) move).getPlentyType());
+        }
+        else if (move instanceof CardMove) {
+            DevelopmentCard card = ((CardMove) move).getDevelopmentCard();
+            if (card != null) {
+                payload |= ordinal(card.getDevelopmentType());
+                moveRecord.reference = card.getId();
+            }
+        }
+        else if (move instanceof StealMove) {
+            moveRecord.reference = ((StealMove) move).getVictimId();
+        }
+        else if (move instanceof KnightMove) {
+            moveRecord.reference = ((KnightMove) move).getTileId();
+        }
+
+        moveRecord.payload = payload;
+        return moveRecord;
+    }
+
+    /**
+     * Decodes the record
+     *
+     * @return the move with the id of the record
+     */
+    public Move toMove() {
+
+        Move move;
+        try {
+            move = MOVE_KINDS.get(kind).getDeclaredConstructor().newInstance();
+        }
+        catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("The move can not be created: " + MOVE_KINDS.get(kind), e);
+        }
+
+        move.setId(id);
+        move.setGameId(gameId);
+        move.setUserId(userId);
+
+        int firstType = (int) (payload & TYPE_MASK);
+        int secondType = (int) ((payload >> SECOND_TYPE_SHIFT) & TYPE_MASK);
+
+        if (move instanceof BuildMove) {
+            ((BuildMove) move).setBuilding(decodeBuilding(firstType));
+            if (move instanceof RoadProgressMove) {
+                ((RoadProgressMove) move).setPreviousRoadProgressMoves((int) ((payload >> PROGRESS_SHIFT) & TYPE_MASK));
+            }
+        }
+        else if (move instanceof TradeMove) {
+            ((TradeMove) move).setNeededType(valueOf(ResourceType.values(), firstType));
+            ((TradeMove) move).setOfferedType(valueOf(ResourceType.values(), secondType));
+        }
+        else if (move instanceof MonopolyMove) {
+            ((MonopolyMove) move).setMonopolyType(valueOf(ResourceType.values(), firstType));
+        }
+        else if (move instanceof PlentyMove) {
+            ((PlentyMove) move).setPlentyType(valueOf(PlentyType.values(), firstType));
+        }
+        else if (move instanceof CardMove) {
+            DevelopmentType developmentType = valueOf(DevelopmentType.values(), firstType);
+            if (developmentType != null) {
+                DevelopmentCard card = new DevelopmentCard();
+                card.setId(reference);
+                card.setDevelopmentType(developmentType);
+                ((CardMove) move).setDevelopmentCard(card);
+            }
+        }
+        else if (move instanceof StealMove) {
+            ((StealMove) move).setVictimId(reference);
+        }
+        else if (move instanceof KnightMove) {
+            ((KnightMove) move).setTileId(reference);
+        }
+
+        return move;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public int getKind() {
+        return kind;
+    }
+
+    public long getPayload() {
+        return payload;
+    }
+
+    public Long getReference() {
+        return reference;
+    }
+
+    // -- helper methods --
+
+    private Building decodeBuilding(int type) {
+
+        BuildingType buildingType = valueOf(BuildingType.values(), type);
+        if (buildingType == null) {
+            return null;
+        }
+
+        Coordinate first = decodeCoordinate(0);
+        Coordinate second = decodeCoordinate(1);
+
+        Building building;
+        switch (buildingType) {
+            case ROAD:
+                Road road = new Road();
+                road.setCoordinate1(first);
+                road.setCoordinate2(second);
+                building = road;
+                break;
+            case SETTLEMENT:
+                Settlement settlement = new Settlement();
+                settlement.setCoordinate(first);
+                building = settlement;
+                break;
+            case CITY:
+                City city = new City();
+                city.setCoordinate(first);
+                building = city;
+                break;
+            default:
+                throw new IllegalStateException("Unknown building type not allowed!");
+        }
+        building.setUserId(userId);
+        return building;
+    }
+
+    private Coordinate decodeCoordinate(int index) {
+        int shift = COORDINATES_SHIFT + index * 2 * COORDINATE_BITS;
+        int x = (int) ((payload >> shift) & TYPE_MASK);
+        int y = (int) ((payload >> (shift + COORDINATE_BITS)) & TYPE_MASK);
+        return x == NO_COORDINATE ? null : new Coordinate(x, y);
+    }
+
+    private static long coordinatesPayload(List<Coordinate> coordinates) {
+        long payload = 0;
+        for (int index = 0; index < NUMBER_OF_COORDINATES; index++) {
+            Coordinate coordinate = coordinates != null && index < coordinates.size() ? coordinates.get(index) : null;
+            int x = coordinate == null ? NO_COORDINATE : coordinate.getX() & TYPE_MASK;
+            int y = coordinate == null ? NO_COORDINATE : coordinate.getY() & TYPE_MASK;
+            int shift = COORDINATES_SHIFT + index * 2 * COORDINATE_BITS;
+            payload |= (long) x << shift | (long) y << (shift + COORDINATE_BITS);
+        }
+        return payload;
+    }
+
+    //The ordinal + 1, 0 if the type is not set
+    private static long ordinal(Enum<?> type) {
+        return type == null ? 0 : type.ordinal() + 1;
+    }
+
+    private static <T> T valueOf(T[] values, int ordinal) {
+        return ordinal == 0 ? null : values[ordinal - 1];
+    }
+}
@@ -1,8 +1,5 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.PassMoveHandler;
-
 import javax.persistence.Entity;
 import javax.persistence.Inheritance;
 import javax.persistence.InheritanceType;
@@ -12,9 +9,4 @@ import javax.persistence.Table;
 @Table(name = "PASS_MOVE")
 @Inheritance(strategy = InheritanceType.TABLE_PER_CLASS)
 public class PassMove extends Move {
-
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new PassMoveHandler();
-    }
 }
@@ -1,8 +1,5 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.PurchaseMoveHandler;
-
 import javax.persistence.Entity;
 import javax.persistence.Table;
 
@@ -10,9 +7,4 @@ import javax.persistence.Table;
 @Table(name = "PURCHASE_MOVE")
 public class PurchaseMove extends Move {
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new PurchaseMoveHandler();
-    }
-
 }
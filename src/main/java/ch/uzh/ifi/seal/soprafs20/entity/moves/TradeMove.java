@@ -1,8 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.TradeMoveHandler;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -20,11 +18,6 @@ public class TradeMove extends Move {
     private ResourceType offeredType;
 
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new TradeMoveHandler();
-    }
-
     public ResourceType getNeededType() {
         return neededType;
     }
@@ -41,4 +34,9 @@ public class TradeMove extends Move {
     public void setOfferedType(ResourceType tradedType) {
         this.offeredType = tradedType;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + offeredType + ":" + neededType;
+    }
 }
@@ -1,8 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves.development;
 
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.KnightMoveHandler;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -15,11 +13,6 @@ public class KnightMove extends Move {
     @Column
     Long tileId;
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new KnightMoveHandler();
-    }
-
     public Long getTileId() {
         return tileId;
     }
@@ -27,4 +20,9 @@ public class KnightMove extends Move {
     public void setTileId(Long tileId) {
         this.tileId = tileId;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + tileId;
+    }
 }
@@ -2,8 +2,6 @@ package ch.uzh.ifi.seal.soprafs20.entity.moves.development;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.MonopolyMoveHandler;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -17,11 +15,6 @@ public class MonopolyMove extends Move {
     @Enumerated(EnumType.ORDINAL)
     private ResourceType monopolyType;
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new MonopolyMoveHandler();
-    }
-
     public ResourceType getMonopolyType() {
         return monopolyType;
     }
@@ -29,4 +22,9 @@ public class MonopolyMove extends Move {
     public void setMonopolyType(ResourceType monopolyType) {
         this.monopolyType = monopolyType;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + monopolyType;
+    }
 }
@@ -2,8 +2,6 @@ package ch.uzh.ifi.seal.soprafs20.entity.moves.development;
 
 import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.PlentyMoveHandler;
 
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
@@ -17,11 +15,6 @@ public class PlentyMove extends Move {
     @Enumerated(EnumType.ORDINAL)
     private PlentyType plentyType;
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new PlentyMoveHandler();
-    }
-
     public PlentyType getPlentyType() {
         return plentyType;
     }
@@ -29,4 +22,9 @@ public class PlentyMove extends Move {
     public void setPlentyType(PlentyType plentyType) {
         this.plentyType = plentyType;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + plentyType;
+    }
 }
@@ -1,8 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves.development;
 
 import ch.uzh.ifi.seal.soprafs20.entity.moves.BuildMove;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.RoadProgressMoveHandler;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -24,7 +22,7 @@ public class RoadProgressMove extends BuildMove {
     }
 
     @Override
-    public MoveHandler getMoveHandler() {
-        return new RoadProgressMoveHandler();
+    protected String getParameterKey() {
+        return super.getParameterKey() + ":" + previousRoadProgressMoves;
     }
 }
@@ -1,8 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.entity.moves.development;
 
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
-import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.StealMoveHandler;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
@@ -15,11 +13,6 @@ public class StealMove extends Move {
     @Column
     private Long victimId;
 
-    @Override
-    public MoveHandler getMoveHandler() {
-        return new StealMoveHandler();
-    }
-
     public Long getVictimId() {
         return victimId;
     }
@@ -27,4 +20,9 @@ public class StealMove extends Move {
     public void setVictimId(Long victimId) {
         this.victimId = victimId;
     }
+
+    @Override
+    protected String getParameterKey() {
+        return ":" + victimId;
+    }
 }
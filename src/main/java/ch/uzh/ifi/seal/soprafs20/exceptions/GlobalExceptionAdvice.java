@@ -5,6 +5,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.transaction.TransactionSystemException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
@@ -59,6 +60,9 @@ public class GlobalExceptionAdvice extends ResponseEntityExceptionHandler {
         errorDTO.setError(ex);
         errorDTO.setErrorMessage(ex.getUserMessage());
 
-        return new ResponseEntity<>(errorDTO, errorStatus);
+        //The error is always JSON, also for requests of an event stream
+        return ResponseEntity.status(errorStatus)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(errorDTO);
     }
 }
\ No newline at end of file
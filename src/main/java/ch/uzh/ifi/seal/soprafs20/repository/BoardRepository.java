@@ -2,8 +2,15 @@ package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository("boardRepository")
 public interface BoardRepository extends JpaRepository<Board, Long> {
+
+    //The boards of the pool that were not claimed by a game
+    @Query("select b.id from Board b where b.gameId is null order by b.id")
+    List<Long> findUnclaimedBoardIds();
 }
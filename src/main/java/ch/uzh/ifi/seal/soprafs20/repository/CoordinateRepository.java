@@ -2,10 +2,16 @@ package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository("coordinateRepository")
 public interface CoordinateRepository extends JpaRepository<Coordinate, Long> {
 
     Coordinate findByXAndY(int x, int y);
+
+    @Query("select distinct c from Coordinate c left join fetch c.neighbors")
+    List<Coordinate> findAllWithNeighbors();
 }
@@ -1,14 +1,28 @@
 package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import javax.validation.constraints.NotNull;
+import java.util.List;
 
 
 @Repository("gameRepository")
 public interface GameRepository extends JpaRepository<Game, Long> {
 
     Game findByName(@NotNull String name);
+
+    //Selects only the columns shown in the lobby, the players are counted in the database
+    @Query("select new ch.uzh.ifi.seal.soprafs20.entity.GameListing(g.id, g.name, g.playerMinimum, count(p), " +
+            "g.withBots, g.started) from Game g left join g.players p " +
+            "group by g.id, g.name, g.playerMinimum, g.withBots, g.started order by g.id")
+    List<GameListing> findAllListings();
+
+    //Uses the key of the players in the join table, no other game is loaded
+    @Query("select g from Game g join g.players p where p.userId = :userId")
+    List<Game> findByPlayerUserId(@Param("userId") Long userId);
 }
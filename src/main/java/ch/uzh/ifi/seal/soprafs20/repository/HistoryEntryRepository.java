@@ -0,0 +1,19 @@
+package ch.uzh.ifi.seal.soprafs20.repository;
+
+import ch.uzh.ifi.seal.soprafs20.entity.history.HistoryEntry;
+import ch.uzh.ifi.seal.soprafs20.entity.history.HistoryEntryKey;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository("historyEntryRepository")
+public interface HistoryEntryRepository extends JpaRepository<HistoryEntry, HistoryEntryKey> {
+
+    List<HistoryEntry> findByGameIdOrderBySequenceAsc(Long gameId);
+
+    List<HistoryEntry> findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(Long gameId, Long sequence, Pageable pageable);
+
+    List<HistoryEntry> findByGameIdAndGameVersionGreaterThanOrderBySequenceAsc(Long gameId, Long gameVersion);
+}
@@ -0,0 +1,28 @@
+package ch.uzh.ifi.seal.soprafs20.repository;
+
+import ch.uzh.ifi.seal.soprafs20.entity.moves.MoveRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository("moveRecordRepository")
+public interface MoveRecordRepository extends JpaRepository<MoveRecord, Long> {
+
+    //Range scan of the (gameId, userId) index
+    List<MoveRecord> findAllByGameIdAndUserIdOrderByIdAsc(Long gameId, Long userId);
+
+    List<MoveRecord> findAllByGameIdOrderByIdAsc(Long gameId);
+
+    @Modifying
+    @Query("delete from MoveRecord r where r.id in :ids")
+    void deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("delete from MoveRecord r where r.gameId = :gameId")
+    void deleteAllByGameId(@Param("gameId") Long gameId);
+}
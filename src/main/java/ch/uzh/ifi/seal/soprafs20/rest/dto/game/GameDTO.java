@@ -16,6 +16,7 @@ public class GameDTO extends AbstractGameDTO {
     private List<MoveDTO> moves;
     private boolean started;
     private int lastDiceRoll;
+    private long version;
     private GameHistoryDTO history;
 
     private PlayerDTO currentPlayer;
@@ -88,6 +89,14 @@ public class GameDTO extends AbstractGameDTO {
         this.lastDiceRoll = lastDiceRoll;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public GameHistoryDTO getHistory() {
         return history;
     }
@@ -0,0 +1,158 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto.game;
+
+import ch.uzh.ifi.seal.soprafs20.rest.dto.building.BuildingDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.history.GameHistoryDTO;
+import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameDeltaDTO is returned by GET /games/:gameId?since=version
+ * <p>
+ * It contains what changed since the given version of the game: the buildings built since then,
+ * the players with their points and the cards of the requesting player, the robber position, the
+ * current player, the new history entries and the moves of the requesting player.
+ * The tiles are never sent again. A city replaces the settlement at its coordinate.
+ */
+public class GameDeltaDTO extends AbstractGameDTO {
+
+    private Long gameId;
+
+    private long since;
+
+    private long version;
+
+    private boolean started;
+
+    private int lastDiceRoll;
+
+    private int robberTile = -1;
+
+    private List<PlayerDTO> players;
+
+    private PlayerDTO currentPlayer;
+
+    private List<BuildingDTO> roads = new ArrayList<>();
+
+    private List<BuildingDTO> settlements = new ArrayList<>();
+
+    private List<BuildingDTO> cities = new ArrayList<>();
+
+    private GameHistoryDTO history;
+
+    private List<MoveDTO> moves;
+
+    public GameDeltaDTO() {
+        super(GameDeltaDTO.class);
+    }
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getSince() {
+        return since;
+    }
+
+    public void setSince(long since) {
+        this.since = since;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
+    public boolean getStarted() {
+        return started;
+    }
+
+    public void setStarted(boolean started) {
+        this.started = started;
+    }
+
+    public int getLastDiceRoll() {
+        return lastDiceRoll;
+    }
+
+    public void setLastDiceRoll(int lastDiceRoll) {
+        this.lastDiceRoll = lastDiceRoll;
+    }
+
+    /**
+     * Returns the index of the tile with the robber in the tiles of the board
+     *
+     * @return the index or -1 if no tile has the robber
+     */
+    public int getRobberTile() {
+        return robberTile;
+    }
+
+    public void setRobberTile(int robberTile) {
+        this.robberTile = robberTile;
+    }
+
+    public List<PlayerDTO> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerDTO> players) {
+        this.players = players;
+    }
+
+    public PlayerDTO getCurrentPlayer() {
+        return currentPlayer;
+    }
+
+    public void setCurrentPlayer(PlayerDTO currentPlayer) {
+        this.currentPlayer = currentPlayer;
+    }
+
+    public List<BuildingDTO> getRoads() {
+        return roads;
+    }
+
+    public void setRoads(List<BuildingDTO> roads) {
+        this.roads = roads;
+    }
+
+    public List<BuildingDTO> getSettlements() {
+        return settlements;
+    }
+
+    public void setSettlements(List<BuildingDTO> settlements) {
+        this.settlements = settlements;
+    }
+
+    public List<BuildingDTO> getCities() {
+        return cities;
+    }
+
+    public void setCities(List<BuildingDTO> cities) {
+        this.cities = cities;
+    }
+
+    public GameHistoryDTO getHistory() {
+        return history;
+    }
+
+    public void setHistory(GameHistoryDTO history) {
+        this.history = history;
+    }
+
+    public List<MoveDTO> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<MoveDTO> moves) {
+        this.moves = moves;
+    }
+}
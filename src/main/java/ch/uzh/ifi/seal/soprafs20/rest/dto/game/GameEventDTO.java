@@ -0,0 +1,57 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto.game;
+
+/**
+ * The GameEventDTO is sent to a player over GET /games/:gameId/events when the state of the game changes.
+ * <p>
+ * It only tells the player that the state changed, the state itself is fetched with GET /games/:gameId
+ * and the etag of the event in If-None-Match.
+ */
+public class GameEventDTO {
+
+    private Long gameId;
+
+    private Long userId;
+
+    private String type;
+
+    private String etag;
+
+    private String url;
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+        this.url = String.format("/games/%d", gameId);
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public void setUserId(Long userId) {
+        this.userId = userId;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public String getEtag() {
+        return etag;
+    }
+
+    public void setEtag(String etag) {
+        this.etag = etag;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+}
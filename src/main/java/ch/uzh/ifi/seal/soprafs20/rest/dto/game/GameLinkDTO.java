@@ -76,6 +76,11 @@ public class GameLinkDTO extends AbstractGameDTO {
         joinedPlayers = players.size();
     }
 
+    //Used when the players are counted by the database
+    public void setJoinedPlayerCount(int joinedPlayers) {
+        this.joinedPlayers = joinedPlayers;
+    }
+
     public boolean isWithBots() {
         return withBots;
     }
@@ -0,0 +1,67 @@
+package ch.uzh.ifi.seal.soprafs20.rest.dto.history;
+
+import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GameHistoryPageDTO is returned by GET /games/:gameId/history
+ * <p>
+ * It contains the moves after the requested sequence. The next page is requested
+ * with the sequence in next, as long as hasMore is true.
+ */
+public class GameHistoryPageDTO {
+
+    private Long gameId;
+
+    private long after;
+
+    private long next;
+
+    private boolean hasMore;
+
+    private List<MoveHistoryDTO> moves = new ArrayList<>();
+
+    public Long getGameId() {
+        return gameId;
+    }
+
+    public void setGameId(Long gameId) {
+        this.gameId = gameId;
+    }
+
+    public long getAfter() {
+        return after;
+    }
+
+    public void setAfter(long after) {
+        this.after = after;
+    }
+
+    public long getNext() {
+        return next;
+    }
+
+    public void setNext(long next) {
+        this.next = next;
+    }
+
+    public boolean isHasMore() {
+        return hasMore;
+    }
+
+    public void setHasMore(boolean hasMore) {
+        this.hasMore = hasMore;
+    }
+
+    public List<MoveHistoryDTO> getMoves() {
+        return moves;
+    }
+
+    public void setMoves(List<MoveHistory> moveHistories) {
+        moves = new ArrayList<>();
+
+        moveHistories.forEach((moveHistory -> moves.add(moveHistory.getDTO())));
+    }
+}
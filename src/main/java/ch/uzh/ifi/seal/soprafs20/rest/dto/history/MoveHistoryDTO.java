@@ -2,12 +2,22 @@ package ch.uzh.ifi.seal.soprafs20.rest.dto.history;
 
 public class MoveHistoryDTO {
 
+    private Long sequence;
+
     private Long userId;
 
     private String username;
 
     private String moveName;
 
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public void setSequence(Long sequence) {
+        this.sequence = sequence;
+    }
+
     public Long getUserId() {
         return userId;
     }
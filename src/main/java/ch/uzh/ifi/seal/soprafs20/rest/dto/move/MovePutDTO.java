@@ -1,15 +1,33 @@
 package ch.uzh.ifi.seal.soprafs20.rest.dto.move;
 
+import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+
 /**
  * The type MoveDTO holds the moveId and the userToken
  * <p>
  * the permission can be verified via the toke if it matches the Moves playerId
  * the MoveDTO can identify the corresponding Move with the moveId
+ * <p>
+ * the optional version is the game version the client has seen, the move is rejected if the game changed since
+ * <p>
+ * the parameters are only read if the move leaves them open: the neededType of a trade move,
+ * the tileId of a knight move, the monopolyType of a monopoly move and the plentyType of a plenty move
  */
 public class MovePutDTO {
 
     private Long moveId;
 
+    private Long version;
+
+    private ResourceType neededType;
+
+    private ResourceType monopolyType;
+
+    private PlentyType plentyType;
+
+    private Long tileId;
+
     public Long getMoveId() {
         return moveId;
     }
@@ -17,4 +35,44 @@ public class MovePutDTO {
     public void setMoveId(Long moveId) {
         this.moveId = moveId;
     }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
+    public ResourceType getNeededType() {
+        return neededType;
+    }
+
+    public void setNeededType(ResourceType neededType) {
+        this.neededType = neededType;
+    }
+
+    public ResourceType getMonopolyType() {
+        return monopolyType;
+    }
+
+    public void setMonopolyType(ResourceType monopolyType) {
+        this.monopolyType = monopolyType;
+    }
+
+    public PlentyType getPlentyType() {
+        return plentyType;
+    }
+
+    public void setPlentyType(PlentyType plentyType) {
+        this.plentyType = plentyType;
+    }
+
+    public Long getTileId() {
+        return tileId;
+    }
+
+    public void setTileId(Long tileId) {
+        this.tileId = tileId;
+    }
 }
@@ -1,6 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.rest.mapper;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.entity.UserLocation;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
@@ -58,6 +59,7 @@ public interface DTOMapper {
     @Mapping(target = "status", ignore = true)
     @Mapping(source = "tracking", target = "tracking")
     @Mapping(target = "location", ignore = true)
+    @Mapping(target = "tokenGeneration", ignore = true)
     User convertUserPostDTOtoEntity(UserPostDTO userPostDTO);
 
     @Mapping(source = "id", target = "userId")
@@ -77,6 +79,16 @@ public interface DTOMapper {
     @Mapping(source = "withBots", target = "withBots")
     GameLinkDTO convertGameToGameLinkDTO(Game game);
 
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(source = "id", target = "gameId")
+    @Mapping(source = "id", target = "url")
+    @Mapping(source = "name", target = "name")
+    @Mapping(source = "playerMinimum", target = "minPlayers")
+    @Mapping(source = "joinedPlayers", target = "joinedPlayerCount")
+    @Mapping(source = "started", target = "started")
+    @Mapping(source = "withBots", target = "withBots")
+    GameLinkDTO convertGameListingToGameLinkDTO(GameListing gameListing);
+
     @BeanMapping(ignoreByDefault = true)
     @Mapping(source = "name", target = "name")
     @Mapping(source = "withBots", target = "withBots")
@@ -91,8 +103,19 @@ public interface DTOMapper {
     @Mapping(source = "started", target = "started")
     @Mapping(source = "lastDiceRoll", target = "lastDiceRoll")
     @Mapping(source = "currentPlayer", target = "currentPlayer")
+    @Mapping(source = "version", target = "version")
     GameDTO convertGameToGameDTO(Game game);
 
+    //Buildings, robber, history, cards and moves are added separately according to the requested version
+    @BeanMapping(ignoreByDefault = true)
+    @Mapping(source = "id", target = "gameId")
+    @Mapping(source = "players", target = "players")
+    @Mapping(source = "started", target = "started")
+    @Mapping(source = "lastDiceRoll", target = "lastDiceRoll")
+    @Mapping(source = "currentPlayer", target = "currentPlayer")
+    @Mapping(source = "version", target = "version")
+    GameDeltaDTO convertGameToGameDeltaDTO(Game game);
+
     @Mapping(source = "coordinates", target = "coordinates")
     @Mapping(source = "robber", target = "robber")
     @Mapping(source = "type", target = "type")
@@ -183,17 +206,20 @@ public interface DTOMapper {
     @Mapping(source = "moves", target = "moves")
     GameHistoryDTO convertGameHistoryToGameHistoryDTO(GameHistory gameHistory);
 
+    @Mapping(source = "sequence", target = "sequence")
     @Mapping(source = "userId", target = "userId")
     @Mapping(source = "username", target = "username")
     @Mapping(source = "moveName", target = "moveName")
     MoveHistoryDTO convertMoveHistoryToMoveHistoryDTO(MoveHistory moveHistory);
 
+    @Mapping(source = "sequence", target = "sequence")
     @Mapping(source = "userId", target = "userId")
     @Mapping(source = "username", target = "username")
     @Mapping(source = "moveName", target = "moveName")
     @Mapping(source = "roll", target = "roll")
     DiceMoveHistoryDTO convertDiceMoveHistoryToDiceMoveHistoryDTO(DiceMoveHistory diceMoveHistory);
 
+    @Mapping(source = "sequence", target = "sequence")
     @Mapping(source = "userId", target = "userId")
     @Mapping(source = "username", target = "username")
     @Mapping(source = "moveName", target = "moveName")
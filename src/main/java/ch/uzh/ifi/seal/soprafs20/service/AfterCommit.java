@@ -0,0 +1,62 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * this helper class runs actions once the current transaction was committed
+ * <p>
+ * The registries and caches that are kept in memory are only updated after the commit,
+ * so they never see a change that is rolled back. Caches that are changed during the
+ * transaction are dropped with {@link #onRollback(Runnable)} if it is rolled back.
+ */
+public class AfterCommit {
+
+    private AfterCommit() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Runs the action after the current transaction was committed, or right away if there
+     * is no transaction. Nothing happens if the transaction is rolled back.
+     *
+     * @param action the action
+     */
+    public static void run(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    /**
+     * Runs the action if the current transaction is rolled back. Nothing happens if there
+     * is no transaction or if it is committed.
+     *
+     * @param action the action
+     */
+    public static void onRollback(Runnable action) {
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    action.run();
+                }
+            }
+        });
+    }
+}
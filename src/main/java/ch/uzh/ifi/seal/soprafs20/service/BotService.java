@@ -4,7 +4,9 @@ import ch.uzh.ifi.seal.soprafs20.constant.ApplicationConstants;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
+import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveBinder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -66,23 +68,78 @@ public class BotService {
         return new Date().getTime();
     }
 
-    public void performBotMove(Long gameId, Long botId) {
+    /**
+     * Performs one move of the bot whose turn it is
+     *
+     * @param gameId the game id
+     * @return true if a move was performed, false if no bot has a move left
+     */
+    public boolean performBotTurn(Long gameId) {
+
+        Game game = gameService.findGameById(gameId);
+        if (game == null || game.getCurrentPlayer() == null || !game.getCurrentPlayer().isBot()) {
+            return false;
+        }
+
+        return performBotMove(gameId, game.getCurrentPlayer().getUserId());
+    }
+
+    /**
+     * Performs one randomly picked move of the bot
+     *
+     * @param gameId the game id
+     * @param botId  the bot id
+     * @return true if a move was performed, false if the bot had no move
+     */
+    public boolean performBotMove(Long gameId, Long botId) {
 
         //The bot id is the equivalent of the userId and called UserId in the bots player persona
 
         //Find moves for bot
         List<Move> moves = moveService.findMovesForGameAndPlayer(gameId, botId);
+        if (moves.isEmpty()) {
+            return false;
+        }
 
-        //pick a move
+        //pick a move, open parameters are picked randomly as well
         Move picked = chooseMove(moves);
+        if (MoveBinder.isDescriptor(picked)) {
+            picked = MoveBinder.bindRandomly(gameService.findGameById(gameId), picked);
+        }
+        if (picked == null) {
+            return false;
+        }
 
         moveService.performMove(picked);
         log.info("Bot performed move");
 
-        List<Move> followUpMoves = moveService.findMovesForGameAndPlayer(gameId, botId);
+        return true;
+    }
 
-        if (!followUpMoves.isEmpty()) performBotMove(gameId, botId);
+    /**
+     * Ends the turn of the bot whose turn it is, is used after the moves of the bot failed repeatedly.
+     * <p>
+     * The bot passes if it can pass.
+     *
+     * @param gameId the game id
+     * @return true if the game can go on, false if the bot could not pass
+     */
+    public boolean giveUpBotTurn(Long gameId) {
 
+        Game game = gameService.findGameById(gameId);
+        if (game == null || game.getCurrentPlayer() == null || !game.getCurrentPlayer().isBot()) {
+            return true;
+        }
+
+        Long botId = game.getCurrentPlayer().getUserId();
+        for (Move move : moveService.findMovesForGameAndPlayer(gameId, botId)) {
+            if (move instanceof PassMove) {
+                moveService.performMove(move);
+                log.warn("Bot {} in game {} passed after its moves failed", botId, gameId);
+                return true;
+            }
+        }
+        return false;
     }
 
     private Move chooseMove(List<Move> moves) {
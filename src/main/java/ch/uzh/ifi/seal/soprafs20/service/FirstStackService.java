@@ -36,8 +36,8 @@ public class FirstStackService {
 
         Long next = stack.getNext();
 
-        //save the stack to persist the new index
-        firstStackRepository.saveAndFlush(stack);
+        //save the stack to persist the new index, it is written with the other changes of the move
+        firstStackRepository.save(stack);
 
         return next;
     }
@@ -0,0 +1,65 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the games shown in the lobby in memory.
+ * <p>
+ * The lobby is polled by every client that is not in a game, but only changes when a game
+ * is created, joined, started or torn down. The listings are loaded once and kept until
+ * one of these changes was committed. A load that ran while the lobby changed is not kept,
+ * so an outdated lobby is never cached.
+ */
+@Component
+public class GameLobby {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile List<GameListing> listings;
+    private volatile long listingsGeneration = -1;
+
+    /**
+     * Returns the listings of all games, they are loaded if they are not cached
+     *
+     * @param loader loads the listings from the database
+     * @return the listings, ordered by the game id
+     */
+    public List<GameListing> getListings(Supplier<List<GameListing>> loader) {
+
+        long current = generation.get();
+        List<GameListing> cached = listings;
+        if (cached != null && listingsGeneration == current) {
+            return cached;
+        }
+
+        List<GameListing> loaded = Collections.unmodifiableList(loader.get());
+        synchronized (this) {
+            //Keep the listings only if the lobby did not change while they were loaded
+            if (generation.get() == current) {
+                listings = loaded;
+                listingsGeneration = current;
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drops the cached listings, after the current transaction was committed
+     */
+    public void changed() {
+        AfterCommit.run(this::invalidate);
+    }
+
+    // -- helper methods --
+
+    private synchronized void invalidate() {
+        generation.incrementAndGet();
+        listings = null;
+    }
+}
@@ -0,0 +1,68 @@
+package ch.uzh.ifi.seal.soprafs20.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the game of every user that plays in a running game in memory.
+ * <p>
+ * The game of a user is looked up on every logout, with the registry this does not
+ * need to load any game. Joins and ends of games are registered after the transaction
+ * was committed, so a rolled back join is never seen. The registry is only a shortcut:
+ * an entry can be missing, e.g. after a restart, so the caller falls back to the database.
+ */
+@Component
+public class GameMemberships {
+
+    private final Map<Long, Long> gamesOfUsers = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the id of the game the user plays in
+     *
+     * @param userId the user id
+     * @return the game id or null if the game of the user is not known
+     */
+    public Long getGameId(Long userId) {
+        return gamesOfUsers.get(userId);
+    }
+
+    /**
+     * Registers that the user joined the game, after the current transaction was committed
+     *
+     * @param userId the user id
+     * @param gameId the game id
+     */
+    public void joined(Long userId, Long gameId) {
+        AfterCommit.run(() -> gamesOfUsers.put(userId, gameId));
+    }
+
+    /**
+     * Registers that the game ended, after the current transaction was committed
+     *
+     * @param gameId the game id
+     */
+    public void ended(Long gameId) {
+        AfterCommit.run(() -> gamesOfUsers.values().removeIf(gameId::equals));
+    }
+
+    /**
+     * Remembers the game of the user that was read from the database
+     *
+     * @param userId the user id
+     * @param gameId the game id
+     */
+    public void remember(Long userId, Long gameId) {
+        gamesOfUsers.put(userId, gameId);
+    }
+
+    /**
+     * Forgets the game of the user, is used when the entry turned out to be outdated
+     *
+     * @param userId the user id
+     */
+    public void forget(Long userId) {
+        gamesOfUsers.remove(userId);
+    }
+}
@@ -3,6 +3,7 @@ package ch.uzh.ifi.seal.soprafs20.service;
 
 import ch.uzh.ifi.seal.soprafs20.constant.GameConstants;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
@@ -14,11 +15,15 @@ import ch.uzh.ifi.seal.soprafs20.repository.GameSummaryRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.PlayerRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.PlayerSummaryRepository;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameStateVersions;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
+import javax.persistence.EntityManager;
+import javax.persistence.LockModeType;
+import javax.persistence.PersistenceContext;
 import javax.transaction.Transactional;
 import javax.validation.constraints.NotNull;
 import java.util.ArrayList;
@@ -41,6 +46,10 @@ public class GameService {
     private FirstStackService firstStackService;
     private BotService botService;
     private HistoryService historyService;
+    private EntityManager entityManager;
+    private GameStateVersions gameStateVersions;
+    private GameMemberships gameMemberships;
+    private GameLobby gameLobby;
 
     @Autowired
     public GameService(@Qualifier("gameRepository") GameRepository gameRepository,
@@ -89,6 +98,26 @@ public class GameService {
         this.historyService = historyService;
     }
 
+    @PersistenceContext
+    public void setEntityManager(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Autowired
+    public void setGameStateVersions(GameStateVersions gameStateVersions) {
+        this.gameStateVersions = gameStateVersions;
+    }
+
+    @Autowired
+    public void setGameMemberships(GameMemberships gameMemberships) {
+        this.gameMemberships = gameMemberships;
+    }
+
+    @Autowired
+    public void setGameLobby(GameLobby gameLobby) {
+        this.gameLobby = gameLobby;
+    }
+
     /**
      * Returns all the games currently in the database
      *
@@ -99,6 +128,47 @@ public class GameService {
         return gameRepository.findAll();
     }
 
+    /**
+     * Returns the games as they are shown in the lobby
+     * <p>
+     * Only the listed fields of the games are selected, the players and boards are not loaded.
+     * The listings are cached until a game is created, joined, started or torn down.
+     *
+     * @param started if not null, only the games that are started or not started
+     * @param open    if true, only the games that can still be joined
+     * @param page    the page, starting at 0
+     * @param size    the size of a page, all games if null
+     * @return the listings, ordered by the game id
+     */
+    public List<GameListing> getLobby(Boolean started, boolean open, int page, Integer size) {
+
+        List<GameListing> filtered = new ArrayList<>();
+        for (GameListing listing : gameLobby.getListings(gameRepository::findAllListings)) {
+            if (started != null && listing.isStarted() != started) {
+                continue;
+            }
+            if (open && (listing.isStarted() || listing.getJoinedPlayers() >= GameConstants.DEFAULT_PLAYER_MAX)) {
+                continue;
+            }
+            filtered.add(listing);
+        }
+
+        if (size == null) {
+            return filtered;
+        }
+        int pageSize = Math.max(1, size);
+        int from = (int) Math.min(filtered.size(), (long) Math.max(0, page) * pageSize);
+        int to = Math.min(filtered.size(), from + pageSize);
+        return filtered.subList(from, to);
+    }
+
+    /**
+     * Tells the lobby that a game changed the way it is listed
+     */
+    public void lobbyChanged() {
+        gameLobby.changed();
+    }
+
     /**
      * Creates a new game
      * <p>
@@ -133,6 +203,9 @@ public class GameService {
         // add creator to players list and set as current player
         savedGame.addPlayer(creatorPlayer);
         savedGame.setCurrentPlayer(creatorPlayer);
+        gameMemberships.joined(creatorPlayer.getUserId(), savedGame.getId());
+        gameStateVersions.register(savedGame.getId());
+        gameLobby.changed();
 
 
         //Add a Board
@@ -224,9 +297,14 @@ public class GameService {
         //Add player to game and save
         game.addPlayer(createdPlayer);
         gameRepository.saveAndFlush(game);
+        gameMemberships.joined(createdPlayer.getUserId(), game.getId());
+        gameLobby.changed();
 
         //Recalculate moves
         moveService.makeSetupRecalculations(game);
+
+        //Polling clients see the new player
+        gameStateVersions.changed(game.getId());
     }
 
     /**
@@ -241,21 +319,45 @@ public class GameService {
 
     /**
      * Find game the user is a part of
+     * <p>
+     * The game is taken from the registry of the running games, if the user is not
+     * registered it is looked up by the player of the user. No other game is loaded.
      *
      * @param userId the user id
      * @return the game
      */
     public Game findGameOfUser(Long userId) {
 
-        List<Game> games = gameRepository.findAll();
-        for (Game game : games) {
-            for (Player player : game.getPlayers()) {
-                if (player.getUserId().equals(userId)) {
-                    return game;
-                }
+        Long gameId = gameMemberships.getGameId(userId);
+        if (gameId != null) {
+            Game game = findGameById(gameId);
+            if (game != null && isPlayerOfGame(userId, game)) {
+                return game;
             }
+            //The registered game is outdated
+            gameMemberships.forget(userId);
+        }
+
+        List<Game> games = gameRepository.findByPlayerUserId(userId);
+        if (games.isEmpty()) {
+            return null;
         }
-        return null;
+        Game game = games.get(0);
+        gameMemberships.remember(userId, game.getId());
+        return game;
+    }
+
+    /**
+     * Checks in the registry of the running games if the user plays in the game, no game is loaded.
+     * <p>
+     * The registry is only a shortcut, if false is returned the caller has to load the game to be sure.
+     *
+     * @param userId the user id
+     * @param gameId the game id
+     * @return true if the user is registered as player of the game
+     */
+    public boolean isRegisteredPlayerOfGame(Long userId, Long gameId) {
+        return userId != null && gameId.equals(gameMemberships.getGameId(userId));
     }
 
     /**
@@ -277,8 +379,18 @@ public class GameService {
         //delete stack
         firstStackService.deleteStackForGame(gameId);
 
+        //delete production index
+        boardService.removeProductionIndex(gameId);
+
         //delete game
         this.deleteGameWithId(gameId);
+
+        //delete state version
+        gameStateVersions.remove(gameId);
+
+        //forget the players of the game
+        gameMemberships.ended(gameId);
+        gameLobby.changed();
     }
 
     /**
@@ -313,6 +425,15 @@ public class GameService {
         gameSummaryRepository.saveAndFlush(summary);
     }
 
+    private static boolean isPlayerOfGame(Long userId, Game game) {
+        for (Player player : game.getPlayers()) {
+            if (player.getUserId().equals(userId)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private void deleteGameWithId(Long gameId) {
         Optional<Game> game = gameRepository.findById(gameId);
         if (game.isPresent()) {
@@ -331,6 +452,21 @@ public class GameService {
         return gameRepository.findById(gameId).orElse(null);
     }
 
+    /**
+     * Marks the game as changed by the current transaction.
+     * <p>
+     * The version of the game is increased when the transaction commits, even if only
+     * the players or the board of the game were changed. If another transaction changed
+     * the game in the meantime, the commit fails with an optimistic locking failure.
+     *
+     * @param game the game, loaded in the current transaction
+     */
+    public void lockForUpdate(Game game) {
+        if (game != null && entityManager != null && entityManager.contains(game)) {
+            entityManager.lock(game, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+        }
+    }
+
     /**
      * Find game summary of the game with the given id.
      *
@@ -2,27 +2,41 @@ package ch.uzh.ifi.seal.soprafs20.service;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.history.GameHistory;
+import ch.uzh.ifi.seal.soprafs20.entity.history.HistoryEntry;
 import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.repository.GameHistoryRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.HistoryEntryRepository;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
 
+/**
+ * The history of a game is an append-only log of {@link HistoryEntry}s keyed by the game and
+ * the sequence of the move. The GameHistory of a game only holds the sequence of its last move,
+ * adding a move inserts a single entry and reading the history is a range scan of the log.
+ */
 @Service
 @Transactional
 public class HistoryService {
 
     private final GameHistoryRepository gameHistoryRepository;
+    private final HistoryEntryRepository historyEntryRepository;
 
     private PlayerService playerService;
 
     @Autowired
-    public HistoryService(@Qualifier("gameHistoryRepository") GameHistoryRepository gameHistoryRepository) {
+    public HistoryService(@Qualifier("gameHistoryRepository") GameHistoryRepository gameHistoryRepository,
+                          @Qualifier("historyEntryRepository") HistoryEntryRepository historyEntryRepository) {
         this.gameHistoryRepository = gameHistoryRepository;
+        this.historyEntryRepository = historyEntryRepository;
     }
 
     @Autowired
@@ -40,21 +54,84 @@ public class HistoryService {
         return gameHistoryRepository.saveAndFlush(gameHistory);
     }
 
-    public void addMoveToHistory(Move move, MoveHandler handler) {
+    public void addMoveToHistory(MoveResult result, MoveHandler handler) {
+        addMoveToHistory(result, handler, playerService.findPlayerByUserId(result.getMove().getUserId()), null);
+    }
 
-        Player player = playerService.findPlayerByUserId(move.getUserId());
+    /**
+     * Adds the performed move to the history of its game
+     * <p>
+     * The history is written with the other changes of the move,
+     * when the MoveService flushes at the end of the move.
+     *
+     * @param result      the result of the performed move
+     * @param handler     the handler that performed the move
+     * @param player      the player that performed the move
+     * @param gameVersion the version of the game the move is performed in, may be null
+     */
+    public void addMoveToHistory(MoveResult result, MoveHandler handler, Player player, Long gameVersion) {
 
-        MoveHistory moveHistory = handler.getHistory();
+        Move move = result.getMove();
+        MoveHistory moveHistory = handler.getHistory(result);
+        moveHistory.setGameVersion(gameVersion);
         moveHistory.setUserId(player.getUserId());
         moveHistory.setUsername(player.getUsername());
         moveHistory.setMoveName(move.getClass().getSimpleName());
 
-        GameHistory history = findGameHistory(move.getGameId());
-        history.addMoveHistory(moveHistory);
-        save(history);
+        //The sequence is reserved in the history of the game, the moves are not loaded
+        GameHistory history = gameHistoryRepository.findById(move.getGameId()).orElseThrow();
+        long sequence = history.nextSequence();
+
+        historyEntryRepository.save(HistoryEntry.of(moveHistory, move.getGameId(), sequence));
     }
 
+    /**
+     * Returns the history of the game with all its moves
+     *
+     * @param gameId the game id
+     * @return the history or null if the game has no history
+     */
     public GameHistory findGameHistory(Long gameId) {
-        return gameHistoryRepository.findByGameId(gameId);
+
+        GameHistory history = gameHistoryRepository.findByGameId(gameId);
+        if (history != null) {
+            history.setMoves(decode(historyEntryRepository.findByGameIdOrderBySequenceAsc(gameId)));
+        }
+        return history;
+    }
+
+    /**
+     * Returns a page of the history of the game
+     *
+     * @param gameId the game id
+     * @param after  the sequence of the last move the client has, 0 for the first page
+     * @param limit  the maximal number of moves
+     * @return the moves after the given sequence in the order they were performed
+     */
+    public List<MoveHistory> findMoveHistoryPage(Long gameId, long after, int limit) {
+        return decode(historyEntryRepository.findByGameIdAndSequenceGreaterThanOrderBySequenceAsc(
+                gameId, after, PageRequest.of(0, limit)));
+    }
+
+    /**
+     * Returns the moves of the history that were performed after the given version of the game
+     *
+     * @param gameId      the game id
+     * @param gameVersion the version of the game
+     * @return the moves in the order they were performed
+     */
+    public List<MoveHistory> findMoveHistorySince(Long gameId, long gameVersion) {
+        return decode(historyEntryRepository.findByGameIdAndGameVersionGreaterThanOrderBySequenceAsc(
+                gameId, gameVersion));
+    }
+
+    // -- helper methods --
+
+    private static List<MoveHistory> decode(List<HistoryEntry> entries) {
+        List<MoveHistory> moves = new ArrayList<>(entries.size());
+        for (HistoryEntry entry : entries) {
+            moves.add(entry.toMoveHistory());
+        }
+        return moves;
     }
 }
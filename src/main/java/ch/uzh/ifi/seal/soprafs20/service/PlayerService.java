@@ -8,11 +8,9 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
 import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.BuildMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.CardMove;
-import ch.uzh.ifi.seal.soprafs20.entity.moves.PurchaseMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.PlentyMove;
-import ch.uzh.ifi.seal.soprafs20.entity.moves.development.StealMove;
 import ch.uzh.ifi.seal.soprafs20.repository.PlayerRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -60,10 +58,11 @@ public class PlayerService {
         return playerRepository.saveAndFlush(player);
     }
 
-    public Player payForDevelopmentCard(PurchaseMove move) {
+    // -- move routines --
+    // The players are taken from the MoveContext, so they are managed entities.
+    // Their changes are written when the MoveService flushes at the end of the move.
 
-        // find player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public Player payForDevelopmentCard(Player player) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -79,14 +78,10 @@ public class PlayerService {
 
         player.setWallet(funds);
 
-        // save player
-        return playerRepository.saveAndFlush(player);
+        return player;
     }
 
-    public Player addDevelopmentCard(PurchaseMove move) {
-
-        // find player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public Player addDevelopmentCard(Player player) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -119,13 +114,15 @@ public class PlayerService {
         // add DevelopmentCard
         player.addDevelopmentCard(developmentCard);
 
-        return playerRepository.saveAndFlush(player);
-    }
+        // victory point cards count as soon as they are drawn
+        if (devType == DevelopmentType.VICTORYPOINT) {
+            player.addVictoryPoints(1);
+        }
 
-    public Player payForTrade(TradeMove move) {
+        return player;
+    }
 
-        //Find Player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public Player payForTrade(Player player, TradeMove move) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -139,13 +136,10 @@ public class PlayerService {
 
         funds.removeResource(type, tradeRatio);
 
-        return playerRepository.saveAndFlush(player);
+        return player;
     }
 
-    public Player receiveFromTrade(TradeMove move) {
-
-        //Find Player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public Player receiveFromTrade(Player player, TradeMove move) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -158,7 +152,7 @@ public class PlayerService {
         // add resource to players' wallet
         funds.addResource(type, 1);
 
-        return playerRepository.saveAndFlush(player);
+        return player;
     }
 
     public void monopolizeResources(MonopolyMove move, Player tycoon, List<Player> players) {
@@ -178,22 +172,15 @@ public class PlayerService {
 
                 funds.addResource(monopolyType, transfer);
                 opponentFunds.removeResource(monopolyType, transfer);
-
-                save(player);
             }
         }
-
-        save(tycoon);
     }
 
     public Player save(Player player) {
         return playerRepository.saveAndFlush(player);
     }
 
-    public void plentyResources(PlentyMove move) {
-
-        // find player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public void plentyResources(Player player, PlentyMove move) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -220,14 +207,9 @@ public class PlayerService {
             default:
                 throw new IllegalStateException(ErrorMsg.PLENTY_TYPE_INVALID);
         }
-
-        save(player);
     }
 
-    public Player payForBuilding(BuildMove move) {
-
-        //Find Player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public Player payForBuilding(Player player, BuildMove move) {
 
         if (player == null) {
             throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
@@ -236,8 +218,7 @@ public class PlayerService {
         //Pay for the given building
         payForBuildingWorker(move.getBuilding(), player);
 
-        //Save
-        return playerRepository.saveAndFlush(player);
+        return player;
     }
 
     private void payForBuildingWorker(Building building, Player player) {
@@ -254,10 +235,7 @@ public class PlayerService {
         }
     }
 
-    public void removeDevelopmentCard(CardMove move) {
-
-        // find player
-        Player player = playerRepository.findByUserId(move.getUserId());
+    public void removeDevelopmentCard(Player player, CardMove move) {
 
         // get owed development cardType
         DevelopmentType type = move.getDevelopmentCard().getDevelopmentType();
@@ -290,14 +268,10 @@ public class PlayerService {
         return victoryPoints;
     }
 
-    public void stealResource(StealMove move) {
+    public void stealResource(Player player, Player victim) {
 
-        // find player & corresponding funds
-        Player player = playerRepository.findByUserId(move.getUserId());
+        // get the funds of the player and the victim
         ResourceWallet fundsPlayer = player.getWallet();
-
-        // find victim & corresponding funds
-        Player victim = playerRepository.findByUserId(move.getVictimId());
         ResourceWallet fundsVictim = victim.getWallet();
 
         // deduct random resource card from opponent and add to player
@@ -320,10 +294,6 @@ public class PlayerService {
 
         fundsPlayer.addResource(stolenType, 1);
         fundsVictim.removeResource(stolenType, 1);
-
-        // save players
-        playerRepository.saveAndFlush(player);
-        playerRepository.saveAndFlush(victim);
     }
 
     public void updateResources(ResourceType type, List<Building> buildings, Player player) {
@@ -336,17 +306,13 @@ public class PlayerService {
         save(player);
     }
 
-    public void receiveInitialResources(ResourceType type, Long userId, Building building) {
+    public void receiveInitialResources(ResourceType type, Player player, Building building) {
 
         // get player wallet
-        Player player = findPlayerByUserId(userId);
         ResourceWallet funds = player.getWallet();
 
         // add resources accordingly (type and distributingAmount)
         funds.addResource(type, building.getResourceDistributingAmount());
-
-        // save player
-        save(player);
     }
 
     public Player findPlayerByUserId(Long id) {
@@ -23,7 +23,9 @@ public class QueueService {
     public Long getNextForGame(Long id) {
         PlayerQueue queue = queueRepository.findByGameId(id);
         Long next = queue.getNext();
-        save(queue);
+
+        //the new index is written with the other changes of the move
+        queueRepository.save(queue);
 
         return next;
     }
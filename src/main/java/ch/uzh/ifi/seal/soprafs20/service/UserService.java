@@ -4,6 +4,9 @@ import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.exceptions.RestException;
 import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import ch.uzh.ifi.seal.soprafs20.service.auth.SignedToken;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenCache;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenSigner;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -13,7 +16,9 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * User Service
@@ -28,11 +33,27 @@ public class UserService {
 
     private final UserRepository userRepository;
 
+    private TokenCache tokenCache;
+    private TokenSigner tokenSigner;
+
+    // the current token generation of the users that used a signed token, only updated after a commit
+    private final Map<Long, Long> tokenGenerations = new ConcurrentHashMap<>();
+
     @Autowired
     public UserService(@Qualifier("userRepository") UserRepository userRepository) {
         this.userRepository = userRepository;
     }
 
+    @Autowired
+    public void setTokenCache(TokenCache tokenCache) {
+        this.tokenCache = tokenCache;
+    }
+
+    @Autowired
+    public void setTokenSigner(TokenSigner tokenSigner) {
+        this.tokenSigner = tokenSigner;
+    }
+
     public List<User> getUsers() {
         return this.userRepository.findAll();
     }
@@ -49,6 +70,11 @@ public class UserService {
 
         // saves the given entity but data is only persisted in the database once flush() is called
         newUser = userRepository.save(newUser);
+
+        // a signed token needs the id of the user
+        if (tokenSigner.isEnabled()) {
+            newUser.setToken(tokenSigner.sign(newUser.getId(), newUser.getTokenGeneration()));
+        }
         userRepository.flush();
 
         log.debug("Created Information for User: {}", newUser);
@@ -108,7 +134,7 @@ public class UserService {
             foundUser = userRepository.findByUsername(user.getUsername());
         }
         else if (user.getToken() != null) {
-            foundUser = userRepository.findByToken(user.getToken());
+            foundUser = findUserWithToken(user.getToken());
         }
 
         return foundUser;
@@ -141,6 +167,12 @@ public class UserService {
 
         // after verification, set userStatus accordingly
         userByUsername.setStatus(UserStatus.ONLINE);
+        tokenCache.invalidateUser(userByUsername.getId());
+
+        // a signed token is issued again with every login
+        if (tokenSigner.isEnabled()) {
+            userByUsername.setToken(tokenSigner.sign(userByUsername.getId(), userByUsername.getTokenGeneration()));
+        }
 
         //return logged in user
         return userByUsername;
@@ -149,8 +181,14 @@ public class UserService {
 
     public User logoutUser(User userToBeLoggedOut) {
 
-        // find user by its username
-        User userByUsername = userRepository.findByUsername(userToBeLoggedOut.getUsername());
+        // find user by its username, a user from a signed token only has an id
+        User userByUsername;
+        if (userToBeLoggedOut.getUsername() != null) {
+            userByUsername = userRepository.findByUsername(userToBeLoggedOut.getUsername());
+        }
+        else {
+            userByUsername = userRepository.findUserById(userToBeLoggedOut.getId());
+        }
 
         if (userByUsername == null) {
             return null;
@@ -158,15 +196,82 @@ public class UserService {
 
         // set status accordingly
         userByUsername.setStatus(UserStatus.OFFLINE);
+        tokenCache.invalidateUser(userByUsername.getId());
+
+        // invalidate the signed tokens of the user
+        if (tokenSigner.isEnabled()) {
+            Long userId = userByUsername.getId();
+            long generation = userByUsername.getTokenGeneration() + 1;
+            userByUsername.setTokenGeneration(generation);
+
+            //a rolled back logout keeps the tokens valid
+            AfterCommit.run(() -> tokenGenerations.merge(userId, generation, Math::max));
+        }
 
         return userByUsername;
     }
 
+    /**
+     * Finds the user with the token
+     * <p>
+     * The user is looked up in the TokenCache first, a cached user is a copy
+     * and not managed by the persistence context.
+     * <p>
+     * A signed token is verified without the database. The returned user only holds
+     * the id and the token.
+     *
+     * @param token the token
+     * @return the user or null if no user has the token
+     */
     public User findUserWithToken(String token) {
-        return userRepository.findByToken(token);
+
+        if (tokenSigner.isEnabled() && tokenSigner.isSignedToken(token)) {
+            return findUserWithSignedToken(token);
+        }
+
+        User cachedUser = tokenCache.get(token);
+        if (cachedUser != null) {
+            return cachedUser;
+        }
+
+        User foundUser = userRepository.findByToken(token);
+        tokenCache.put(foundUser);
+        return foundUser;
     }
 
     public User save(User user) {
         return userRepository.saveAndFlush(user);
     }
-}
\ No newline at end of file
+
+    // -- signed tokens --
+
+    private User findUserWithSignedToken(String token) {
+
+        SignedToken signedToken = tokenSigner.verify(token);
+
+        //The token is not valid if it was forged or the user logged out since
+        if (signedToken == null || signedToken.getGeneration() != currentTokenGeneration(signedToken.getUserId())) {
+            return null;
+        }
+
+        User principal = new User();
+        principal.setId(signedToken.getUserId());
+        principal.setToken(token);
+        return principal;
+    }
+
+    private long currentTokenGeneration(Long userId) {
+
+        Long generation = tokenGenerations.get(userId);
+
+        //Only the first token of a user after a restart is checked against the database
+        if (generation == null) {
+            User user = userRepository.findUserById(userId);
+            if (user == null) {
+                return -1;
+            }
+            generation = tokenGenerations.merge(userId, user.getTokenGeneration(), Math::max);
+        }
+        return generation;
+    }
+}
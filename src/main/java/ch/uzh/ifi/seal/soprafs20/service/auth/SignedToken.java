@@ -0,0 +1,29 @@
+package ch.uzh.ifi.seal.soprafs20.service.auth;
+
+/**
+ * The verified content of a signed token
+ */
+public class SignedToken {
+
+    private final Long userId;
+    private final long generation;
+    private final long issuedAt;
+
+    public SignedToken(Long userId, long generation, long issuedAt) {
+        this.userId = userId;
+        this.generation = generation;
+        this.issuedAt = issuedAt;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public long getIssuedAt() {
+        return issuedAt;
+    }
+}
@@ -0,0 +1,142 @@
+package ch.uzh.ifi.seal.soprafs20.service.auth;
+
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Remembers which user a token belongs to.
+ * <p>
+ * Every request to the /games endpoints authenticates the user with the token, most of them
+ * several times. The cache answers these lookups without the database. It holds a copy of the
+ * user with the fields that identify it (id, username, token, status and tracking), never the
+ * managed entity, so it can not be used to change the user.
+ * <p>
+ * An entry expires after a fixed time to live. If the cache is full, the least recently used
+ * entry is evicted. Entries have to be invalidated when the token or the status of the user changes.
+ */
+@Component
+public class TokenCache {
+
+    private final long timeToLive;
+    private final int maxSize;
+    private final LongSupplier clock;
+
+    // -- guarded by this --
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    @Autowired
+    public TokenCache(@Value("${auth.token-cache.ttl:30000}") long timeToLive,
+                      @Value("${auth.token-cache.size:10000}") int maxSize) {
+        this(timeToLive, maxSize, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a cache with its own clock
+     *
+     * @param timeToLive the time to live of an entry in milliseconds, 0 disables the cache
+     * @param maxSize    the maximal number of entries
+     * @param clock      the clock in milliseconds
+     */
+    public TokenCache(long timeToLive, int maxSize, LongSupplier clock) {
+        this.timeToLive = timeToLive;
+        this.maxSize = maxSize;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns a copy of the user with the token
+     *
+     * @param token the token
+     * @return the user or null if the token is not cached
+     */
+    public synchronized User get(String token) {
+        if (token == null) {
+            return null;
+        }
+
+        Entry entry = entries.get(token);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expiresAt <= clock.getAsLong()) {
+            entries.remove(token);
+            return null;
+        }
+        return copyOf(entry.user);
+    }
+
+    /**
+     * Caches the user under its token
+     *
+     * @param user the user
+     */
+    public synchronized void put(User user) {
+        if (user == null || user.getToken() == null || timeToLive <= 0 || maxSize <= 0) {
+            return;
+        }
+
+        entries.put(user.getToken(), new Entry(copyOf(user), clock.getAsLong() + timeToLive));
+
+        // evict the least recently used entries
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (entries.size() > maxSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Removes the token from the cache
+     *
+     * @param token the token
+     */
+    public synchronized void invalidate(String token) {
+        if (token != null) {
+            entries.remove(token);
+        }
+    }
+
+    /**
+     * Removes all tokens of the user from the cache
+     *
+     * @param userId the user id
+     */
+    public synchronized void invalidateUser(Long userId) {
+        entries.values().removeIf(entry -> entry.user.getId() != null && entry.user.getId().equals(userId));
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    // -- helper methods --
+
+    private static User copyOf(User user) {
+        User copy = new User();
+        copy.setId(user.getId());
+        copy.setUsername(user.getUsername());
+        copy.setToken(user.getToken());
+        copy.setStatus(user.getStatus());
+        copy.setTracking(user.isTracking());
+        return copy;
+    }
+
+    private static class Entry {
+
+        private final User user;
+        private final long expiresAt;
+
+        private Entry(User user, long expiresAt) {
+            this.user = user;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
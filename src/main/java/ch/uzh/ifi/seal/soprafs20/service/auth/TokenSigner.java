@@ -0,0 +1,153 @@
+package ch.uzh.ifi.seal.soprafs20.service.auth;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Base64;
+import java.util.function.LongSupplier;
+
+/**
+ * Issues and verifies signed tokens.
+ * <p>
+ * A signed token carries the user id, the token generation of the user and the time it was
+ * issued, signed with HMAC-SHA256: {@code s1.<userId>.<generation>.<issuedAt>.<signature>}.
+ * It can be verified without the database, only the generation has to be compared with the
+ * current generation of the user. The generation is increased on logout, which invalidates
+ * all tokens issued before.
+ * <p>
+ * The current generations are kept in memory by every server instance. A logout therefore
+ * only revokes the tokens on the instance that handled it, another instance that already
+ * knows the user keeps accepting them. So tokens have a maximal age by default
+ * (auth.token.max-age, 24 hours), after which a revoked token expires on every instance.
+ * <p>
+ * If no secret is configured, a random secret is created on startup, so the tokens are only
+ * valid until the server restarts.
+ */
+@Component
+public class TokenSigner {
+
+    private static final String PREFIX = "s1";
+    private static final String SEPARATOR = ".";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final long maxAge;
+    private final SecretKeySpec key;
+    private final LongSupplier clock;
+
+    @Autowired
+    public TokenSigner(@Value("${auth.token.signed:false}") boolean enabled,
+                       @Value("${auth.token.secret:}") String secret,
+                       @Value("${auth.token.max-age:86400000}") long maxAge) {
+        this(enabled, secret, maxAge, System::currentTimeMillis);
+    }
+
+    /**
+     * Creates a signer with its own clock
+     *
+     * @param enabled if new tokens are signed tokens
+     * @param secret  the secret, a random secret is used if empty
+     * @param maxAge  the maximal age of a token in milliseconds, 0 for no limit
+     * @param clock   the clock in milliseconds
+     */
+    public TokenSigner(boolean enabled, String secret, long maxAge, LongSupplier clock) {
+        this.enabled = enabled;
+        this.maxAge = maxAge;
+        this.clock = clock;
+
+        byte[] secretBytes;
+        if (secret == null || secret.isEmpty()) {
+            secretBytes = new byte[32];
+            new SecureRandom().nextBytes(secretBytes);
+        }
+        else {
+            secretBytes = secret.getBytes(StandardCharsets.UTF_8);
+        }
+        this.key = new SecretKeySpec(secretBytes, ALGORITHM);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Issues a signed token for the user
+     *
+     * @param userId     the user id
+     * @param generation the current token generation of the user
+     * @return the token
+     */
+    public String sign(Long userId, long generation) {
+        String payload = PREFIX + SEPARATOR + userId + SEPARATOR + generation + SEPARATOR + clock.getAsLong();
+        return payload + SEPARATOR + signatureOf(payload);
+    }
+
+    /**
+     * Checks if the token has the format of a signed token, without verifying it
+     *
+     * @param token the token
+     * @return true if it is a signed token
+     */
+    public boolean isSignedToken(String token) {
+        return token != null && token.startsWith(PREFIX + SEPARATOR);
+    }
+
+    /**
+     * Verifies the signature and the age of the token
+     *
+     * @param token the token
+     * @return the content of the token or null if the token is not valid
+     */
+    public SignedToken verify(String token) {
+        if (!isSignedToken(token)) {
+            return null;
+        }
+
+        int signatureStart = token.lastIndexOf(SEPARATOR);
+        String payload = token.substring(0, signatureStart);
+        byte[] signature = token.substring(signatureStart + 1).getBytes(StandardCharsets.US_ASCII);
+
+        if (!MessageDigest.isEqual(signature, signatureOf(payload).getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        String[] parts = payload.split("\\.");
+        if (parts.length != 4) {
+            return null;
+        }
+
+        SignedToken signedToken;
+        try {
+            signedToken = new SignedToken(Long.valueOf(parts[1]), Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+        }
+        catch (NumberFormatException e) {
+            return null;
+        }
+
+        if (maxAge > 0 && signedToken.getIssuedAt() + maxAge <= clock.getAsLong()) {
+            return null;
+        }
+        return signedToken;
+    }
+
+    // -- helper methods --
+
+    private String signatureOf(String payload) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            byte[] signature = mac.doFinal(payload.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+        }
+        catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
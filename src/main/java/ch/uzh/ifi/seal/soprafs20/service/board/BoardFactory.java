@@ -0,0 +1,56 @@
+package ch.uzh.ifi.seal.soprafs20.service.board;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BoardConstants;
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import ch.uzh.ifi.seal.soprafs20.constant.TileType;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * this helper class generates the randomized layouts of new boards
+ * <p>
+ * A layout is the tile type of every tile of the BoardTopology, the desert is always
+ * on the desert tile.
+ */
+public class BoardFactory {
+
+    private BoardFactory() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Generates a random layout with the correct number of tiles per type
+     *
+     * @return the tile types, indexed by the tile in the BoardTopology
+     */
+    public static TileType[] generateLayout() {
+
+        List<TileType> typeList = new ArrayList<>();
+        addTiles(typeList, TileType.FIELD, BoardConstants.NUMBER_OF_FIELDS);
+        addTiles(typeList, TileType.FOREST, BoardConstants.NUMBER_OF_FORESTS);
+        addTiles(typeList, TileType.MOUNTAIN, BoardConstants.NUMBER_OF_MOUNTAINS);
+        addTiles(typeList, TileType.HILL, BoardConstants.NUMBER_OF_HILLS);
+        addTiles(typeList, TileType.PASTURE, BoardConstants.NUMBER_OF_PASTURES);
+
+        //Randomize
+        Collections.shuffle(typeList, ThreadLocalRandom.current());
+
+        TileType[] layout = new TileType[BoardTopology.NUMBER_OF_TILES];
+        int next = 0;
+        for (int tile = 0; tile < BoardTopology.NUMBER_OF_TILES; tile++) {
+            layout[tile] = tile == BoardTopology.DESERT_TILE ? TileType.DESERT : typeList.get(next++);
+        }
+        return layout;
+    }
+
+    // -- helper methods --
+
+    private static void addTiles(List<TileType> typeList, TileType type, int number) {
+        for (int i = 0; i < number; i++) {
+            typeList.add(type);
+        }
+    }
+}
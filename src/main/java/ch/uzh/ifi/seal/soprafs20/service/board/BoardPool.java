@@ -0,0 +1,142 @@
+package ch.uzh.ifi.seal.soprafs20.service.board;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keeps a pool of persisted boards that have no game yet, so a new game only claims a board.
+ * <p>
+ * The boards and their tiles are saved on a background thread, every board in a transaction
+ * of its own. The pool is filled when the application is ready and refilled whenever a board
+ * was claimed. Boards that were left unclaimed by an earlier run are taken over first.
+ * <p>
+ * The pool only holds the ids of the boards. If it is empty, e.g. during a burst of new
+ * games, the BoardService creates the board on the calling thread.
+ */
+@Component
+public class BoardPool {
+
+    private final Logger log = LoggerFactory.getLogger(BoardPool.class);
+
+    private final BlockingQueue<Long> boardIds;
+    private final int poolSize;
+    private final Executor refiller;
+    private final AtomicBoolean refilling = new AtomicBoolean();
+
+    private BoardService boardService;
+
+    @Autowired
+    public BoardPool(@Value("${boards.pool.size:0}") int poolSize) {
+        this(poolSize, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "board-pool");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    /**
+     * Creates a pool that is refilled on the given executor
+     *
+     * @param poolSize the number of boards that are kept ready, 0 to create every board on claim
+     * @param refiller the executor
+     */
+    public BoardPool(int poolSize, Executor refiller) {
+        this.poolSize = Math.max(0, poolSize);
+        this.refiller = refiller;
+        this.boardIds = new LinkedBlockingQueue<>(Math.max(1, this.poolSize));
+    }
+
+    @Autowired
+    public void setBoardService(BoardService boardService) {
+        this.boardService = boardService;
+    }
+
+    /**
+     * Takes over the unclaimed boards and fills the pool
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fill() {
+        if (poolSize == 0) {
+            return;
+        }
+        List<Long> unclaimed = boardService.findUnclaimedBoardIds();
+        for (Long boardId : unclaimed) {
+            boardIds.offer(boardId);
+        }
+        refill();
+    }
+
+    /**
+     * Claims the id of a pooled board
+     *
+     * @return the board id or null if the pool is empty
+     */
+    public Long claim() {
+        Long boardId = boardIds.poll();
+        refill();
+        return boardId;
+    }
+
+    /**
+     * Returns a board to the pool, e.g. if the game that claimed it was rolled back
+     *
+     * @param boardId the board id
+     */
+    public void release(Long boardId) {
+        boardIds.offer(boardId);
+    }
+
+    /**
+     * Returns the number of boards that are ready
+     *
+     * @return the number of boards
+     */
+    public int getAvailable() {
+        return boardIds.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (refiller instanceof ExecutorService) {
+            ((ExecutorService) refiller).shutdownNow();
+        }
+    }
+
+    // -- helper methods --
+
+    private void refill() {
+        if (poolSize == 0 || !refilling.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            refiller.execute(() -> {
+                try {
+                    while (boardIds.remainingCapacity() > 0) {
+                        boardIds.offer(boardService.createUnclaimedBoard().getId());
+                    }
+                }
+                catch (RuntimeException e) {
+                    //The pool is refilled with the next claim, until then the boards are created on claim
+                    log.warn("could not refill the board pool", e);
+                }
+                finally {
+                    refilling.set(false);
+                }
+            });
+        }
+        catch (RejectedExecutionException e) {
+            //The application is shutting down, the boards are created on claim
+            refilling.set(false);
+        }
+    }
+}
@@ -1,6 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.service.board;
 
-import ch.uzh.ifi.seal.soprafs20.constant.BoardConstants;
+import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
 import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.constant.TileType;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
@@ -15,25 +15,40 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.BuildMove;
 import ch.uzh.ifi.seal.soprafs20.repository.BoardRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
+import ch.uzh.ifi.seal.soprafs20.service.AfterCommit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 @Service
 @Transactional
 public class BoardService {
 
+    private final Logger log = LoggerFactory.getLogger(BoardService.class);
+
     private final BoardRepository boardRepository;
     private final GameRepository gameRepository;
 
     private CoordinateService coordinateService;
     private TileService tileService;
+    private BoardPool boardPool;
+
+    // production index per game, kept up to date by build, removeSettlementForCity and moveRobber
+    private final Map<Long, ProductionIndex> productionIndices = new ConcurrentHashMap<>();
+
+    /**
+     * If set, the production index is compared against the board before every dice roll
+     */
+    @Value("${production.verify:false}")
+    private boolean verifyProductionIndex;
 
     @Autowired
     public BoardService(@Qualifier("boardRepository") BoardRepository boardRepository,
@@ -53,118 +68,115 @@ public class BoardService {
         this.coordinateService = coordinateService;
     }
 
+    @Autowired
+    public void setBoardPool(BoardPool boardPool) {
+        this.boardPool = boardPool;
+    }
+
 
     /**
-     * Creates a new board, saves it to the database and returns it
+     * Gives the game a board, saves it to the database and returns it
+     * <p>
+     * The board is claimed from the BoardPool, only the game id of the board and its tiles
+     * is written. If the pool is empty, a new board is created.
      *
+     * @param gameId the game id
      * @return the board
      */
     public Board createBoard(Long gameId) {
 
-        //The empty board
-        Board board = new Board();
-        board.setGameId(gameId);
-
-        //The list of tiles
-        List<Tile> tiles = new ArrayList<>();
-
-        //A list of TileTypes that should be on the board in the correct number
-        List<TileType> necessaryTiles = getTileTypeListRandom();
-
-        //The new tiles
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(3, 0), 6, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(5, 0), 3, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(7, 0), 8, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(2, 2), 2, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(4, 2), 4, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(6, 2), 5, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(8, 2), 10, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(1, 4), 5, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(3, 4), 11, gameId));
-
-        //The desert tile
-        Tile newTile = createNewTile(TileType.DESERT, new Coordinate(5, 4), 0, gameId);
-        newTile.setRobber(true);
-        tiles.add(newTile);
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(7, 4), 9, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(9, 4), 6, gameId));
-
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(2, 6), 9, gameId));
+        Board board = claimPooledBoard();
+        if (board == null) {
+            board = newBoard();
+        }
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(4, 6), 10, gameId));
+        //The board and its tiles belong to the game from now on
+        board.setGameId(gameId);
+        for (Tile tile : board.getTiles()) {
+            tile.setGameId(gameId);
+        }
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(6, 6), 3, gameId));
+        return boardRepository.saveAndFlush(board);
+    }
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(8, 6), 12, gameId));
+    /**
+     * Creates a new board without a game for the BoardPool
+     *
+     * @return the saved board
+     */
+    public Board createUnclaimedBoard() {
+        return boardRepository.saveAndFlush(newBoard());
+    }
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(3, 8), 8, gameId));
+    public List<Long> findUnclaimedBoardIds() {
+        return boardRepository.findUnclaimedBoardIds();
+    }
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(5, 8), 4, gameId));
+    /**
+     * Claims a board from the BoardPool. If the transaction is rolled back, the board
+     * goes back to the pool.
+     *
+     * @return the board or null if the pool is empty
+     */
+    private Board claimPooledBoard() {
 
-        tiles.add(createNewTile(necessaryTiles.remove(0), new Coordinate(7, 8), 11, gameId));
+        Long boardId = boardPool.claim();
+        while (boardId != null) {
 
-        board.setTiles(tiles);
+            //A pooled board that was deleted or claimed in the meantime is skipped
+            Optional<Board> pooled = boardRepository.findById(boardId);
+            if (pooled.isPresent() && pooled.get().getGameId() == null) {
+                Long claimed = boardId;
+                AfterCommit.onRollback(() -> boardPool.release(claimed));
+                return pooled.get();
+            }
 
-        //Calculate coordinate neighbors
-        coordinateService.calculateNeighbors();
-        return boardRepository.saveAndFlush(board);
+            boardId = boardPool.claim();
+        }
+        return null;
     }
 
     /**
-     * Returns with the correct number of TileType objects per Tile that should have that type
+     * Creates a new board without a game
+     * <p>
+     * The layout of the tiles is generated by the BoardFactory. The tiles are saved together
+     * with the board, so the board is written with a single flush.
      *
-     * @return the list of TileType Objects
+     * @return the board, not saved yet
      */
-    private List<TileType> getTileTypeListRandom() {
+    private Board newBoard() {
 
-        List<TileType> typeList = new ArrayList<>();
+        //The empty board
+        Board board = new Board();
 
+        //The list of tiles
+        List<Tile> tiles = new ArrayList<>();
 
-        //Number of fields
-        for (int i = 0; i < BoardConstants.NUMBER_OF_FIELDS; i++) {
-            typeList.add(TileType.FIELD);
-        }
+        //The randomized tile types, indexed by tile
+        TileType[] layout = BoardFactory.generateLayout();
 
-        //Number of forests
-        for (int i = 0; i < BoardConstants.NUMBER_OF_FORESTS; i++) {
-            typeList.add(TileType.FOREST);
-        }
+        //The coordinates of the board, their neighbors are given by the topology
+        List<Coordinate> coordinates = coordinateService.getBoardCoordinates();
 
-        //Number of mountains
-        for (int i = 0; i < BoardConstants.NUMBER_OF_MOUNTAINS; i++) {
-            typeList.add(TileType.MOUNTAIN);
-        }
+        //The new tiles
+        for (int tile = 0; tile < BoardTopology.NUMBER_OF_TILES; tile++) {
 
-        //Number of hills
-        for (int i = 0; i < BoardConstants.NUMBER_OF_HILLS; i++) {
-            typeList.add(TileType.HILL);
-        }
+            Tile newTile = createNewTile(layout[tile], tile, coordinates);
 
-        //Number of pastures
-        for (int i = 0; i < BoardConstants.NUMBER_OF_PASTURES; i++) {
-            typeList.add(TileType.PASTURE);
+            //The robber starts in the desert
+            newTile.setRobber(layout[tile] == TileType.DESERT);
+            tiles.add(newTile);
         }
 
-        //Randomize
-        Collections.shuffle(typeList);
+        board.setTiles(tiles);
 
-        return typeList;
+        return board;
     }
 
-    private Tile createNewTile(TileType tileType, Coordinate topCoordinate, int tileNumber, Long gameId) {
+    private Tile createNewTile(TileType tileType, int tile, List<Coordinate> coordinates) {
         Tile newTile;
-        newTile = tileService.createTile(topCoordinate, gameId);
-        newTile.setTileNumber(tileNumber);
+        newTile = tileService.createTile(tile, coordinates, null);
+        newTile.setTileNumber(BoardTopology.TILE_NUMBERS[tile]);
         newTile.setType(tileType);
         return newTile;
     }
@@ -181,6 +193,11 @@ public class BoardService {
         //Add owner information
         building.setUserId(userId);
 
+        //Settlements and cities produce resources
+        if (building.getType() != BuildingType.ROAD) {
+            updateProductionIndex(board, index -> index.placeBuilding(building));
+        }
+
         switch (building.getType()) {
             case SETTLEMENT:
                 board.addSettlement((Settlement) building);
@@ -196,6 +213,26 @@ public class BoardService {
         }
     }
 
+    /**
+     * Applies a change of the board to the cached production index.
+     * <p>
+     * If the transaction is rolled back, the index is dropped and rebuilt on the next dice roll.
+     *
+     * @param board  the board that is changed
+     * @param update the change
+     */
+    private void updateProductionIndex(Board board, Consumer<ProductionIndex> update) {
+        Long gameId = board.getGameId();
+
+        ProductionIndex index = productionIndices.get(gameId);
+        if (index == null) {
+            return;
+        }
+        update.accept(index);
+
+        AfterCommit.onRollback(() -> productionIndices.remove(gameId));
+    }
+
     private Board getBoardByGameId(Long gameId) {
         Optional<Game> gameOptional = gameRepository.findById(gameId);
 
@@ -206,7 +243,7 @@ public class BoardService {
         return gameOptional.get().getBoard();
     }
 
-    public void removeSettlementForCity(BuildMove buildMove) {
+    public Settlement removeSettlementForCity(BuildMove buildMove) {
 
         // get corresponding board
         Board board = getBoardByGameId(buildMove.getGameId());
@@ -220,13 +257,73 @@ public class BoardService {
         // get settlement to be removed
         Settlement settlementRemove = null;
         for (Settlement settlement : board.getSettlements()) {
-            if (settlement.getCoordinate() == city.getCoordinate()) {
+            if (Objects.equals(settlement.getCoordinate(), city.getCoordinate())) {
                 settlementRemove = settlement;
             }
         }
 
         // remove settlement
+        if (settlementRemove != null) {
+            Settlement removed = settlementRemove;
+            updateProductionIndex(board, index -> index.removeBuilding(removed));
+        }
         board.getSettlements().remove(settlementRemove);
+
+        return settlementRemove;
+    }
+
+    /**
+     * Moves the robber of the game to the tile with the given id
+     *
+     * @param gameId the game id
+     * @param tileId the id of the tile that gets the robber
+     */
+    public void moveRobber(Long gameId, Long tileId) {
+
+        Board board = getBoardByGameId(gameId);
+
+        updateProductionIndex(board, index -> index.moveRobber(tileId));
+        tileService.setRobber(tileId, board);
+    }
+
+    /**
+     * Returns the production index of the game's board
+     * <p>
+     * The index is cached per game and kept up to date by build, removeSettlementForCity
+     * and moveRobber. If production.verify is set, the index is compared against the board
+     * and rebuilt if it does not describe the board anymore.
+     *
+     * @param game the game
+     * @return the production index
+     */
+    public ProductionIndex getProductionIndex(Game game) {
+
+        Long gameId = game.getId();
+        Board board = game.getBoard();
+
+        ProductionIndex index = productionIndices.get(gameId);
+
+        if (index != null && verifyProductionIndex && !index.matches(board)) {
+            log.warn("production index of game {} does not describe the board anymore", gameId);
+            index = null;
+        }
+
+        if (index == null) {
+            index = ProductionIndex.of(board, tileService::convertToResource);
+            productionIndices.put(gameId, index);
+
+            AfterCommit.onRollback(() -> productionIndices.remove(gameId));
+        }
+        return index;
+    }
+
+    /**
+     * Removes the cached production index of a game
+     *
+     * @param gameId the game id
+     */
+    public void removeProductionIndex(Long gameId) {
+        productionIndices.remove(gameId);
     }
 
     public List<Tile> getTilesWithNumber(Long gameId, int number) {
@@ -291,7 +388,7 @@ public class BoardService {
         for (Settlement settlement : board.getSettlements()) {
             if (settlement.getUserId().equals(player.getUserId())) {
                 for (Coordinate coordinate : tile.getCoordinates()) {
-                    if (settlement.getCoordinate() == coordinate) {
+                    if (coordinate.equals(settlement.getCoordinate())) {
                         buildings.add(settlement);
                     }
                 }
@@ -303,7 +400,7 @@ public class BoardService {
         for (City city : board.getCities()) {
             if (city.getUserId().equals(player.getUserId())) {
                 for (Coordinate coordinate : tile.getCoordinates()) {
-                    if (city.getCoordinate() == coordinate) {
+                    if (coordinate.equals(city.getCoordinate())) {
                         buildings.add(city);
                     }
                 }
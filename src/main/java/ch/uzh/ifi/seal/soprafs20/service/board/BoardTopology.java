@@ -0,0 +1,232 @@
+package ch.uzh.ifi.seal.soprafs20.service.board;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+
+import java.util.Arrays;
+
+/**
+ * The fixed topology of the standard board.
+ * <p>
+ * The layout of the board never changes, only the tile types get shuffled.
+ * This class holds the vertex numbering, the neighbors of every vertex, the edges and
+ * the tile-to-vertex and vertex-to-tile adjacency as static tables. They are built once
+ * when the class is loaded, so no lookups in the database are needed for them.
+ * <p>
+ * Vertices are numbered in the order in which they first appear on the tiles,
+ * tiles are numbered in the order of {@link #TILE_TOPS}.
+ */
+public class BoardTopology {
+
+    public static final int NUMBER_OF_TILES = 19;
+    public static final int NUMBER_OF_VERTICES = 54;
+    public static final int NUMBER_OF_EDGES = 72;
+
+    public static final int NO_VERTEX = -1;
+
+    /**
+     * The offsets of the six tile corners relative to the top coordinate:
+     * top, upper left, upper right, lower left, lower right and bottom
+     */
+    public static final int[][] TILE_CORNERS = {{0, 0}, {-1, 1}, {1, 1}, {-1, 2}, {1, 2}, {0, 3}};
+
+    /**
+     * The top coordinates of the tiles, row by row
+     */
+    public static final int[][] TILE_TOPS = {
+            {3, 0}, {5, 0}, {7, 0},
+            {2, 2}, {4, 2}, {6, 2}, {8, 2},
+            {1, 4}, {3, 4}, {5, 4}, {7, 4}, {9, 4},
+            {2, 6}, {4, 6}, {6, 6}, {8, 6},
+            {3, 8}, {5, 8}, {7, 8}};
+
+    /**
+     * The dice numbers of the tiles, in the order of the tile tops
+     */
+    public static final int[] TILE_NUMBERS = {6, 3, 8, 2, 4, 5, 10, 5, 11, 0, 9, 6, 9, 10, 3, 12, 8, 4, 11};
+
+    /**
+     * The tile that holds the desert and the robber at the start of the game
+     */
+    public static final int DESERT_TILE = 9;
+
+    private static final int GRID_WIDTH = 11;
+    private static final int GRID_HEIGHT = 12;
+
+    private static final int[] VERTEX_X = new int[NUMBER_OF_VERTICES];
+    private static final int[] VERTEX_Y = new int[NUMBER_OF_VERTICES];
+    private static final int[] VERTEX_BY_POSITION = new int[GRID_WIDTH * GRID_HEIGHT];
+
+    private static final int[][] NEIGHBORS = new int[NUMBER_OF_VERTICES][];
+    private static final int[][] INCIDENT_EDGES = new int[NUMBER_OF_VERTICES][];
+    private static final int[][] EDGE_VERTICES = new int[NUMBER_OF_EDGES][];
+
+    private static final int[][] TILE_VERTICES = new int[NUMBER_OF_TILES][TILE_CORNERS.length];
+    private static final int[][] VERTEX_TILES = new int[NUMBER_OF_VERTICES][];
+
+    static {
+        Arrays.fill(VERTEX_BY_POSITION, NO_VERTEX);
+
+        // number the vertices in tile order
+        int vertexCount = 0;
+        for (int tile = 0; tile < NUMBER_OF_TILES; tile++) {
+            for (int corner = 0; corner < TILE_CORNERS.length; corner++) {
+                int x = TILE_TOPS[tile][0] + TILE_CORNERS[corner][0];
+                int y = TILE_TOPS[tile][1] + TILE_CORNERS[corner][1];
+
+                int position = y * GRID_WIDTH + x;
+                if (VERTEX_BY_POSITION[position] == NO_VERTEX) {
+                    VERTEX_BY_POSITION[position] = vertexCount;
+                    VERTEX_X[vertexCount] = x;
+                    VERTEX_Y[vertexCount] = y;
+                    vertexCount++;
+                }
+                TILE_VERTICES[tile][corner] = VERTEX_BY_POSITION[position];
+            }
+        }
+
+        // neighbors are the vertices in the surrounding eight positions
+        for (int vertex = 0; vertex < NUMBER_OF_VERTICES; vertex++) {
+            int[] found = new int[8];
+            int count = 0;
+            for (int i = -1; i < 2; i++) {
+                for (int j = -1; j < 2; j++) {
+                    int neighbor = getVertex(VERTEX_X[vertex] + i, VERTEX_Y[vertex] + j);
+                    if ((i != 0 || j != 0) && neighbor != NO_VERTEX) {
+                        found[count] = neighbor;
+                        count++;
+                    }
+                }
+            }
+            NEIGHBORS[vertex] = Arrays.copyOf(found, count);
+            INCIDENT_EDGES[vertex] = new int[count];
+        }
+
+        // number the edges, every pair of neighbors is an edge
+        int edgeCount = 0;
+        for (int vertex = 0; vertex < NUMBER_OF_VERTICES; vertex++) {
+            for (int i = 0; i < NEIGHBORS[vertex].length; i++) {
+                int neighbor = NEIGHBORS[vertex][i];
+                if (neighbor > vertex) {
+                    EDGE_VERTICES[edgeCount] = new int[]{vertex, neighbor};
+                    INCIDENT_EDGES[vertex][i] = edgeCount;
+                    edgeCount++;
+                }
+                else {
+                    INCIDENT_EDGES[vertex][i] = edgeBetween(neighbor, vertex);
+                }
+            }
+        }
+
+        // tiles around every vertex
+        int[] tileCount = new int[NUMBER_OF_VERTICES];
+        for (int[] vertices : TILE_VERTICES) {
+            for (int vertex : vertices) {
+                tileCount[vertex]++;
+            }
+        }
+        for (int vertex = 0; vertex < NUMBER_OF_VERTICES; vertex++) {
+            VERTEX_TILES[vertex] = new int[tileCount[vertex]];
+            tileCount[vertex] = 0;
+        }
+        for (int tile = 0; tile < NUMBER_OF_TILES; tile++) {
+            for (int vertex : TILE_VERTICES[tile]) {
+                VERTEX_TILES[vertex][tileCount[vertex]] = tile;
+                tileCount[vertex]++;
+            }
+        }
+    }
+
+    private BoardTopology() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Returns the vertex at the position or NO_VERTEX if there is no vertex
+     *
+     * @param x the x position
+     * @param y the y position
+     * @return the vertex
+     */
+    public static int getVertex(int x, int y) {
+        if (x < 0 || y < 0 || x >= GRID_WIDTH || y >= GRID_HEIGHT) {
+            return NO_VERTEX;
+        }
+        return VERTEX_BY_POSITION[y * GRID_WIDTH + x];
+    }
+
+    public static int getX(int vertex) {
+        return VERTEX_X[vertex];
+    }
+
+    public static int getY(int vertex) {
+        return VERTEX_Y[vertex];
+    }
+
+    /**
+     * Returns the neighbors of the vertex.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @param vertex the vertex
+     * @return the neighboring vertices
+     */
+    public static int[] getNeighbors(int vertex) {
+        return NEIGHBORS[vertex];
+    }
+
+    /**
+     * Returns the edge between two vertices or NO_VERTEX if they are not neighbors
+     *
+     * @param vertex   the first vertex
+     * @param neighbor the second vertex
+     * @return the edge
+     */
+    public static int edgeBetween(int vertex, int neighbor) {
+        if (vertex == NO_VERTEX || neighbor == NO_VERTEX) {
+            return NO_VERTEX;
+        }
+        int[] neighbors = NEIGHBORS[vertex];
+        for (int i = 0; i < neighbors.length; i++) {
+            if (neighbors[i] == neighbor) {
+                return INCIDENT_EDGES[vertex][i];
+            }
+        }
+        return NO_VERTEX;
+    }
+
+    /**
+     * Returns the two vertices of the edge.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @param edge the edge
+     * @return the vertices
+     */
+    public static int[] getEdgeVertices(int edge) {
+        return EDGE_VERTICES[edge];
+    }
+
+    /**
+     * Returns the six vertices of the tile, in the order of {@link #TILE_CORNERS}.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @param tile the tile
+     * @return the vertices
+     */
+    public static int[] getTileVertices(int tile) {
+        return TILE_VERTICES[tile];
+    }
+
+    /**
+     * Returns the tiles that touch the vertex.
+     * <p>
+     * The returned array is shared and must not be modified.
+     *
+     * @param vertex the vertex
+     * @return the tiles
+     */
+    public static int[] getVertexTiles(int vertex) {
+        return VERTEX_TILES[vertex];
+    }
+}
@@ -8,7 +8,9 @@ import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @Transactional
@@ -21,6 +23,66 @@ public class CoordinateService {
         this.coordinateRepository = coordinateRepository;
     }
 
+    /**
+     * Returns the coordinates of the standard board, indexed by their vertex in the BoardTopology
+     * <p>
+     * The stored coordinates are loaded at once, missing coordinates get created.
+     * The neighbors are taken from the BoardTopology, so no lookups per coordinate are needed.
+     *
+     * @return the list of coordinates
+     */
+    public List<Coordinate> getBoardCoordinates() {
+
+        //Load all stored coordinates with their neighbors at once
+        Map<Coordinate, Coordinate> stored = new HashMap<>();
+        for (Coordinate coordinate : coordinateRepository.findAllWithNeighbors()) {
+            stored.put(coordinate, coordinate);
+        }
+
+        List<Coordinate> coordinates = new ArrayList<>();
+        boolean changed = false;
+
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+
+            Coordinate key = new Coordinate(BoardTopology.getX(vertex), BoardTopology.getY(vertex));
+            Coordinate coordinate = stored.get(key);
+
+            //Create the coordinate if it does not exist yet
+            if (coordinate == null) {
+                coordinate = coordinateRepository.save(new Coordinate(key.getX(), key.getY()));
+                changed = true;
+            }
+            coordinates.add(coordinate);
+        }
+
+        //Set the neighbors where they differ from the topology
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+
+            List<Coordinate> neighbors = new ArrayList<>();
+            for (int neighbor : BoardTopology.getNeighbors(vertex)) {
+                neighbors.add(coordinates.get(neighbor));
+            }
+
+            Coordinate coordinate = coordinates.get(vertex);
+            if (!neighbors.equals(coordinate.getNeighbors())) {
+                coordinate.setNeighbors(neighbors);
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            coordinateRepository.flush();
+        }
+
+        return coordinates;
+    }
+
+    /**
+     * Calculates the neighbors of all stored coordinates by looking up the surrounding positions
+     *
+     * @deprecated the neighbors of the board coordinates are set by {@link #getBoardCoordinates()}
+     */
+    @Deprecated(since = "M4")
     public void calculateNeighbors() {
 
         List<Coordinate> coordinates = coordinateRepository.findAll();
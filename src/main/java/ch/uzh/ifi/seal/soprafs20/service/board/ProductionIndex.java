@@ -0,0 +1,311 @@
+package ch.uzh.ifi.seal.soprafs20.service.board;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.constant.TileType;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Lists for every dice number which player receives which resources.
+ * <p>
+ * The index is built once per board and updated when a building is placed or removed
+ * and when the robber moves. The productions of a dice number are recalculated lazily
+ * the next time the number is rolled, so a dice roll is a single lookup.
+ * <p>
+ * The index remembers the robber tile and a fingerprint of the buildings it was updated with.
+ * If the board was changed without the index, {@link #matches(Board)} fails. It is only
+ * checked when production.verify is set.
+ */
+public class ProductionIndex {
+
+    private static final int MAX_DICE_NUMBER = 12;
+    private static final long NO_OWNER = Long.MIN_VALUE;
+
+    // -- tiles --
+
+    private final Long[] tileIds;
+    private final int[] tileNumbers;
+    private final ResourceType[] tileResources;
+    private final int[][] tileVertices;
+    private final int[][] vertexTiles;
+    private int robberTile;
+
+    // -- buildings --
+
+    private final long[] vertexOwners;
+    private final int[] vertexAmounts;
+    private long buildingFingerprint;
+
+    // productions per dice number, null if the number has to be recalculated
+    private final List<List<Production>> productions;
+
+    private ProductionIndex(Board board, Function<TileType, ResourceType> resources) {
+
+        List<Tile> tiles = board.getTiles();
+        tileIds = new Long[tiles.size()];
+        tileNumbers = new int[tiles.size()];
+        tileResources = new ResourceType[tiles.size()];
+        tileVertices = new int[tiles.size()][];
+        robberTile = -1;
+
+        int[] tileCount = new int[BoardTopology.NUMBER_OF_VERTICES];
+        for (int t = 0; t < tiles.size(); t++) {
+            Tile tile = tiles.get(t);
+            tileIds[t] = tile.getId();
+            tileNumbers[t] = tile.getTileNumber();
+            if (tile.getType() != null && tile.getType() != TileType.DESERT) {
+                tileResources[t] = resources.apply(tile.getType());
+            }
+            if (tile.isRobber()) {
+                robberTile = t;
+            }
+
+            tileVertices[t] = tile.getCoordinates().stream()
+                    .mapToInt(ProductionIndex::vertexOf)
+                    .filter(vertex -> vertex != BoardTopology.NO_VERTEX)
+                    .toArray();
+            for (int vertex : tileVertices[t]) {
+                tileCount[vertex]++;
+            }
+        }
+
+        // tiles around every vertex
+        vertexTiles = new int[BoardTopology.NUMBER_OF_VERTICES][];
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+            vertexTiles[vertex] = new int[tileCount[vertex]];
+            tileCount[vertex] = 0;
+        }
+        for (int t = 0; t < tileVertices.length; t++) {
+            for (int vertex : tileVertices[t]) {
+                vertexTiles[vertex][tileCount[vertex]] = t;
+                tileCount[vertex]++;
+            }
+        }
+
+        vertexOwners = new long[BoardTopology.NUMBER_OF_VERTICES];
+        vertexAmounts = new int[BoardTopology.NUMBER_OF_VERTICES];
+        Arrays.fill(vertexOwners, NO_OWNER);
+
+        productions = new ArrayList<>(Collections.nCopies(MAX_DICE_NUMBER + 1, null));
+
+        for (Settlement settlement : board.getSettlements()) {
+            placeBuilding(settlement);
+        }
+        for (City city : board.getCities()) {
+            placeBuilding(city);
+        }
+    }
+
+    /**
+     * Creates the index for the current state of the board
+     *
+     * @param board     the board
+     * @param resources converts the tile types to the produced resources
+     * @return the index
+     */
+    public static ProductionIndex of(Board board, Function<TileType, ResourceType> resources) {
+        return new ProductionIndex(board, resources);
+    }
+
+    /**
+     * Returns what the players receive if the number is rolled.
+     * <p>
+     * Every player is listed at most once per resource.
+     *
+     * @param diceNumber the rolled number
+     * @return the productions
+     */
+    public List<Production> getProductions(int diceNumber) {
+        if (diceNumber < 0 || diceNumber > MAX_DICE_NUMBER) {
+            return Collections.emptyList();
+        }
+        List<Production> found = productions.get(diceNumber);
+        if (found == null) {
+            found = calculateProductions(diceNumber);
+            productions.set(diceNumber, found);
+        }
+        return found;
+    }
+
+    /**
+     * Adds a settlement or city to the index, a city replaces the settlement on its vertex
+     *
+     * @param building the building
+     */
+    public void placeBuilding(Building building) {
+        int vertex = vertexOf(building);
+        if (vertex == BoardTopology.NO_VERTEX) {
+            return;
+        }
+        if (vertexOwners[vertex] != NO_OWNER) {
+            buildingFingerprint -= fingerprint(vertex, vertexOwners[vertex], vertexAmounts[vertex]);
+        }
+        vertexOwners[vertex] = building.getUserId();
+        vertexAmounts[vertex] = building.getResourceDistributingAmount();
+        buildingFingerprint += fingerprint(vertex, vertexOwners[vertex], vertexAmounts[vertex]);
+        invalidateVertex(vertex);
+    }
+
+    /**
+     * Removes a settlement or city from the index
+     *
+     * @param building the building
+     */
+    public void removeBuilding(Building building) {
+        int vertex = vertexOf(building);
+        if (vertex == BoardTopology.NO_VERTEX || vertexOwners[vertex] == NO_OWNER) {
+            return;
+        }
+        buildingFingerprint -= fingerprint(vertex, vertexOwners[vertex], vertexAmounts[vertex]);
+        vertexOwners[vertex] = NO_OWNER;
+        vertexAmounts[vertex] = 0;
+        invalidateVertex(vertex);
+    }
+
+    /**
+     * Moves the robber to the tile with the given id
+     *
+     * @param tileId the id of the new robber tile
+     */
+    public void moveRobber(Long tileId) {
+        invalidateTile(robberTile);
+        robberTile = -1;
+        for (int t = 0; t < tileIds.length; t++) {
+            if (tileIds[t] != null && tileIds[t].equals(tileId)) {
+                robberTile = t;
+            }
+        }
+        invalidateTile(robberTile);
+    }
+
+    /**
+     * Checks if the index still describes the board
+     * <p>
+     * Compares the tiles, the robber and the settlements and cities of the board
+     * with the state the index was updated to.
+     *
+     * @param board the board
+     * @return true if the index is up to date
+     */
+    public boolean matches(Board board) {
+        List<Tile> tiles = board.getTiles();
+        if (tiles.size() != tileIds.length) {
+            return false;
+        }
+        for (int t = 0; t < tileIds.length; t++) {
+            Tile tile = tiles.get(t);
+            if (!Objects.equals(tile.getId(), tileIds[t]) || tile.isRobber() != (t == robberTile)) {
+                return false;
+            }
+        }
+
+        long fingerprint = 0;
+        for (Settlement settlement : board.getSettlements()) {
+            fingerprint += fingerprint(settlement);
+        }
+        for (City city : board.getCities()) {
+            fingerprint += fingerprint(city);
+        }
+        return fingerprint == buildingFingerprint;
+    }
+
+    // -- helper methods --
+
+    private List<Production> calculateProductions(int diceNumber) {
+
+        // sum up the amounts per player and resource
+        Map<Long, Map<ResourceType, Integer>> amounts = new LinkedHashMap<>();
+        for (int t = 0; t < tileNumbers.length; t++) {
+            if (tileNumbers[t] != diceNumber || tileResources[t] == null || t == robberTile) {
+                continue;
+            }
+            for (int vertex : tileVertices[t]) {
+                if (vertexOwners[vertex] != NO_OWNER) {
+                    amounts.computeIfAbsent(vertexOwners[vertex], owner -> new EnumMap<>(ResourceType.class))
+                            .merge(tileResources[t], vertexAmounts[vertex], Integer::sum);
+                }
+            }
+        }
+
+        List<Production> found = new ArrayList<>();
+        for (Map.Entry<Long, Map<ResourceType, Integer>> owner : amounts.entrySet()) {
+            for (Map.Entry<ResourceType, Integer> amount : owner.getValue().entrySet()) {
+                found.add(new Production(owner.getKey(), amount.getKey(), amount.getValue()));
+            }
+        }
+        return Collections.unmodifiableList(found);
+    }
+
+    private void invalidateVertex(int vertex) {
+        for (int tile : vertexTiles[vertex]) {
+            invalidateTile(tile);
+        }
+    }
+
+    private void invalidateTile(int tile) {
+        if (tile >= 0 && tileNumbers[tile] >= 0 && tileNumbers[tile] <= MAX_DICE_NUMBER) {
+            productions.set(tileNumbers[tile], null);
+        }
+    }
+
+    private static int vertexOf(Building building) {
+        Coordinate coordinate = building.getCoordinates().isEmpty() ? null : building.getCoordinates().get(0);
+        return vertexOf(coordinate);
+    }
+
+    private static int vertexOf(Coordinate coordinate) {
+        if (coordinate == null) {
+            return BoardTopology.NO_VERTEX;
+        }
+        return BoardTopology.getVertex(coordinate.getX(), coordinate.getY());
+    }
+
+    private static long fingerprint(Building building) {
+        int vertex = vertexOf(building);
+        if (vertex == BoardTopology.NO_VERTEX) {
+            return 0;
+        }
+        return fingerprint(vertex, building.getUserId(), building.getResourceDistributingAmount());
+    }
+
+    private static long fingerprint(int vertex, long owner, int amount) {
+        long hash = 31L * vertex + amount;
+        hash = hash * 0x9E3779B97F4A7C15L + owner;
+        return hash * 0xC2B2AE3D27D4EB4FL;
+    }
+
+    /**
+     * The amount of a resource a player receives
+     */
+    public static class Production {
+
+        private final Long userId;
+        private final ResourceType type;
+        private final int amount;
+
+        public Production(Long userId, ResourceType type, int amount) {
+            this.userId = userId;
+            this.type = type;
+            this.amount = amount;
+        }
+
+        public Long getUserId() {
+            return userId;
+        }
+
+        public ResourceType getType() {
+            return type;
+        }
+
+        public int getAmount() {
+            return amount;
+        }
+    }
+}
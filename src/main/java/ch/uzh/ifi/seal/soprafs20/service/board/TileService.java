@@ -29,54 +29,57 @@ public class TileService {
         this.coordinateRepository = coordinateRepository;
     }
 
-    public Tile createTile(Coordinate top, Long gameId) {
+    /**
+     * Creates a tile of the standard board and saves it
+     * <p>
+     * The corners of the tile are taken from the BoardTopology.
+     *
+     * @param tile             the tile in the BoardTopology
+     * @param boardCoordinates the board coordinates, indexed by vertex
+     * @param gameId           the gameId
+     * @return the saved tile
+     */
+    public Tile createTile(int tile, List<Coordinate> boardCoordinates, Long gameId) {
 
         Tile createdTile = new Tile();
         createdTile.setGameId(gameId);
 
         List<Coordinate> coordinates = new ArrayList<>();
 
-        //Add top coordinate
-        coordinates.add(top);
-
-        //Create upper left coordinate
-        Coordinate upperLeft = new Coordinate();
-        upperLeft.setX(top.getX() - 1);
-        upperLeft.setY(top.getY() + 1);
-        coordinates.add(upperLeft);
-
-        //Create upper right coordinate
-        Coordinate upperRight = new Coordinate();
-        upperRight.setX(top.getX() + 1);
-        upperRight.setY(top.getY() + 1);
-        coordinates.add(upperRight);
-
-        //Create lower left coordinate
-        Coordinate lowerLeft = new Coordinate();
-        lowerLeft.setX(top.getX() - 1);
-        lowerLeft.setY(top.getY() + 2);
-        coordinates.add(lowerLeft);
-
-        //Create lower right coordinate
-        Coordinate lowerRight = new Coordinate();
-        lowerRight.setX(top.getX() + 1);
-        lowerRight.setY(top.getY() + 2);
-        coordinates.add(lowerRight);
-
-        //Create bottom coordinate
-        Coordinate bottom = new Coordinate();
-        bottom.setX(top.getX());
-        bottom.setY(top.getY() + 3);
-        coordinates.add(bottom);
+        //Add the corners in the order top, upper left, upper right, lower left, lower right, bottom
+        for (int vertex : BoardTopology.getTileVertices(tile)) {
+            coordinates.add(boardCoordinates.get(vertex));
+        }
+
+        createdTile.setCoordinates(coordinates);
+
+        return tileRepository.save(createdTile);
+    }
+
+    /**
+     * Creates a tile with the top coordinate and saves it and its coordinates
+     *
+     * @param top    the top coordinate
+     * @param gameId the gameId
+     * @return the saved tile
+     */
+    public Tile createTile(Coordinate top, Long gameId) {
+
+        Tile createdTile = new Tile();
+        createdTile.setGameId(gameId);
 
         //Saved coordinates
         List<Coordinate> savedCoordinates = new ArrayList<>();
 
-        for (Coordinate coordinate : coordinates) {
+        //Create the corners in the order top, upper left, upper right, lower left, lower right, bottom
+        for (int[] corner : BoardTopology.TILE_CORNERS) {
+
+            Coordinate coordinate = new Coordinate();
+            coordinate.setX(top.getX() + corner[0]);
+            coordinate.setY(top.getY() + corner[1]);
 
             Coordinate saved = coordinateRepository.save(coordinate);
             savedCoordinates.add(saved);
-
         }
 
         coordinateRepository.flush();
@@ -0,0 +1,241 @@
+package ch.uzh.ifi.seal.soprafs20.service.event;
+
+import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GameEventDTO;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Sends the events of one game to all its subscribed connections.
+ * <p>
+ * The events are sent on the shared dispatcher, never on the thread that changed the game.
+ * Only the latest event of a game is waiting at any time: if the game changes again before
+ * the previous event was sent, the previous event is dropped, because the clients only
+ * need to know the latest state. The events of a game are sent one after the other.
+ * <p>
+ * New subscriptions join in the same order: a subscription only gets the events that are sent
+ * after its first event, and the ETag of the first event is read when it is sent. So a client
+ * never gets an older ETag after a newer one.
+ */
+class GameEventBroadcaster {
+
+    private final Long gameId;
+    private final Executor dispatcher;
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Queue<Join> joining = new ConcurrentLinkedQueue<>();
+    private final AtomicReference<Event> pending = new AtomicReference<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+
+    GameEventBroadcaster(Long gameId, Executor dispatcher) {
+        this.gameId = gameId;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Queues the subscription, it receives the current state as first event and all events after it.
+     * The first event is sent once {@link #dispatch()} is called.
+     * <p>
+     * If the game has no ETag anymore when the first event is sent, the game has ended: the end event
+     * is sent instead and the subscription is closed.
+     *
+     * @param subscription the subscription
+     * @param etag         supplies the current ETag of the game, null if the game has ended
+     * @param ended        called if the subscription is closed because the game has ended
+     */
+    void join(Subscription subscription, Supplier<String> etag, Runnable ended) {
+        joining.add(new Join(subscription, etag, ended));
+    }
+
+    /**
+     * Sends the queued subscriptions their first event
+     */
+    void dispatch() {
+        if (!joining.isEmpty()) {
+            scheduleDrain();
+        }
+    }
+
+    void remove(Subscription subscription) {
+        subscriptions.remove(subscription);
+    }
+
+    boolean isEmpty() {
+        return subscriptions.isEmpty() && joining.isEmpty();
+    }
+
+    int size() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Queues the event for all subscriptions, replaces an event that was not sent yet
+     *
+     * @param event the event
+     */
+    void publish(Event event) {
+        pending.set(event);
+        scheduleDrain();
+    }
+
+    /**
+     * Sends the event to a single subscription
+     *
+     * @param subscription the subscription
+     * @param event        the event
+     */
+    void send(Subscription subscription, Event event) {
+        try {
+            subscription.emitter.send(SseEmitter.event()
+                    .name(event.type)
+                    .id(event.etag)
+                    .data(createEventDTO(subscription.userId, event)));
+
+            if (event.last) {
+                subscription.emitter.complete();
+            }
+        }
+        catch (IOException | IllegalStateException e) {
+            // the client has gone away
+            subscriptions.remove(subscription);
+            subscription.emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Sends a comment to all subscriptions, so closed connections are detected
+     */
+    void heartbeat() {
+        for (Subscription subscription : subscriptions) {
+            try {
+                subscription.emitter.send(SseEmitter.event().comment("heartbeat"));
+            }
+            catch (IOException | IllegalStateException e) {
+                subscriptions.remove(subscription);
+                subscription.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    /**
+     * Completes all subscriptions without an event
+     */
+    void completeAll() {
+        for (Subscription subscription : subscriptions) {
+            subscription.emitter.complete();
+        }
+        subscriptions.clear();
+    }
+
+    // -- helper methods --
+
+    private void scheduleDrain() {
+        if (draining.compareAndSet(false, true)) {
+            dispatcher.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        while (true) {
+            Join join = joining.peek();
+            if (join != null) {
+                welcome(join);
+                continue;
+            }
+
+            Event event = pending.getAndSet(null);
+            if (event != null) {
+                for (Subscription subscription : subscriptions) {
+                    send(subscription, event);
+                }
+                continue;
+            }
+
+            draining.set(false);
+
+            // an event may have been published after the check above
+            if ((pending.get() == null && joining.isEmpty()) || !draining.compareAndSet(false, true)) {
+                return;
+            }
+        }
+    }
+
+    private void welcome(Join join) {
+
+        // visible first, so a change after the ETag was read is sent afterwards
+        subscriptions.add(join.subscription);
+        joining.poll();
+
+        String etag = join.etag.get();
+        if (etag == null) {
+            subscriptions.remove(join.subscription);
+            send(join.subscription, new Event(GameEventService.END_EVENT, null, true));
+            join.ended.run();
+            return;
+        }
+        send(join.subscription, new Event(GameEventService.STATE_EVENT, etag, false));
+    }
+
+    private GameEventDTO createEventDTO(Long userId, Event event) {
+        GameEventDTO eventDTO = new GameEventDTO();
+        eventDTO.setGameId(gameId);
+        eventDTO.setUserId(userId);
+        eventDTO.setType(event.type);
+        eventDTO.setEtag(event.etag);
+        return eventDTO;
+    }
+
+    /**
+     * A connection of a player to the events of the game
+     */
+    static class Subscription {
+
+        private final Long userId;
+        private final SseEmitter emitter;
+
+        Subscription(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+    }
+
+    /**
+     * A subscription that waits for its first event
+     */
+    private static class Join {
+
+        private final Subscription subscription;
+        private final Supplier<String> etag;
+        private final Runnable ended;
+
+        private Join(Subscription subscription, Supplier<String> etag, Runnable ended) {
+            this.subscription = subscription;
+            this.etag = etag;
+            this.ended = ended;
+        }
+    }
+
+    /**
+     * An event of the game, the last event completes the subscriptions
+     */
+    static class Event {
+
+        private final String type;
+        private final String etag;
+        private final boolean last;
+
+        Event(String type, String etag, boolean last) {
+            this.type = type;
+            this.etag = etag;
+            this.last = last;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package ch.uzh.ifi.seal.soprafs20.service.event;
+
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventBroadcaster.Event;
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventBroadcaster.Subscription;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PreDestroy;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Streams the state changes of the games to the connected players as server-sent events.
+ * <p>
+ * Every game with subscribed connections has one broadcaster that sends each event to all
+ * its connections. The connections are held by asynchronous requests and do not need a thread,
+ * the events of all games are sent by a small shared dispatcher. A heartbeat is sent to all
+ * connections in a fixed interval, so connections of clients that have gone away are removed.
+ * <p>
+ * Events:
+ * <ul>
+ *     <li>state: the state of the game changed, the event contains the new ETag of the game</li>
+ *     <li>end: the game was finished or deleted, the connection is closed afterwards</li>
+ * </ul>
+ */
+@Component
+public class GameEventService {
+
+    static final String STATE_EVENT = "state";
+    static final String END_EVENT = "end";
+
+    private final Map<Long, GameEventBroadcaster> broadcasters = new ConcurrentHashMap<>();
+
+    private final Executor dispatcher;
+    private final ScheduledExecutorService heartbeats;
+    private final long timeout;
+
+    @Autowired
+    public GameEventService(@Value("${games.events.threads:2}") int threads,
+                            @Value("${games.events.timeout:1800000}") long timeout,
+                            @Value("${games.events.heartbeat:15000}") long heartbeat) {
+
+        this(Executors.newFixedThreadPool(Math.max(1, threads), new EventThreadFactory()), timeout);
+
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat, heartbeat, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates a service that sends the events on the given dispatcher, without heartbeats
+     *
+     * @param dispatcher the dispatcher
+     * @param timeout    the timeout of a connection in milliseconds
+     */
+    public GameEventService(Executor dispatcher, long timeout) {
+        this.dispatcher = dispatcher;
+        this.timeout = timeout;
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(new EventThreadFactory());
+    }
+
+    /**
+     * Subscribes a player to the events of the game.
+     * <p>
+     * The current state is sent as first event, so the client knows from which state on it gets the changes.
+     * The first event is sent in order with the other events of the game and its ETag is read when it is
+     * sent. If the game has ended by then, the end event is sent instead.
+     *
+     * @param gameId the game id
+     * @param userId the user id of the player
+     * @param etag   supplies the current ETag of the game, null once the game has ended
+     * @return the emitter of the connection
+     */
+    public SseEmitter subscribe(Long gameId, Long userId, Supplier<String> etag) {
+
+        SseEmitter emitter = new SseEmitter(timeout);
+        Subscription subscription = new Subscription(userId, emitter);
+
+        emitter.onCompletion(() -> unsubscribe(gameId, subscription));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> unsubscribe(gameId, subscription));
+
+        // joined within compute, so the broadcaster is not removed before the subscription is in it
+        GameEventBroadcaster broadcaster = broadcasters.compute(gameId, (id, existing) -> {
+            GameEventBroadcaster gameBroadcaster = existing != null ? existing : new GameEventBroadcaster(id, dispatcher);
+            gameBroadcaster.join(subscription, etag, () -> unsubscribe(gameId, subscription));
+            return gameBroadcaster;
+        });
+        broadcaster.dispatch();
+
+        return emitter;
+    }
+
+    /**
+     * Tells all players of the game that its state changed
+     *
+     * @param gameId the game id
+     * @param etag   the new ETag of the game
+     */
+    public void publishStateChanged(Long gameId, String etag) {
+        GameEventBroadcaster broadcaster = broadcasters.get(gameId);
+        if (broadcaster != null) {
+            broadcaster.publish(new Event(STATE_EVENT, etag, false));
+        }
+    }
+
+    /**
+     * Tells all players of the game that it has ended and closes their connections
+     *
+     * @param gameId the game id
+     */
+    public void publishGameEnded(Long gameId) {
+        GameEventBroadcaster broadcaster = broadcasters.remove(gameId);
+        if (broadcaster != null) {
+            broadcaster.publish(new Event(END_EVENT, null, true));
+        }
+    }
+
+    /**
+     * Returns the number of connections to the game
+     *
+     * @param gameId the game id
+     * @return the number of connections
+     */
+    public int getSubscriberCount(Long gameId) {
+        GameEventBroadcaster broadcaster = broadcasters.get(gameId);
+        return broadcaster == null ? 0 : broadcaster.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+        for (GameEventBroadcaster broadcaster : broadcasters.values()) {
+            broadcaster.completeAll();
+        }
+        broadcasters.clear();
+        if (dispatcher instanceof ExecutorService) {
+            ((ExecutorService) dispatcher).shutdown();
+        }
+    }
+
+    // -- helper methods --
+
+    private void unsubscribe(Long gameId, Subscription subscription) {
+        broadcasters.computeIfPresent(gameId, (id, broadcaster) -> {
+            broadcaster.remove(subscription);
+            return broadcaster.isEmpty() ? null : broadcaster;
+        });
+    }
+
+    private void sendHeartbeats() {
+        for (GameEventBroadcaster broadcaster : broadcasters.values()) {
+            dispatcher.execute(broadcaster::heartbeat);
+        }
+    }
+
+    private static class EventThreadFactory implements ThreadFactory {
+
+        private int count = 0;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            count++;
+            Thread thread = new Thread(runnable, "game-events-" + count);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
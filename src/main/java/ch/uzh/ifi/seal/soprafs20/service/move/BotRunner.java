@@ -0,0 +1,213 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.service.AfterCommit;
+import ch.uzh.ifi.seal.soprafs20.service.BotService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.*;
+import java.util.concurrent.*;
+
+/**
+ * Plays the turns of the bots in the background.
+ * <p>
+ * When a bot has to move, the game is handed to the runner once the move that made the
+ * bot the current player is committed. The runner then plays one bot move after the other
+ * as separate tasks in the lane of the game, so every bot move has a short transaction of
+ * its own and moves of other games and players are not held up by a whole bot round.
+ * The runner stops as soon as no bot of the game has a move left.
+ * <p>
+ * At most a fixed number of games are played by bots at the same time, further games
+ * wait until one of them is done.
+ * <p>
+ * A bot move that fails is tried again after a delay that doubles with every failure. If it
+ * still fails after the last retry, the bot passes its turn. A bot that can not pass, e.g.
+ * while the first settlements are placed, keeps trying with the longest delay. The runner
+ * never ends a game, a game that is torn down has no bot turn left and stops the retries.
+ */
+@Component
+public class BotRunner {
+
+    private final Logger log = LoggerFactory.getLogger(BotRunner.class);
+
+    private final GameLaneExecutor gameLaneExecutor;
+    private final int maxGames;
+    private final int maxRetries;
+    private final long retryDelay;
+    private final ScheduledExecutorService retries;
+
+    // -- guarded by this --
+
+    private final Set<Long> activeGames = new HashSet<>();
+    private final Set<Long> waitingGames = new LinkedHashSet<>();
+    private final Set<Long> requestedGames = new HashSet<>();
+    private final Map<Long, Integer> failedMoves = new HashMap<>();
+
+    private BotService botService;
+
+    @Autowired
+    public BotRunner(GameLaneExecutor gameLaneExecutor,
+                     @Value("${games.bots.max-games:16}") int maxGames,
+                     @Value("${games.bots.max-retries:3}") int maxRetries,
+                     @Value("${games.bots.retry-delay:500}") long retryDelay) {
+        this.gameLaneExecutor = gameLaneExecutor;
+        this.maxGames = Math.max(1, maxGames);
+        this.maxRetries = Math.max(0, maxRetries);
+        this.retryDelay = Math.max(1, retryDelay);
+        this.retries = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "bot-retries");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Autowired
+    public void setBotService(BotService botService) {
+        this.botService = botService;
+    }
+
+    /**
+     * Lets the bots of the game play their turns.
+     * <p>
+     * If called within a transaction, the bots start after the transaction was committed,
+     * so they see its changes. Nothing happens if the transaction is rolled back.
+     *
+     * @param gameId the game id
+     */
+    public void requestBotTurns(Long gameId) {
+
+        AfterCommit.run(() -> start(gameId));
+    }
+
+    /**
+     * Returns the number of games the bots are currently playing in
+     *
+     * @return the number of active games
+     */
+    public synchronized int getActiveGames() {
+        return activeGames.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        retries.shutdownNow();
+    }
+
+    // -- helper methods --
+
+    private synchronized void start(Long gameId) {
+
+        // the running bots see the new state with their next move
+        if (activeGames.contains(gameId)) {
+            requestedGames.add(gameId);
+            return;
+        }
+
+        if (activeGames.size() >= maxGames) {
+            waitingGames.add(gameId);
+            return;
+        }
+
+        activeGames.add(gameId);
+        playNextMove(gameId);
+    }
+
+    private void playNextMove(Long gameId) {
+
+        synchronized (this) {
+            requestedGames.remove(gameId);
+        }
+
+        gameLaneExecutor.submit(gameId, () -> botService.performBotTurn(gameId))
+                .whenComplete((moved, failure) -> {
+                    if (failure != null) {
+                        retryOrGiveUp(gameId, failure);
+                        return;
+                    }
+
+                    synchronized (this) {
+                        failedMoves.remove(gameId);
+                    }
+
+                    if (Boolean.TRUE.equals(moved)) {
+                        playNextMove(gameId);
+                    }
+                    else {
+                        finish(gameId, true);
+                    }
+                });
+    }
+
+    private void retryOrGiveUp(Long gameId, Throwable failure) {
+
+        int attempt;
+        synchronized (this) {
+            attempt = failedMoves.merge(gameId, 1, Integer::sum);
+        }
+
+        // the game stays active while it waits, so no second runner starts for it
+        if (attempt <= maxRetries) {
+            long delay = retryDelay << (attempt - 1);
+            log.warn("bot move in game {} failed, retry {} of {} in {} ms", gameId, attempt, maxRetries, delay, failure);
+            retryLater(gameId, delay);
+            return;
+        }
+
+        log.error("bot move in game {} failed {} times, the bot gives up its turn", gameId, attempt, failure);
+
+        gameLaneExecutor.submit(gameId, () -> botService.giveUpBotTurn(gameId))
+                .whenComplete((passed, giveUpFailure) -> {
+                    if (giveUpFailure == null && Boolean.TRUE.equals(passed)) {
+                        playNextMove(gameId);
+                        return;
+                    }
+
+                    // the game waits for the bot, the delay stays at its maximum
+                    long delay = retryDelay << maxRetries;
+                    log.error("bot in game {} can not pass, next try in {} ms", gameId, delay, giveUpFailure);
+                    retryLater(gameId, delay);
+                });
+    }
+
+    private void retryLater(Long gameId, long delay) {
+        try {
+            retries.schedule(() -> playNextMove(gameId), delay, TimeUnit.MILLISECONDS);
+        }
+        catch (RejectedExecutionException e) {
+            //The application is shutting down
+            finish(gameId, false);
+        }
+    }
+
+    private void finish(Long gameId, boolean checkRequested) {
+
+        Long next;
+        synchronized (this) {
+
+            // the game changed since the last move was chosen, check it once more
+            if (requestedGames.remove(gameId) && checkRequested) {
+                next = gameId;
+            }
+            else {
+                activeGames.remove(gameId);
+                failedMoves.remove(gameId);
+                next = null;
+
+                if (!waitingGames.isEmpty()) {
+                    Long waiting = waitingGames.iterator().next();
+                    waitingGames.remove(waiting);
+                    activeGames.add(waiting);
+                    next = waiting;
+                }
+            }
+        }
+
+        if (next != null) {
+            playNextMove(next);
+        }
+    }
+}
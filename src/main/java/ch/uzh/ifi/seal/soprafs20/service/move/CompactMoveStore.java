@@ -0,0 +1,110 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.MoveRecord;
+import ch.uzh.ifi.seal.soprafs20.repository.MoveRecordRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores the available moves of the games in the compact move table.
+ * <p>
+ * Every move is one {@link MoveRecord}, the moves are mapped to and from their records here,
+ * so the rest of the application keeps working with the move types. Is used when the moves
+ * are not only kept in memory.
+ */
+@Component
+public class CompactMoveStore {
+
+    private final MoveRecordRepository moveRecordRepository;
+
+    @Autowired
+    public CompactMoveStore(@Qualifier("moveRecordRepository") MoveRecordRepository moveRecordRepository) {
+        this.moveRecordRepository = moveRecordRepository;
+    }
+
+    /**
+     * Replaces the stored moves of a game with the next moves
+     * <p>
+     * Only the difference is written: moves that are no longer available get deleted,
+     * new moves get saved and moves that are still available keep their id.
+     *
+     * @param gameId    the game id
+     * @param nextMoves the moves that are available next
+     * @return the delta that was written
+     */
+    public MoveDelta replaceMoves(Long gameId, List<Move> nextMoves) {
+
+        MoveDelta delta = MoveDelta.between(findMoves(gameId), nextMoves);
+        if (delta.isEmpty()) {
+            return delta;
+        }
+
+        List<Long> staleIds = new ArrayList<>();
+        for (Move move : delta.getStaleMoves()) {
+            staleIds.add(move.getId());
+        }
+        if (!staleIds.isEmpty()) {
+            moveRecordRepository.deleteAllByIdIn(staleIds);
+        }
+
+        addMoves(delta.getNewMoves());
+        return delta;
+    }
+
+    /**
+     * Saves the moves, every move gets the id of its record
+     *
+     * @param moves the moves
+     */
+    public void addMoves(List<Move> moves) {
+
+        List<MoveRecord> moveRecords = new ArrayList<>(moves.size());
+        for (Move move : moves) {
+            moveRecords.add(MoveRecord.of(move));
+        }
+        moveRecords = moveRecordRepository.saveAll(moveRecords);
+
+        for (int i = 0; i < moves.size(); i++) {
+            moves.get(i).setId(moveRecords.get(i).getId());
+        }
+    }
+
+    /**
+     * Removes all moves of a game
+     *
+     * @param gameId the game id
+     */
+    public void removeMoves(Long gameId) {
+        moveRecordRepository.deleteAllByGameId(gameId);
+    }
+
+    public Move findMoveById(Long moveId) {
+        if (moveId == null) {
+            return null;
+        }
+        return moveRecordRepository.findById(moveId).map(MoveRecord::toMove).orElse(null);
+    }
+
+    public List<Move> findMoves(Long gameId) {
+        return decode(moveRecordRepository.findAllByGameIdOrderByIdAsc(gameId));
+    }
+
+    public List<Move> findMoves(Long gameId, Long userId) {
+        return decode(moveRecordRepository.findAllByGameIdAndUserIdOrderByIdAsc(gameId, userId));
+    }
+
+    // -- helper methods --
+
+    private static List<Move> decode(List<MoveRecord> moveRecords) {
+        List<Move> moves = new ArrayList<>(moveRecords.size());
+        for (MoveRecord moveRecord : moveRecords) {
+            moves.add(moveRecord.toMove());
+        }
+        return moves;
+    }
+}
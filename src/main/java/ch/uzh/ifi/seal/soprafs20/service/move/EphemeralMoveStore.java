@@ -0,0 +1,189 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the currently available moves of every game in memory.
+ * <p>
+ * The available moves are recalculated after every move, so they do not have to be
+ * written to the database. Every recalculation starts a new generation of the game's moves.
+ * <p>
+ * The id of a move is derived from the game, the generation and the move key
+ * (kind, owner and parameters), so the same move set always gets the same ids and
+ * ids of an older generation are no longer found.
+ * <p>
+ * The moves follow the transaction that changed them: if the transaction is rolled back,
+ * for example because the game was changed concurrently, the moves of the game are restored.
+ */
+@Component
+public class EphemeralMoveStore {
+
+    private final Map<Long, MoveSet> movesByGame = new ConcurrentHashMap<>();
+    private final Map<Long, Move> movesById = new ConcurrentHashMap<>();
+
+    /**
+     * Replaces the available moves of a game with a new generation of moves
+     *
+     * @param gameId the game id
+     * @param moves  the moves that are available next
+     */
+    public synchronized void replaceMoves(Long gameId, List<Move> moves) {
+        MoveSet previous = movesByGame.get(gameId);
+        long generation = previous == null ? 1 : previous.generation + 1;
+
+        rememberForRollback(gameId, previous);
+        unindex(previous);
+        movesByGame.put(gameId, index(gameId, generation, new ArrayList<>(), moves));
+    }
+
+    /**
+     * Adds moves to the current generation of a game
+     *
+     * @param gameId the game id
+     * @param moves  the additional moves
+     */
+    public synchronized void addMoves(Long gameId, List<Move> moves) {
+        MoveSet current = movesByGame.get(gameId);
+        if (current == null) {
+            replaceMoves(gameId, moves);
+            return;
+        }
+        rememberForRollback(gameId, current);
+        movesByGame.put(gameId, index(gameId, current.generation, new ArrayList<>(current.moves), moves));
+    }
+
+    /**
+     * Removes all moves of a game
+     *
+     * @param gameId the game id
+     */
+    public synchronized void removeMoves(Long gameId) {
+        rememberForRollback(gameId, movesByGame.get(gameId));
+        unindex(movesByGame.remove(gameId));
+    }
+
+    public Move findMoveById(Long moveId) {
+        return moveId == null ? null : movesById.get(moveId);
+    }
+
+    public List<Move> findMoves(Long gameId) {
+        MoveSet current = movesByGame.get(gameId);
+        return current == null ? new ArrayList<>() : new ArrayList<>(current.moves);
+    }
+
+    public List<Move> findMoves(Long gameId, Long userId) {
+        List<Move> moves = new ArrayList<>();
+        for (Move move : findMoves(gameId)) {
+            if (Objects.equals(move.getUserId(), userId)) {
+                moves.add(move);
+            }
+        }
+        return moves;
+    }
+
+    /**
+     * Derives the id of a move
+     * <p>
+     * The occurrence distinguishes moves with the same key in the same generation.
+     *
+     * @param gameId     the game id
+     * @param generation the generation of the game's moves
+     * @param moveKey    the key of the move
+     * @param occurrence how many moves with the same key came before
+     * @return the id, always positive
+     */
+    public static long moveId(Long gameId, long generation, String moveKey, int occurrence) {
+        String name = gameId + ":" + generation + ":" + moveKey + ":" + occurrence;
+        return UUID.nameUUIDFromBytes(name.getBytes(StandardCharsets.UTF_8)).getMostSignificantBits() & Long.MAX_VALUE;
+    }
+
+    // -- helper methods --
+
+    private MoveSet index(Long gameId, long generation, List<Move> current, List<Move> added) {
+
+        // count the keys that are already in the set
+        Map<String, Integer> occurrences = new HashMap<>();
+        for (Move move : current) {
+            occurrences.merge(move.getMoveKey(), 1, Integer::sum);
+        }
+
+        for (Move move : added) {
+            String key = move.getMoveKey();
+            int occurrence = occurrences.getOrDefault(key, 0);
+            occurrences.put(key, occurrence + 1);
+
+            move.setId(moveId(gameId, generation, key, occurrence));
+            movesById.put(move.getId(), move);
+            current.add(move);
+        }
+        return new MoveSet(generation, Collections.unmodifiableList(current));
+    }
+
+    /**
+     * Remembers the moves of the game before the current transaction changed them for the first time
+     */
+    @SuppressWarnings("unchecked")
+    private void rememberForRollback(Long gameId, MoveSet previous) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        Map<Long, MoveSet> snapshot = (Map<Long, MoveSet>) TransactionSynchronizationManager.getResource(this);
+        if (snapshot == null) {
+            Map<Long, MoveSet> created = new HashMap<>();
+            TransactionSynchronizationManager.bindResource(this, created);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(EphemeralMoveStore.this);
+                    if (status != STATUS_COMMITTED) {
+                        restore(created);
+                    }
+                }
+            });
+            snapshot = created;
+        }
+        if (!snapshot.containsKey(gameId)) {
+            snapshot.put(gameId, previous);
+        }
+    }
+
+    private synchronized void restore(Map<Long, MoveSet> snapshot) {
+        for (Map.Entry<Long, MoveSet> entry : snapshot.entrySet()) {
+            unindex(movesByGame.remove(entry.getKey()));
+            MoveSet previous = entry.getValue();
+            if (previous != null) {
+                movesByGame.put(entry.getKey(), previous);
+                for (Move move : previous.moves) {
+                    movesById.put(move.getId(), move);
+                }
+            }
+        }
+    }
+
+    private void unindex(MoveSet moveSet) {
+        if (moveSet == null) {
+            return;
+        }
+        for (Move move : moveSet.moves) {
+            movesById.remove(move.getId(), move);
+        }
+    }
+
+    private static class MoveSet {
+
+        private final long generation;
+        private final List<Move> moves;
+
+        private MoveSet(long generation, List<Move> moves) {
+            this.generation = generation;
+            this.moves = moves;
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.*;
+import java.util.function.Supplier;
+
+/**
+ * Executes the work for a game in a lane of its own.
+ * <p>
+ * Every game has a single-writer queue: the tasks of one game are executed strictly one after
+ * the other in the order they were submitted, so no database locks are needed to keep concurrent
+ * moves of a game apart. The lanes share a bounded worker pool, so different games are executed
+ * in parallel. A lane only exists while it has work queued.
+ * <p>
+ * Every task runs in its own transaction on a worker thread. If the transaction fails because the
+ * game was changed concurrently (optimistic locking failure), the task is executed again in a new
+ * transaction after a short backoff, so it reads and validates the new state of the game.
+ * The number of retries is bounded, the last failure is passed to the caller.
+ */
+@Component
+public class GameLaneExecutor {
+
+    private static final int TASKS_PER_TURN = 16;
+    private static final int MAX_BACKOFF_SHIFT = 6;
+
+    private final Logger log = LoggerFactory.getLogger(GameLaneExecutor.class);
+
+    private final Map<Long, Lane> lanes = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> currentGame = new ThreadLocal<>();
+
+    private final TransactionTemplate transactionTemplate;
+    private final ThreadPoolExecutor workers;
+    private final int retries;
+    private final long backoff;
+
+    @Autowired
+    public GameLaneExecutor(PlatformTransactionManager transactionManager,
+                            @Value("${games.lane.workers:0}") int workers,
+                            @Value("${games.lane.capacity:1024}") int capacity,
+                            @Value("${games.lane.retries:3}") int retries,
+                            @Value("${games.lane.backoff:10}") long backoff) {
+
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retries = Math.max(0, retries);
+        this.backoff = Math.max(0, backoff);
+
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        this.workers = new ThreadPoolExecutor(threads, threads, 60L, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(capacity), new LaneThreadFactory());
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Queues the task in the lane of the game
+     *
+     * @param gameId the game id
+     * @param task   the task
+     * @param <T>    the result type
+     * @return the result of the task, completed once the task was executed
+     */
+    public <T> CompletableFuture<T> submit(Long gameId, Supplier<T> task) {
+        Objects.requireNonNull(gameId);
+
+        LaneTask<T> laneTask = new LaneTask<>(gameId, task);
+
+        // queue the task, a lane that was just closed is replaced by a new one
+        Lane[] scheduled = new Lane[1];
+        lanes.compute(gameId, (id, lane) -> {
+            Lane current = lane;
+            if (current == null || !current.offer(laneTask)) {
+                current = new Lane(id);
+                current.offer(laneTask);
+            }
+            scheduled[0] = current.startIfIdle() ? current : null;
+            return current;
+        });
+
+        if (scheduled[0] != null) {
+            schedule(scheduled[0]);
+        }
+        return laneTask.result;
+    }
+
+    /**
+     * Executes the task in the lane of the game and waits for its result.
+     * <p>
+     * If called from a task of the same game, the task is executed directly.
+     *
+     * @param gameId the game id
+     * @param task   the task
+     * @param <T>    the result type
+     * @return the result of the task
+     */
+    public <T> T execute(Long gameId, Supplier<T> task) {
+
+        if (gameId.equals(currentGame.get())) {
+            return task.get();
+        }
+
+        try {
+            return submit(gameId, task).get();
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+        catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdown();
+    }
+
+    // -- helper methods --
+
+    private void schedule(Lane lane) {
+        try {
+            workers.execute(lane::drain);
+        }
+        catch (RejectedExecutionException e) {
+            log.warn("lane of game {} rejected, too many games with queued work", lane.gameId);
+            lane.abort(e);
+            lanes.remove(lane.gameId, lane);
+        }
+    }
+
+    private <T> void run(LaneTask<T> task) {
+        currentGame.set(task.gameId);
+        try {
+            task.result.complete(executeWithRetries(task));
+        }
+        catch (RuntimeException e) {
+            task.result.completeExceptionally(e);
+        }
+        finally {
+            currentGame.remove();
+        }
+    }
+
+    private <T> T executeWithRetries(LaneTask<T> task) {
+        for (int attempt = 0; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> task.work.get());
+            }
+            catch (OptimisticLockingFailureException e) {
+                if (attempt >= retries || !backOff(attempt)) {
+                    throw e;
+                }
+                log.debug("game {} was changed concurrently, retry {} of {}", task.gameId, attempt + 1, retries);
+            }
+        }
+    }
+
+    /**
+     * Waits before the next attempt, the delay grows exponentially and is randomized
+     * so that competing writers do not collide again
+     *
+     * @param attempt the failed attempt
+     * @return false if the thread was interrupted
+     */
+    private boolean backOff(int attempt) {
+        long delay = backoff << Math.min(attempt, MAX_BACKOFF_SHIFT);
+        if (delay == 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay));
+            return true;
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private class Lane {
+
+        private final Long gameId;
+        private final Deque<LaneTask<?>> tasks = new ArrayDeque<>();
+        private boolean running;
+        private boolean closed;
+
+        private Lane(Long gameId) {
+            this.gameId = gameId;
+        }
+
+        private synchronized boolean offer(LaneTask<?> task) {
+            if (closed) {
+                return false;
+            }
+            tasks.add(task);
+            return true;
+        }
+
+        private synchronized boolean startIfIdle() {
+            if (running) {
+                return false;
+            }
+            running = true;
+            return true;
+        }
+
+        private synchronized LaneTask<?> next() {
+            LaneTask<?> task = tasks.poll();
+            if (task == null) {
+                running = false;
+                closed = true;
+            }
+            return task;
+        }
+
+        private synchronized void abort(Throwable cause) {
+            closed = true;
+            running = false;
+            for (LaneTask<?> task : tasks) {
+                task.result.completeExceptionally(cause);
+            }
+            tasks.clear();
+        }
+
+        /**
+         * Executes the queued tasks in order. After a few tasks the worker is handed
+         * to the other lanes, so a busy game can not block the pool.
+         */
+        private void drain() {
+            for (int i = 0; i < TASKS_PER_TURN; i++) {
+                LaneTask<?> task = next();
+                if (task == null) {
+                    lanes.remove(gameId, this);
+                    return;
+                }
+                run(task);
+            }
+            schedule(this);
+        }
+    }
+
+    private static class LaneTask<T> {
+
+        private final Long gameId;
+        private final Supplier<T> work;
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+
+        private LaneTask(Long gameId, Supplier<T> work) {
+            this.gameId = gameId;
+            this.work = work;
+        }
+    }
+
+    private static class LaneThreadFactory implements ThreadFactory {
+
+        private int count = 0;
+
+        @Override
+        public synchronized Thread newThread(Runnable runnable) {
+            count++;
+            Thread thread = new Thread(runnable, "game-lane-" + count);
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
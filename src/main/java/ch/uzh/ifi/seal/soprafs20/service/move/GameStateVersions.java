@@ -0,0 +1,103 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.service.AfterCommit;
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps the state version of every game in memory.
+ * <p>
+ * The version changes whenever the state a client sees of the game changes: after every move
+ * and when a player joins. Games are registered when they are created or joined, a game that
+ * is not registered (e.g. after a restart) has no version until its state changes. Clients
+ * that poll the game send the version they have seen as ETag, the version can be compared
+ * without loading the game.
+ * <p>
+ * All versions are taken from one sequence, so a game that is registered again after it was
+ * removed never gets a version it had before. The ETag also contains the start time of the
+ * server, so ETags from before a restart never match.
+ * <p>
+ * Every change is also published to the players that are subscribed to the events of the game.
+ */
+@Component
+public class GameStateVersions {
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), Character.MAX_RADIX);
+    private final AtomicLong sequence = new AtomicLong();
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    private final GameEventService gameEventService;
+
+    @Autowired
+    public GameStateVersions(GameEventService gameEventService) {
+        this.gameEventService = gameEventService;
+    }
+
+    /**
+     * Returns the current version of the game
+     *
+     * @param gameId the game id
+     * @return the version or null if the game is not registered
+     */
+    public Long getVersion(Long gameId) {
+        return versions.get(gameId);
+    }
+
+    /**
+     * Returns the current version of the game as ETag
+     *
+     * @param gameId the game id
+     * @return the ETag or null if the game is not registered
+     */
+    public String getETag(Long gameId) {
+        Long version = getVersion(gameId);
+        if (version == null) {
+            return null;
+        }
+        return "\"" + epoch + "-" + version + "\"";
+    }
+
+    /**
+     * Registers the game with a first version, is used when the game is created or a player joins.
+     * A game that is already registered keeps its version.
+     * <p>
+     * Only existing games are registered, requests for unknown ids never add a version.
+     *
+     * @param gameId the game id
+     */
+    public void register(Long gameId) {
+        AfterCommit.run(() -> versions.computeIfAbsent(gameId, id -> sequence.incrementAndGet()));
+    }
+
+    /**
+     * Increases the version of the game.
+     * <p>
+     * If called within a transaction, the version is increased after the transaction was committed,
+     * so a client never gets the new version together with the old state.
+     *
+     * @param gameId the game id
+     */
+    public void changed(Long gameId) {
+        AfterCommit.run(() -> {
+            versions.put(gameId, sequence.incrementAndGet());
+            gameEventService.publishStateChanged(gameId, getETag(gameId));
+        });
+    }
+
+    /**
+     * Forgets the version of the game and ends its events, is used when the game is deleted
+     *
+     * @param gameId the game id
+     */
+    public void remove(Long gameId) {
+        AfterCommit.run(() -> {
+            versions.remove(gameId);
+            gameEventService.publishGameEnded(gameId);
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+
+/**
+ * The state a move is executed on.
+ * <p>
+ * The game is loaded once when the move is performed and passed to the handler
+ * and the move routines of the MoveService. The routines change the loaded entities
+ * directly, the changes are written with a single flush at the end of
+ * {@link MoveService#performMove(Move)}.
+ */
+public class MoveContext {
+
+    private final Move move;
+    private final Game game;
+
+    public MoveContext(Move move, Game game) {
+        this.move = move;
+        this.game = game;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+
+    public Game getGame() {
+        return game;
+    }
+
+    public Board getBoard() {
+        return game.getBoard();
+    }
+
+    /**
+     * Returns the version the game has once the move is committed
+     *
+     * @return the version
+     */
+    public long getResultingVersion() {
+        return game.getVersion() + 1;
+    }
+
+    /**
+     * Returns the player of the game with the given userId
+     *
+     * @param userId the userId
+     * @return the player
+     */
+    public Player getPlayer(Long userId) {
+        for (Player player : game.getPlayers()) {
+            if (player.getUserId().equals(userId)) {
+                return player;
+            }
+        }
+        throw new NullPointerException(ErrorMsg.NO_PLAYER_FOUND_WITH_USER_ID);
+    }
+
+    /**
+     * Returns the player that performs the move
+     *
+     * @return the player
+     */
+    public Player getMovingPlayer() {
+        return getPlayer(move.getUserId());
+    }
+}
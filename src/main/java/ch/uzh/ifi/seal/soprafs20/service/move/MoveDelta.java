@@ -0,0 +1,72 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+
+import java.util.*;
+
+/**
+ * The difference between the currently stored moves of a game and the moves
+ * that are available after a move was performed.
+ * <p>
+ * Moves are compared by their move key. Stored moves that are still available are kept,
+ * so only the moves that became invalid get deleted and only the new moves get saved.
+ * Moves that are available more than once are matched one by one.
+ */
+public class MoveDelta {
+
+    private final List<Move> staleMoves;
+    private final List<Move> newMoves;
+
+    private MoveDelta(List<Move> staleMoves, List<Move> newMoves) {
+        this.staleMoves = staleMoves;
+        this.newMoves = newMoves;
+    }
+
+    /**
+     * Calculates the delta between the stored moves and the next moves
+     *
+     * @param storedMoves the moves that are currently stored
+     * @param nextMoves   the moves that should be available next
+     * @return the delta
+     */
+    public static MoveDelta between(List<Move> storedMoves, List<Move> nextMoves) {
+
+        // group the stored moves by their key
+        Map<String, Deque<Move>> stored = new LinkedHashMap<>();
+        for (Move move : storedMoves) {
+            stored.computeIfAbsent(move.getMoveKey(), key -> new ArrayDeque<>()).add(move);
+        }
+
+        // keep stored moves that are still available, everything else is new
+        List<Move> newMoves = new ArrayList<>();
+        for (Move move : nextMoves) {
+            Deque<Move> matching = stored.get(move.getMoveKey());
+            if (matching == null || matching.isEmpty()) {
+                newMoves.add(move);
+            }
+            else {
+                matching.poll();
+            }
+        }
+
+        // the remaining stored moves are no longer available
+        List<Move> staleMoves = new ArrayList<>();
+        for (Deque<Move> remaining : stored.values()) {
+            staleMoves.addAll(remaining);
+        }
+
+        return new MoveDelta(staleMoves, newMoves);
+    }
+
+    public List<Move> getStaleMoves() {
+        return staleMoves;
+    }
+
+    public List<Move> getNewMoves() {
+        return newMoves;
+    }
+
+    public boolean isEmpty() {
+        return staleMoves.isEmpty() && newMoves.isEmpty();
+    }
+}
@@ -0,0 +1,47 @@
+package ch.uzh.ifi.seal.soprafs20.service.move;
+
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+
+/**
+ * The outcome of a performed move.
+ * <p>
+ * The handlers are shared and hold no state, everything a handler decides while performing
+ * the move and needs again to calculate the next moves or the history is returned here.
+ */
+public class MoveResult {
+
+    private final Move move;
+
+    private int diceRoll;
+
+    private boolean firstPartOver;
+
+    public MoveResult(Move move) {
+        this.move = move;
+    }
+
+    public Move getMove() {
+        return move;
+    }
+
+    public int getDiceRoll() {
+        return diceRoll;
+    }
+
+    public void setDiceRoll(int diceRoll) {
+        this.diceRoll = diceRoll;
+    }
+
+    /**
+     * Returns if all players placed their first settlements and roads
+     *
+     * @return true if the first part of the game is over
+     */
+    public boolean isFirstPartOver() {
+        return firstPartOver;
+    }
+
+    public void setFirstPartOver(boolean firstPartOver) {
+        this.firstPartOver = firstPartOver;
+    }
+}
@@ -10,6 +10,7 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
@@ -21,6 +22,7 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
 import ch.uzh.ifi.seal.soprafs20.repository.MoveRepository;
 import ch.uzh.ifi.seal.soprafs20.service.*;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.board.ProductionIndex;
 import ch.uzh.ifi.seal.soprafs20.service.board.TileService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -28,11 +30,12 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.transaction.Transactional;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
 
 @Service
@@ -49,8 +52,23 @@ public class MoveService {
     private BoardService boardService;
     private QueueService queueService;
     private FirstStackService firstStackService;
-    private BotService botService;
+    private BotRunner botRunner;
     private HistoryService historyService;
+    private EphemeralMoveStore ephemeralMoveStore;
+    private CompactMoveStore compactMoveStore;
+    private GameStateVersions gameStateVersions;
+
+    /**
+     * If set, the available moves are only kept in memory and not written to the compact move store
+     */
+    @Value("${moves.ephemeral:false}")
+    private boolean ephemeralMoves;
+
+    /**
+     * If set, the victory point counters are compared against a full recount after every move
+     */
+    @Value("${points.verify:false}")
+    private boolean verifyVictoryPoints;
 
     @Autowired
     public MoveService(@Qualifier("moveRepository") MoveRepository moveRepository) {
@@ -88,8 +106,8 @@ public class MoveService {
     }
 
     @Autowired
-    public void setBotService(BotService botService) {
-        this.botService = botService;
+    public void setBotRunner(BotRunner botRunner) {
+        this.botRunner = botRunner;
     }
 
     @Autowired
@@ -97,30 +115,84 @@ public class MoveService {
         this.historyService = historyService;
     }
 
+    @Autowired
+    public void setEphemeralMoveStore(EphemeralMoveStore ephemeralMoveStore) {
+        this.ephemeralMoveStore = ephemeralMoveStore;
+    }
+
+    @Autowired
+    public void setCompactMoveStore(CompactMoveStore compactMoveStore) {
+        this.compactMoveStore = compactMoveStore;
+    }
+
+    @Autowired
+    public void setGameStateVersions(GameStateVersions gameStateVersions) {
+        this.gameStateVersions = gameStateVersions;
+    }
+
     /**
-     * Gets the correct move handler form the move
+     * Gets the shared handler of the move from the MoveHandlerRegistry
      * passes the move an the MoveService (this) to the handler
+     * <p>
+     * The game is loaded once into a MoveContext that is passed through the handler.
+     * All changes of the move are written with a single flush at the end.
+     * <p>
+     * The version of the game is increased with the move. If the game was changed by another
+     * transaction since it was loaded, the move fails with an optimistic locking failure
+     * and has to be validated again against the new state.
+     * <p>
+     * The state version of the game is increased once the move is committed.
      *
      * @param move the move
      */
     public void performMove(Move move) {
 
+        //Get the game, a concurrent change of the game lets the move fail on commit
+        MoveContext context = new MoveContext(move, gameService.findGameById(move.getGameId()));
+        gameService.lockForUpdate(context.getGame());
+
         MoveHandler handler = move.getMoveHandler();
-        handler.perform(move, this);
+        MoveResult result = handler.perform(context, this);
 
         log.debug("passed handler");
 
-        //add move to history
-        historyService.addMoveToHistory(move, handler);
+        //the new buildings and the history entry belong to the version the move creates
+        stampNewBuildings(context);
+        historyService.addMoveToHistory(result, handler, context.getMovingPlayer(), context.getResultingVersion());
 
-        // delete all recent moves of the game
-        deleteAllMovesForGame(move.getGameId());
+        //Make the recalculations
+        makeRecalculations(context.getGame(), handler, result);
 
-        //Get the game
-        Game game = gameService.findGameById(move.getGameId());
+        //Write all changes of the move at once
+        moveRepository.flush();
 
-        //Make the recalculations
-        makeRecalculations(game, handler, move);
+        //Polling clients see the new state
+        gameStateVersions.changed(move.getGameId());
+    }
+
+    /**
+     * Sets the version the move creates on the buildings that were built by the move,
+     * so a client can ask for the buildings built since a version
+     *
+     * @param context the context of the move
+     */
+    private void stampNewBuildings(MoveContext context) {
+
+        Board board = context.getBoard();
+        if (board == null) {
+            return;
+        }
+
+        List<Building> buildings = new ArrayList<>();
+        buildings.addAll(board.getRoads());
+        buildings.addAll(board.getSettlements());
+        buildings.addAll(board.getCities());
+
+        for (Building building : buildings) {
+            if (building.getGameVersion() == null) {
+                building.setGameVersion(context.getResultingVersion());
+            }
+        }
     }
 
     /**
@@ -131,30 +203,31 @@ public class MoveService {
      * @param gameId the games id
      */
     public void deleteAllMovesForGame(Long gameId) {
-        List<Move> expiredMoves = moveRepository.findAllByGameId(gameId);
-        moveRepository.deleteAll(expiredMoves);
-        moveRepository.flush();
+        if (ephemeralMoves) {
+            ephemeralMoveStore.removeMoves(gameId);
+            return;
+        }
+        compactMoveStore.removeMoves(gameId);
     }
 
     /**
      * Recalculates the possible next moves.
      * Called after the given move was performed.
-     * The passed handler may contain information about the possible next moves
-     * (A counter for example)
-     * <p>
+     * The result holds what the handler decided while performing the move
+     * (the dice roll for example)
      *
      * @param game    the game
      * @param handler the handler
-     * @param move    the move
-     * @deprecated This method is deprecated because relying on information in the handler is error prone.
-     * It should only be relied on information that was saved to a repository and not
-     * in a service like worker
+     * @param result  the result of the move
      */
-    @Deprecated(since = "M4")
-    public void makeRecalculations(Game game, MoveHandler handler, Move move) {
+    public void makeRecalculations(Game game, MoveHandler handler, MoveResult result) {
 
-        //Calculate current players points
-        Player player = updateVictoryPoints(game);
+        //The points are counted while the move is performed
+        Player player = game.getCurrentPlayer();
+
+        if (verifyVictoryPoints) {
+            verifyVictoryPoints(game, player);
+        }
 
         //If the player has more 10 or more points, then the game is over
         if (player.getVictoryPoints() >= GameConstants.WIN_POINTS) {
@@ -163,15 +236,11 @@ public class MoveService {
             return;
         }
 
-        //Calculate all new possible moves and saves them to the move repository
-        List<Move> nextMoves = handler.calculateNextMoves(game, move);
+        //Calculate all new possible moves
+        List<Move> nextMoves = handler.calculateNextMoves(game, result);
 
-        //Save the game (necessary to do here because of first part ->
-        // randomly select first player in FirstPassMoveHandler)
-        gameService.save(game);
-
-        moveRepository.saveAll(nextMoves);
-        moveRepository.flush();
+        //Only write the moves that changed to the move store
+        updateMovesForGame(game.getId(), nextMoves);
 
         //Game awaits new put request or bot is notified
         notifyBotIfNeeded(game);
@@ -180,31 +249,51 @@ public class MoveService {
     // -- helper methods --
 
     /**
-     * Helper method that takes a game and recalculates the current players victory points
-     * after a move was executed.
+     * Replaces the stored moves of a game with the next moves
+     * <p>
+     * Only the difference is written: moves that are no longer available get deleted,
+     * new moves get saved and moves that are still available are kept as they are.
      *
-     * @param game the game for which the current players victory points should be recalculated
-     * @return the current player of the game
+     * @param gameId    the game id
+     * @param nextMoves the moves that are available next
      */
-    private Player updateVictoryPoints(Game game) {
-        // update the victory points of the current player
-        Player player = game.getCurrentPlayer();
+    private void updateMovesForGame(Long gameId, List<Move> nextMoves) {
+
+        if (ephemeralMoves) {
+            ephemeralMoveStore.replaceMoves(gameId, nextMoves);
+            return;
+        }
+
+        MoveDelta delta = compactMoveStore.replaceMoves(gameId, nextMoves);
+
+        log.debug("updated moves of game {}: {} removed, {} added", gameId,
+                delta.getStaleMoves().size(), delta.getNewMoves().size());
+    }
+
+    /**
+     * Recounts the victory points of the player from the buildings and development cards
+     * and compares them to the counter. A counter that is off is logged and corrected.
+     *
+     * @param game   the game
+     * @param player the player whose points are verified
+     */
+    private void verifyVictoryPoints(Game game, Player player) {
 
         int devPoints = playerService.getPointsFromDevelopmentCards(player);
         int buildingPoints = boardService.getPointsFromBuildings(game, player);
 
         int victoryPoints = devPoints + buildingPoints;
 
-        player.setVictoryPoints(victoryPoints);
-
-        //save player
-        playerService.save(player);
-        return player;
+        if (victoryPoints != player.getVictoryPoints()) {
+            log.warn("victory points of player {} in game {} were counted as {} but are {}",
+                    player.getUserId(), game.getId(), player.getVictoryPoints(), victoryPoints);
+            player.setVictoryPoints(victoryPoints);
+        }
     }
 
     /**
-     * Sees if the current player of a game is a bot and if so asks the botService
-     * to perform the next move.
+     * Sees if the current player of a game is a bot and if so asks the botRunner
+     * to play the bot turns once the move is committed.
      *
      * @param game the game
      */
@@ -213,32 +302,33 @@ public class MoveService {
         Player currentPlayer = game.getCurrentPlayer();
 
         if (currentPlayer.isBot()) {
-            botService.performBotMove(game.getId(), currentPlayer.getUserId());
+            botRunner.requestBotTurns(game.getId());
         }
     }
 
     /**
-     * Gets the passed Move from the moveRepository
+     * Gets the passed Move from the compact move store
+     * <p>
+     * If the moves are only kept in memory, the move is resolved from there.
      *
      * @param moveId the moveId
      * @return the move
      */
     public Move findMoveById(Long moveId) {
-        Optional<Move> optionalMove = moveRepository.findById(moveId);
-
-        return optionalMove.orElse(null);
+        if (ephemeralMoves) {
+            return ephemeralMoveStore.findMoveById(moveId);
+        }
+        return compactMoveStore.findMoveById(moveId);
     }
 
     /**
      * Checks if the game can exit the firstPart subroutine by checking if every player
      * built the required amount of roads.
      *
-     * @param gameId the game id
+     * @param game the game
      * @return boolean indicating if first part can be exited
      */
-    public boolean canExitFirstPart(Long gameId) {
-
-        Game game = gameService.findGameById(gameId);
+    public boolean canExitFirstPart(Game game) {
 
         int numberOfPlayers = game.getPlayers().size();
         int numberOfRoads = game.getBoard().getRoads().size();
@@ -254,7 +344,10 @@ public class MoveService {
      * @return the list of moves
      */
     public List<Move> findMovesForGameAndPlayer(Long gameId, Long userId) {
-        return moveRepository.findAllByGameIdAndUserId(gameId, userId);
+        if (ephemeralMoves) {
+            return ephemeralMoveStore.findMoves(gameId, userId);
+        }
+        return compactMoveStore.findMoves(gameId, userId);
     }
 
     // -- start move(s) --
@@ -269,9 +362,22 @@ public class MoveService {
         //Calculate the first move
         if (game.getPlayers().size() >= game.getPlayerMinimum() || game.isWithBots()) {
             List<Move> startMoves = MoveCalculator.calculateStartMove(game);
-            moveRepository.saveAll(startMoves);
-            moveRepository.flush();
+            addMovesForGame(game.getId(), startMoves);
+        }
+    }
+
+    /**
+     * Adds moves to the available moves of a game, every move gets its id from the move store
+     *
+     * @param gameId the game id
+     * @param moves  the additional moves
+     */
+    public void addMovesForGame(Long gameId, List<Move> moves) {
+        if (ephemeralMoves) {
+            ephemeralMoveStore.addMoves(gameId, moves);
+            return;
         }
+        compactMoveStore.addMoves(moves);
     }
 
     // -- initial moves --
@@ -280,10 +386,11 @@ public class MoveService {
      * Is called by the move handler to execute move specific routine.
      *
      * @param startMove the start move
+     * @param context   the move context
      */
-    public void performStartMove(StartMove startMove) {
+    public void performStartMove(StartMove startMove, MoveContext context) {
 
-        Game startedGame = gameService.findGameById(startMove.getGameId());
+        Game startedGame = context.getGame();
 
         //Add bots if needed
         if (startedGame.isWithBots()) {
@@ -293,38 +400,39 @@ public class MoveService {
         // create stack
         firstStackService.createStackForGameWithId(startMove.getGameId());
 
-        // start and save started game
+        // start game
         startedGame.setStarted(true);
-        gameService.save(startedGame);
+        gameService.lobbyChanged();
     }
 
     /**
      * Is called by the move handler to execute move specific routine.
      *
      * @param firstPassMove the first pass move
+     * @param context       the move context
      */
-    public void performFirstPassMove(FirstPassMove firstPassMove) {
-        Game game = gameService.findGameById(firstPassMove.getGameId());
+    public void performFirstPassMove(FirstPassMove firstPassMove, MoveContext context) {
+        Game game = context.getGame();
 
         //Find the userId for the next player in the game!
         Long nextUserId = firstStackService.getNextPlayerInGame(game.getId());
 
-        Player nextPlayer = playerService.findPlayerByUserId(nextUserId);
+        Player nextPlayer = context.getPlayer(nextUserId);
 
         game.setCurrentPlayer(nextPlayer);
-
-        gameService.save(game);
     }
 
     /**
      * Is called by the move handler to execute move specific routine.
      *
-     * @param move the move
+     * @param move    the move
+     * @param context the move context
      */
-    public void performFirstSettlementMove(FirstSettlementMove move) {
+    public void performFirstSettlementMove(FirstSettlementMove move, MoveContext context) {
 
         // build settlement
         boardService.build(move);
+        context.getMovingPlayer().addVictoryPoints(move.getBuilding().getVictoryPoints());
 
         // get adjacent tiles
         List<Tile> tiles = boardService.getTilesWithBuilding(move.getGameId(),
@@ -334,7 +442,7 @@ public class MoveService {
         for (Tile tile : tiles) {
             if (tile.getType() != TileType.DESERT) {
                 ResourceType type = tileService.convertToResource(tile.getType());
-                playerService.receiveInitialResources(type, move.getUserId(), move.getBuilding());
+                playerService.receiveInitialResources(type, context.getMovingPlayer(), move.getBuilding());
             }
         }
 
@@ -351,28 +459,24 @@ public class MoveService {
      * imitates dice roll and distributes resources to designated players
      *
      * @param diceMove the DiceMove that is passed to the handler
+     * @param diceRoll the rolled number
+     * @param context  the move context
      */
-    public void performDiceMove(DiceMove diceMove, int diceRoll) {
-
-        // get tile(s) with rolled number
-        List<Tile> tiles = boardService.getTilesWithNumber(diceMove.getGameId(), diceRoll);
+    public void performDiceMove(DiceMove diceMove, int diceRoll, MoveContext context) {
 
         // get game
-        Game game = gameService.findGameById(diceMove.getGameId());
+        Game game = context.getGame();
 
         //Set last dice roll
         game.setLastDiceRoll(diceRoll);
-        gameService.save(game);
 
-        // update wallet of every player with buildings on tile, skipped when empty (7)
-        for (Tile tile : tiles) {
-            if (!tile.isRobber()) {
-                ResourceType type = tileService.convertToResource(tile.getType());
-                for (Player player : game.getPlayers()) {
-                    List<Building> buildings = boardService.getBuildingsFromTileForPlayer(game, tile, player);
-                    playerService.updateResources(type, buildings, player);
-                }
-            }
+        // look up what the rolled number produces, empty for 7 and tiles with the robber
+        List<ProductionIndex.Production> productions = boardService.getProductionIndex(game).getProductions(diceRoll);
+
+        // update the wallet of every player that receives resources
+        for (ProductionIndex.Production production : productions) {
+            Player player = context.getPlayer(production.getUserId());
+            player.getWallet().addResource(production.getType(), production.getAmount());
         }
     }
 
@@ -383,18 +487,17 @@ public class MoveService {
      * will set the next player to the current player (current player passes to make another move)
      *
      * @param passMove the PassMove that is passed from the handler
+     * @param context  the move context
      */
-    public void performPassMove(PassMove passMove) {
+    public void performPassMove(PassMove passMove, MoveContext context) {
 
-        Game game = gameService.findGameById(passMove.getGameId());
+        Game game = context.getGame();
 
         Long queueReturn = queueService.getNextForGame(game.getId());
 
-        Player nextPlayer = playerService.findPlayerByUserId(queueReturn);
+        Player nextPlayer = context.getPlayer(queueReturn);
 
         game.setCurrentPlayer(nextPlayer);
-
-        gameService.save(game);
     }
 
     // - build moves -
@@ -406,18 +509,26 @@ public class MoveService {
      * the player pays for and builds a building (road, settlement or city)
      *
      * @param buildMove the BuildMove that is passed from the handler
+     * @param context   the move context
      */
-    public void performBuildMove(BuildMove buildMove) {
+    public void performBuildMove(BuildMove buildMove, MoveContext context) {
+
+        Player player = context.getMovingPlayer();
 
         //Player must pay for the building
-        playerService.payForBuilding(buildMove);
+        playerService.payForBuilding(player, buildMove);
 
+        //A city replaces the settlement and its points
         if (buildMove.getBuilding().getClass() == City.class) {
-            boardService.removeSettlementForCity(buildMove);
+            Settlement settlement = boardService.removeSettlementForCity(buildMove);
+            if (settlement != null) {
+                player.addVictoryPoints(-settlement.getVictoryPoints());
+            }
         }
 
         //Build the building on the board
         boardService.build(buildMove);
+        player.addVictoryPoints(buildMove.getBuilding().getVictoryPoints());
     }
 
     // - card moves -
@@ -426,8 +537,9 @@ public class MoveService {
      * Is called by the move handler to execute move specific routine.
      *
      * @param firstRoadMove the first road move
+     * @param context       the move context
      */
-    public void performFirstRoadMove(FirstRoadMove firstRoadMove) {
+    public void performFirstRoadMove(FirstRoadMove firstRoadMove, MoveContext context) {
         boardService.build(firstRoadMove);
     }
 
@@ -440,14 +552,17 @@ public class MoveService {
      * the player can trade resources to get a designated resource
      *
      * @param tradeMove the TradeMove that is passed from the handler
+     * @param context   the move context
      */
-    public void performTradeMove(TradeMove tradeMove) {
+    public void performTradeMove(TradeMove tradeMove, MoveContext context) {
+
+        Player player = context.getMovingPlayer();
 
         // player must pay for needed resourceType
-        playerService.payForTrade(tradeMove);
+        playerService.payForTrade(player, tradeMove);
 
         // new resource gets added to the players wallet
-        playerService.receiveFromTrade(tradeMove);
+        playerService.receiveFromTrade(player, tradeMove);
 
     }
 
@@ -458,14 +573,17 @@ public class MoveService {
      * the player can purchase a (random) development card with resources
      *
      * @param purchaseMove the PurchaseMove that is passed from the handler
+     * @param context      the move context
      */
-    public void performPurchaseMove(PurchaseMove purchaseMove) {
+    public void performPurchaseMove(PurchaseMove purchaseMove, MoveContext context) {
+
+        Player player = context.getMovingPlayer();
 
         // player must pay for the development card
-        playerService.payForDevelopmentCard(purchaseMove);
+        playerService.payForDevelopmentCard(player);
 
         // add the development card to the player
-        playerService.addDevelopmentCard(purchaseMove);
+        playerService.addDevelopmentCard(player);
 
     }
 
@@ -477,15 +595,16 @@ public class MoveService {
      * removes invoked development card from player
      *
      * @param cardMove the card move
+     * @param context  the move context
      */
-    public void performCardMove(CardMove cardMove) {
+    public void performCardMove(CardMove cardMove, MoveContext context) {
 
         // get the development card type from the move
         DevelopmentType type = cardMove.getDevelopmentCard().getDevelopmentType();
 
         // remove development card from player, if it's not a victoryPoint card
         if (type != DevelopmentType.VICTORYPOINT) {
-            playerService.removeDevelopmentCard(cardMove);
+            playerService.removeDevelopmentCard(context.getMovingPlayer(), cardMove);
         }
     }
 
@@ -493,11 +612,12 @@ public class MoveService {
      * Is called by the move handler to execute move specific routine.
      *
      * @param monopolyMove the monopoly move
+     * @param context      the move context
      */
-    public void performMonopolyMove(MonopolyMove monopolyMove) {
+    public void performMonopolyMove(MonopolyMove monopolyMove, MoveContext context) {
 
         // get current game
-        Game game = gameService.findGameById(monopolyMove.getGameId());
+        Game game = context.getGame();
 
         // get player that monopolizes and opponents
         Player tycoon = game.getCurrentPlayer();
@@ -512,18 +632,20 @@ public class MoveService {
      * Is called by the move handler to execute move specific routine.
      *
      * @param plentyMove the plenty move
+     * @param context    the move context
      */
-    public void performPlentyMove(PlentyMove plentyMove) {
+    public void performPlentyMove(PlentyMove plentyMove, MoveContext context) {
 
-        playerService.plentyResources(plentyMove);
+        playerService.plentyResources(context.getMovingPlayer(), plentyMove);
     }
 
     /**
      * Is called by the move handler to execute move specific routine.
      *
      * @param buildMove the build move
+     * @param context   the move context
      */
-    public void performRoadProgressMove(BuildMove buildMove) {
+    public void performRoadProgressMove(BuildMove buildMove, MoveContext context) {
 
         // since the player does not have to pay for road, it gets directly build
         boardService.build(buildMove);
@@ -533,28 +655,27 @@ public class MoveService {
      * Is called by the move handler to execute move specific routine.
      *
      * @param knightMove the knight move
+     * @param context    the move context
      */
-    public void performKnightMove(KnightMove knightMove) {
-
-        // get current board
-        Board board = gameService.findGameById(knightMove.getGameId()).getBoard();
+    public void performKnightMove(KnightMove knightMove, MoveContext context) {
 
         // get tileId where robber will be placed
         Long tileId = knightMove.getTileId();
 
         // set robber on board
-        tileService.setRobber(tileId, board);
+        boardService.moveRobber(knightMove.getGameId(), tileId);
     }
 
     /**
      * Is called by the move handler to execute move specific routine.
      *
      * @param stealMove the steal move
+     * @param context   the move context
      */
-    public void performStealMove(StealMove stealMove) {
+    public void performStealMove(StealMove stealMove, MoveContext context) {
 
         // deduct a random resource from victim and add it to player wallet
-        playerService.stealResource(stealMove);
+        playerService.stealResource(context.getMovingPlayer(), context.getPlayer(stealMove.getVictimId()));
     }
 
     /**
@@ -564,6 +685,9 @@ public class MoveService {
      * @return the list
      */
     public List<Move> findMovesForGameId(Long gameId) {
-        return moveRepository.findAllByGameId(gameId);
+        if (ephemeralMoves) {
+            return ephemeralMoveStore.findMoves(gameId);
+        }
+        return compactMoveStore.findMoves(gameId);
     }
 }
@@ -0,0 +1,371 @@
+package ch.uzh.ifi.seal.soprafs20.service.move.calculator;
+
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Primitive snapshot of a board that is used by the move calculation.
+ * <p>
+ * Vertices and edges are numbered by the BoardTopology. Buildings and roads are kept
+ * in bitsets and owner arrays, so that the calculation does not have to scan the building
+ * lists of the board for every single lookup. A standard board has 54 vertices and 72 edges.
+ * <p>
+ * The index is a snapshot, it has to be rebuilt after the board changed.
+ */
+public class BoardIndex {
+
+    public static final int NO_SLOT = BoardTopology.NO_VERTEX;
+
+    private static final long NO_OWNER = Long.MIN_VALUE;
+
+    // -- topology --
+
+    private final Coordinate[] vertices;
+    private final int[][] neighbors;
+
+    private final int[][] tileVertices;
+    private final boolean[] robberTiles;
+
+    // -- occupancy --
+
+    private final BitSet settlementVertices;
+    private final BitSet cityVertices;
+    private final BitSet roadEdges;
+    private final long[] vertexOwners;
+
+    // buildings in board order: vertex slots and owners
+    private final int[] settlementSlots;
+    private final long[] settlementOwners;
+    private final int[] citySlots;
+    private final long[] cityOwners;
+    private final int[] roadFirstSlots;
+    private final int[] roadSecondSlots;
+    private final long[] roadOwners;
+
+    private BoardIndex(Board board) {
+
+        List<Tile> tiles = board.getTiles();
+
+        // collect the coordinate instances of the board
+        vertices = new Coordinate[BoardTopology.NUMBER_OF_VERTICES];
+        tileVertices = new int[tiles.size()][];
+        robberTiles = new boolean[tiles.size()];
+        int vertexCount = 0;
+
+        for (int t = 0; t < tiles.size(); t++) {
+            Tile tile = tiles.get(t);
+            List<Coordinate> coordinates = tile.getCoordinates();
+            int[] corners = new int[coordinates.size()];
+            int found = 0;
+
+            for (Coordinate coordinate : coordinates) {
+                int vertex = BoardTopology.getVertex(coordinate.getX(), coordinate.getY());
+                if (vertex == NO_SLOT) {
+                    continue;
+                }
+                if (vertices[vertex] == null) {
+                    vertices[vertex] = coordinate;
+                    vertexCount++;
+                }
+                corners[found] = vertex;
+                found++;
+            }
+            tileVertices[t] = Arrays.copyOf(corners, found);
+            robberTiles[t] = tile.isRobber();
+        }
+
+        // the neighbors of a partial board are restricted to the vertices on the board
+        neighbors = new int[BoardTopology.NUMBER_OF_VERTICES][];
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+            int[] adjacent = BoardTopology.getNeighbors(vertex);
+            if (vertexCount == BoardTopology.NUMBER_OF_VERTICES) {
+                neighbors[vertex] = adjacent;
+            }
+            else {
+                neighbors[vertex] = Arrays.stream(adjacent).filter(n -> vertices[n] != null).toArray();
+            }
+        }
+
+        // occupancy
+        settlementVertices = new BitSet(BoardTopology.NUMBER_OF_VERTICES);
+        cityVertices = new BitSet(BoardTopology.NUMBER_OF_VERTICES);
+        roadEdges = new BitSet(BoardTopology.NUMBER_OF_EDGES);
+        vertexOwners = new long[BoardTopology.NUMBER_OF_VERTICES];
+        Arrays.fill(vertexOwners, NO_OWNER);
+
+        List<Settlement> settlements = board.getSettlements();
+        settlementSlots = new int[settlements.size()];
+        settlementOwners = new long[settlements.size()];
+        for (int i = 0; i < settlements.size(); i++) {
+            Settlement settlement = settlements.get(i);
+            int slot = slotOf(settlement.getCoordinate());
+            settlementSlots[i] = slot;
+            settlementOwners[i] = settlement.getUserId();
+            if (slot != NO_SLOT) {
+                settlementVertices.set(slot);
+                vertexOwners[slot] = settlement.getUserId();
+            }
+        }
+
+        List<City> cities = board.getCities();
+        citySlots = new int[cities.size()];
+        cityOwners = new long[cities.size()];
+        for (int i = 0; i < cities.size(); i++) {
+            City city = cities.get(i);
+            int slot = slotOf(city.getCoordinate());
+            citySlots[i] = slot;
+            cityOwners[i] = city.getUserId();
+            if (slot != NO_SLOT) {
+                cityVertices.set(slot);
+                vertexOwners[slot] = city.getUserId();
+            }
+        }
+
+        List<Road> roads = board.getRoads();
+        roadFirstSlots = new int[roads.size()];
+        roadSecondSlots = new int[roads.size()];
+        roadOwners = new long[roads.size()];
+        for (int i = 0; i < roads.size(); i++) {
+            Road road = roads.get(i);
+            roadFirstSlots[i] = slotOf(road.getCoordinate1());
+            roadSecondSlots[i] = slotOf(road.getCoordinate2());
+            roadOwners[i] = road.getUserId();
+
+            int edge = edgeBetween(roadFirstSlots[i], roadSecondSlots[i]);
+            if (edge != NO_SLOT) {
+                roadEdges.set(edge);
+            }
+        }
+    }
+
+    /**
+     * Creates the index for the current state of the board
+     *
+     * @param board the board
+     * @return the index
+     */
+    public static BoardIndex of(Board board) {
+        return new BoardIndex(board);
+    }
+
+    // -- topology --
+
+    public int getVertexCount() {
+        return BoardTopology.NUMBER_OF_VERTICES;
+    }
+
+    public int getEdgeCount() {
+        return BoardTopology.NUMBER_OF_EDGES;
+    }
+
+    /**
+     * Returns the board coordinate of the vertex
+     * <p>
+     * The returned coordinate is the instance held by the board,
+     * so it can be used for new buildings.
+     *
+     * @param vertex the vertex slot
+     * @return the coordinate or null if the vertex is not on the board
+     */
+    public Coordinate getCoordinate(int vertex) {
+        return vertices[vertex];
+    }
+
+    public boolean isOnBoard(int vertex) {
+        return vertices[vertex] != null;
+    }
+
+    /**
+     * Returns the vertex slot of the coordinate or NO_SLOT if the coordinate is not on the board
+     *
+     * @param coordinate the coordinate
+     * @return the vertex slot
+     */
+    public int slotOf(Coordinate coordinate) {
+        if (coordinate == null) {
+            return NO_SLOT;
+        }
+        int vertex = BoardTopology.getVertex(coordinate.getX(), coordinate.getY());
+        if (vertex == NO_SLOT || vertices[vertex] == null) {
+            return NO_SLOT;
+        }
+        return vertex;
+    }
+
+    public int[] getNeighbors(int vertex) {
+        return neighbors[vertex];
+    }
+
+    /**
+     * Returns the edge slot between two vertices or NO_SLOT if they are not neighbors
+     *
+     * @param vertex   the first vertex
+     * @param neighbor the second vertex
+     * @return the edge slot
+     */
+    public int edgeBetween(int vertex, int neighbor) {
+        return BoardTopology.edgeBetween(vertex, neighbor);
+    }
+
+    public int getTileCount() {
+        return tileVertices.length;
+    }
+
+    public int[] getTileVertices(int tile) {
+        return tileVertices[tile];
+    }
+
+    public boolean isRobberTile(int tile) {
+        return robberTiles[tile];
+    }
+
+    // -- occupancy --
+
+    public boolean hasBuilding(int vertex) {
+        return settlementVertices.get(vertex) || cityVertices.get(vertex);
+    }
+
+    public boolean hasRoad(int vertex, int neighbor) {
+        int edge = edgeBetween(vertex, neighbor);
+        return edge != NO_SLOT && roadEdges.get(edge);
+    }
+
+    /**
+     * Returns the owner of the building on the vertex
+     *
+     * @param vertex the vertex
+     * @return the userId of the owner or null if the vertex is free
+     */
+    public Long getBuildingOwner(int vertex) {
+        long owner = vertexOwners[vertex];
+        return owner == NO_OWNER ? null : owner;
+    }
+
+    /**
+     * Checks the distance rule: the vertex and all of its neighbors must be free
+     *
+     * @param vertex the vertex
+     * @return true if a settlement can be placed on the vertex
+     */
+    public boolean isValidBuildingVertex(int vertex) {
+        if (!isOnBoard(vertex) || hasBuilding(vertex)) {
+            return false;
+        }
+        for (int neighbor : neighbors[vertex]) {
+            if (hasBuilding(neighbor)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int countSettlements(Long userId) {
+        return count(settlementOwners, userId);
+    }
+
+    public int countCities(Long userId) {
+        return count(cityOwners, userId);
+    }
+
+    public int countRoads(Long userId) {
+        return count(roadOwners, userId);
+    }
+
+    /**
+     * Returns the vertices of the settlements of a player, in board order
+     *
+     * @param userId the owner
+     * @return the vertex slots
+     */
+    public int[] getSettlementVertices(Long userId) {
+        return filter(settlementSlots, settlementOwners, userId);
+    }
+
+    /**
+     * Returns the vertices of the cities of a player, in board order
+     *
+     * @param userId the owner
+     * @return the vertex slots
+     */
+    public int[] getCityVertices(Long userId) {
+        return filter(citySlots, cityOwners, userId);
+    }
+
+    /**
+     * Returns the open road end points of a player
+     * <p>
+     * A vertex is an end point if exactly one road of the player touches it
+     * and there is no building on it. The end points are returned in road order.
+     *
+     * @param userId the owner of the roads
+     * @return the vertex slots of the end points
+     */
+    public int[] getRoadEndPoints(Long userId) {
+
+        // count how many roads of the player touch each vertex
+        int[] touching = new int[BoardTopology.NUMBER_OF_VERTICES];
+        for (int i = 0; i < roadOwners.length; i++) {
+            if (roadOwners[i] == userId) {
+                increment(touching, roadFirstSlots[i]);
+                increment(touching, roadSecondSlots[i]);
+            }
+        }
+
+        int[] endPoints = new int[roadOwners.length * 2];
+        int found = 0;
+        for (int i = 0; i < roadOwners.length; i++) {
+            if (roadOwners[i] == userId) {
+                found = addEndPoint(endPoints, found, touching, roadFirstSlots[i]);
+                found = addEndPoint(endPoints, found, touching, roadSecondSlots[i]);
+            }
+        }
+        return Arrays.copyOf(endPoints, found);
+    }
+
+    // -- helper methods --
+
+    private int addEndPoint(int[] endPoints, int found, int[] touching, int vertex) {
+        if (vertex != NO_SLOT && touching[vertex] == 1 && !hasBuilding(vertex)) {
+            endPoints[found] = vertex;
+            return found + 1;
+        }
+        return found;
+    }
+
+    private static void increment(int[] touching, int vertex) {
+        if (vertex != NO_SLOT) {
+            touching[vertex]++;
+        }
+    }
+
+    private static int count(long[] owners, Long userId) {
+        int count = 0;
+        for (long owner : owners) {
+            if (owner == userId) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private static int[] filter(int[] slots, long[] owners, Long userId) {
+        int[] filtered = new int[slots.length];
+        int found = 0;
+        for (int i = 0; i < slots.length; i++) {
+            if (owners[i] == userId && slots[i] != NO_SLOT) {
+                filtered[found] = slots[i];
+                found++;
+            }
+        }
+        return Arrays.copyOf(filtered, found);
+    }
+}
@@ -0,0 +1,162 @@
+package ch.uzh.ifi.seal.soprafs20.service.move.calculator;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.PlentyMove;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * this helper class binds the parameters of a move descriptor
+ * <p>
+ * A descriptor is a move whose parameter is left open: a trade move without the needed type,
+ * a knight move without the tile, a monopoly or plenty move without the type. Instead of one
+ * move per option only the descriptor is calculated, the parameter is supplied when the move
+ * is requested and validated here. The descriptor itself is never changed, binding creates a
+ * new move with the id of the descriptor.
+ */
+public class MoveBinder {
+
+    private MoveBinder() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Checks if the parameter of the move is left open
+     *
+     * @param move the move
+     * @return true if the move is a descriptor
+     */
+    public static boolean isDescriptor(Move move) {
+        if (move instanceof TradeMove) {
+            return ((TradeMove) move).getNeededType() == null;
+        }
+        if (move instanceof KnightMove) {
+            return ((KnightMove) move).getTileId() == null;
+        }
+        if (move instanceof MonopolyMove) {
+            return ((MonopolyMove) move).getMonopolyType() == null;
+        }
+        if (move instanceof PlentyMove) {
+            return ((PlentyMove) move).getPlentyType() == null;
+        }
+        return false;
+    }
+
+    /**
+     * Binds the requested parameters to the move
+     * <p>
+     * Moves that are no descriptors are returned as they are, the parameters are ignored.
+     *
+     * @param game         the game of the move
+     * @param move         the move
+     * @param neededType   the resource type that is received in a trade
+     * @param monopolyType the resource type of a monopoly
+     * @param plentyType   the type of a plenty
+     * @param tileId       the tile the robber is placed on
+     * @return the move with its parameter, null if the parameter is missing or not valid
+     */
+    public static Move bind(Game game, Move move, ResourceType neededType, ResourceType monopolyType,
+                            PlentyType plentyType, Long tileId) {
+
+        if (!isDescriptor(move)) {
+            return move;
+        }
+
+        if (move instanceof TradeMove) {
+            TradeMove descriptor = (TradeMove) move;
+
+            // the needed type has to be another type than the offered one
+            if (neededType == null || neededType == descriptor.getOfferedType()) {
+                return null;
+            }
+            TradeMove tradeMove = copyOf(descriptor, new TradeMove());
+            tradeMove.setOfferedType(descriptor.getOfferedType());
+            tradeMove.setNeededType(neededType);
+            return tradeMove;
+        }
+        if (move instanceof KnightMove) {
+
+            // the robber can be placed on any tile of the board
+            if (!getTileIds(game).contains(tileId)) {
+                return null;
+            }
+            KnightMove knightMove = copyOf(move, new KnightMove());
+            knightMove.setTileId(tileId);
+            return knightMove;
+        }
+        if (move instanceof MonopolyMove) {
+            if (monopolyType == null) {
+                return null;
+            }
+            MonopolyMove monopolyMove = copyOf(move, new MonopolyMove());
+            monopolyMove.setMonopolyType(monopolyType);
+            return monopolyMove;
+        }
+
+        if (plentyType == null) {
+            return null;
+        }
+        PlentyMove plentyMove = copyOf(move, new PlentyMove());
+        plentyMove.setPlentyType(plentyType);
+        return plentyMove;
+    }
+
+    /**
+     * Binds randomly picked valid parameters to the move, is used by the bots
+     *
+     * @param game the game of the move
+     * @param move the move
+     * @return the move with its parameter
+     */
+    public static Move bindRandomly(Game game, Move move) {
+
+        if (!isDescriptor(move)) {
+            return move;
+        }
+
+        List<ResourceType> neededTypes = new ArrayList<>(List.of(ResourceType.values()));
+        if (move instanceof TradeMove) {
+            neededTypes.remove(((TradeMove) move).getOfferedType());
+        }
+        List<Long> tileIds = getTileIds(game);
+
+        return bind(game, move, pick(neededTypes), pick(List.of(ResourceType.values())),
+                pick(List.of(PlentyType.values())), tileIds.isEmpty() ? null : pick(tileIds));
+    }
+
+    // -- helper methods --
+
+    private static <T extends Move> T copyOf(Move descriptor, T move) {
+        move.setId(descriptor.getId());
+        move.setGameId(descriptor.getGameId());
+        move.setUserId(descriptor.getUserId());
+        return move;
+    }
+
+    private static List<Long> getTileIds(Game game) {
+        List<Long> tileIds = new ArrayList<>();
+        if (game.getBoard() == null) {
+            return tileIds;
+        }
+        for (Tile tile : game.getBoard().getTiles()) {
+            tileIds.add(tile.getId());
+        }
+        tileIds.removeIf(Objects::isNull);
+        return tileIds;
+    }
+
+    private static <T> T pick(List<T> options) {
+        return options.get(ThreadLocalRandom.current().nextInt(options.size()));
+    }
+}
@@ -5,17 +5,11 @@ import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.constant.PlayerConstants;
 import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
-import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
-import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
-import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
-import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
-import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
 import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
 import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
-import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.RoadProgressMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.StealMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
@@ -23,7 +17,6 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstRoadMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
 
 import java.util.ArrayList;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
@@ -96,13 +89,14 @@ public class MoveCalculator {
         // get current player
         Player player = game.getCurrentPlayer();
 
-        // get current board
-        Board board = game.getBoard();
+        // index the current board
+        BoardIndex index = BoardIndex.of(game.getBoard());
 
         // calculate all valid settlement building coordinates
-        for (Coordinate coordinate : board.getAllCoordinates()) {
-            if (MoveLandRegistry.isValidBuildingCoordinate(board, coordinate)) {
-                FirstSettlementMove settlementMove = MoveCreator.createFirstSettlementMove(game, player, coordinate);
+        for (int vertex = 0; vertex < index.getVertexCount(); vertex++) {
+            if (index.isValidBuildingVertex(vertex)) {
+                FirstSettlementMove settlementMove = MoveCreator.createFirstSettlementMove(game, player,
+                        index.getCoordinate(vertex));
                 possibleMoves.add(settlementMove);
             }
         }
@@ -135,9 +129,17 @@ public class MoveCalculator {
         // cast building
         Settlement settlement = (Settlement) move.getBuilding();
 
+        // index the current board
+        BoardIndex index = BoardIndex.of(game.getBoard());
+        int vertex = index.slotOf(settlement.getCoordinate());
+        if (vertex == BoardIndex.NO_SLOT) {
+            return possibleMoves;
+        }
+
         // calculate all valid building coordinates
-        for (Coordinate neighbour : settlement.getCoordinate().getNeighbors()) {
-            FirstRoadMove roadMove = MoveCreator.createFirstRoadMove(game, player, settlement.getCoordinate(), neighbour);
+        for (int neighbour : index.getNeighbors(vertex)) {
+            FirstRoadMove roadMove = MoveCreator.createFirstRoadMove(game, player, settlement.getCoordinate(),
+                    index.getCoordinate(neighbour));
             possibleMoves.add(roadMove);
         }
 
@@ -181,10 +183,13 @@ public class MoveCalculator {
         // create list for possible move(s)
         List<Move> moves = new ArrayList<>();
 
+        // index the board once for all build moves
+        BoardIndex index = BoardIndex.of(game.getBoard());
+
         //Add all the build moves
-        moves.addAll(calculateRoadMoves(game));
-        moves.addAll(calculateSettlementMoves(game));
-        moves.addAll(calculateCityMoves(game));
+        moves.addAll(calculateRoadMoves(game, index));
+        moves.addAll(calculateSettlementMoves(game, index));
+        moves.addAll(calculateCityMoves(game, index));
 
         //Add purchase of devCard moves
         moves.addAll(calculatePurchaseMoves(game));
@@ -209,6 +214,10 @@ public class MoveCalculator {
      * @return the list
      */
     public static List<BuildMove> calculateRoadMoves(Game game) {
+        return calculateRoadMoves(game, BoardIndex.of(game.getBoard()));
+    }
+
+    static List<BuildMove> calculateRoadMoves(Game game, BoardIndex index) {
 
         // create list for possible move(s)
         List<BuildMove> possibleMoves = new ArrayList<>();
@@ -221,20 +230,16 @@ public class MoveCalculator {
             return new ArrayList<>();
         }
 
-        // get current board
-        Board board = game.getBoard();
-
         // check if max road is reached
-        List<Road> roadsBuild = MoveLandRegistry.getRoadsOfPlayer(player, board);
-        if (roadsBuild.size() == PlayerConstants.MAX_NUMBER_ROADS) {
+        if (index.countRoads(player.getUserId()) == PlayerConstants.MAX_NUMBER_ROADS) {
             return new ArrayList<>();
         }
 
         // calculate all possible road building moves connecting to another road
-        MoveLandRegistry.calculateRoadBuildingMovesConnectingToRoad(game, possibleMoves, player, board);
+        MoveLandRegistry.calculateRoadBuildingMovesConnectingToRoad(game, possibleMoves, player, index);
 
         // calculate all possible road building moves connecting to settlement/city
-        MoveLandRegistry.calculateRoadBuildingMovesConnectingToBuilding(game, possibleMoves, player, board);
+        MoveLandRegistry.calculateRoadBuildingMovesConnectingToBuilding(game, possibleMoves, player, index);
 
         return possibleMoves;
     }
@@ -248,6 +253,10 @@ public class MoveCalculator {
      * @return the list
      */
     public static List<BuildMove> calculateSettlementMoves(Game game) {
+        return calculateSettlementMoves(game, BoardIndex.of(game.getBoard()));
+    }
+
+    static List<BuildMove> calculateSettlementMoves(Game game, BoardIndex index) {
 
         // create list for all possible moves
         List<BuildMove> possibleMoves = new ArrayList<>();
@@ -260,25 +269,17 @@ public class MoveCalculator {
             return new ArrayList<>();
         }
 
-        // get current board
-        Board board = game.getBoard();
-
         // check if max settlement is reached
-        List<Settlement> settlementsBuild = MoveLandRegistry.getSettlementsOfPlayer(player, board);
-        if (settlementsBuild.size() == PlayerConstants.MAX_NUMBER_SETTLEMENTS) {
+        if (index.countSettlements(player.getUserId()) == PlayerConstants.MAX_NUMBER_SETTLEMENTS) {
             return new ArrayList<>();
         }
 
         // get all roads end points from user (possible building coordinate)
-        List<Coordinate> roadEndPoints = MoveLandRegistry.getRoadEndPoints(player, board);
-
-        // get all valid building coordinates and create moves
-        if (!roadEndPoints.isEmpty()) {
-            for (Coordinate coordinate : roadEndPoints) {
-                if (MoveLandRegistry.isValidBuildingCoordinate(board, coordinate)) {
-                    BuildMove move = MoveCreator.createSettlementMove(game, player, coordinate);
-                    possibleMoves.add(move);
-                }
+        // and create moves for the valid building coordinates
+        for (int vertex : index.getRoadEndPoints(player.getUserId())) {
+            if (index.isValidBuildingVertex(vertex)) {
+                BuildMove move = MoveCreator.createSettlementMove(game, player, index.getCoordinate(vertex));
+                possibleMoves.add(move);
             }
         }
 
@@ -292,6 +293,10 @@ public class MoveCalculator {
      * @return the list
      */
     public static List<BuildMove> calculateCityMoves(Game game) {
+        return calculateCityMoves(game, BoardIndex.of(game.getBoard()));
+    }
+
+    static List<BuildMove> calculateCityMoves(Game game, BoardIndex index) {
 
         // create list for all possible moves
         List<BuildMove> possibleMoves = new ArrayList<>();
@@ -304,22 +309,15 @@ public class MoveCalculator {
             return new ArrayList<>();
         }
 
-        // get current board
-        Board board = game.getBoard();
-
         // check if max city is reached
-        List<City> citiesBuild = MoveLandRegistry.getCitiesOfPlayer(player, board);
-        if (citiesBuild.size() == PlayerConstants.MAX_NUMBER_CITIES) {
+        if (index.countCities(player.getUserId()) == PlayerConstants.MAX_NUMBER_CITIES) {
             return new ArrayList<>();
         }
 
         // calculate and add all possible moves
-        for (Settlement settlement : board.getSettlements()) {
-            if (settlement.getUserId().equals(player.getUserId())) {
-                Coordinate coordinate = settlement.getCoordinate();
-                BuildMove move = MoveCreator.createCityMove(game, player, coordinate);
-                possibleMoves.add(move);
-            }
+        for (int vertex : index.getSettlementVertices(player.getUserId())) {
+            BuildMove move = MoveCreator.createCityMove(game, player, index.getCoordinate(vertex));
+            possibleMoves.add(move);
         }
 
         return possibleMoves;
@@ -352,6 +350,8 @@ public class MoveCalculator {
 
     /**
      * Creates a list that holds the trade moves for the game
+     * <p>
+     * There is one trade move per offered type, the needed type is bound when the move is requested.
      *
      * @param game the game
      * @return the list
@@ -367,7 +367,7 @@ public class MoveCalculator {
         // check if player can afford resource trade
         for (ResourceType offeredType : ResourceType.values()) {
             if (MoveTeller.canAffordTrade(player, offeredType)) {
-                possibleMoves.addAll(MoveCreator.createTradeMove(game, player, offeredType));
+                possibleMoves.add(MoveCreator.createTradeMove(game, player, offeredType));
             }
         }
 
@@ -451,33 +451,23 @@ public class MoveCalculator {
     // -- development card moves --
 
     /**
-     * Creates a list that holds the knight moves for the game
+     * Creates a list that holds the knight move for the game
+     * <p>
+     * The robber can be placed on any tile, the tile is bound when the move is requested.
      *
      * @param game the game
      * @return the list
      */
     public static List<Move> calculateAllKnightMoves(Game game) {
 
-        List<KnightMove> knightMoves = new ArrayList<>();
+        List<Move> knightMoves = new ArrayList<>();
 
         // get player
         Player player = game.getCurrentPlayer();
 
-        // get current board
-        Board board = game.getBoard();
-
-        for (Tile tile : board.getTiles()) {
-
-            KnightMove move = new KnightMove();
-            move.setTileId(tile.getId());
-            move.setGameId(game.getId());
-            move.setUserId(player.getUserId());
-
-            knightMoves.add(move);
-        }
+        knightMoves.add(MoveCreator.createKnightMove(game, player));
 
-        // return all possible robber placement moves
-        return new ArrayList<>(knightMoves);
+        return knightMoves;
     }
 
     /**
@@ -490,16 +480,11 @@ public class MoveCalculator {
 
         List<StealMove> possibleMoves = new ArrayList<>();
 
-        // get all buildings adjacent to tile with robber
-        List<Building> buildings = MoveLandRegistry.getBuildingsFromTileWithRobber(game);
-
-        Set<Long> playerIds = new HashSet<>();
+        // get all owners of buildings adjacent to tile with robber
+        Set<Long> playerIds = MoveLandRegistry.getOwnersAtTileWithRobber(BoardIndex.of(game.getBoard()));
 
-        for (Building building : buildings) {
-            if (!building.getUserId().equals(game.getCurrentPlayer().getUserId())) {
-                playerIds.add(building.getUserId());
-            }
-        }
+        // the current player can not steal from themselves
+        playerIds.remove(game.getCurrentPlayer().getUserId());
 
         for (Long playerId : playerIds) {
             StealMove move = MoveCreator.createStealMove(game, playerId);
@@ -510,7 +495,9 @@ public class MoveCalculator {
     }
 
     /**
-     * Creates a list that holds the monopoly moves for the game
+     * Creates a list that holds the monopoly move for the game
+     * <p>
+     * The resource type is bound when the move is requested.
      *
      * @param game the game
      * @return the list
@@ -520,13 +507,16 @@ public class MoveCalculator {
         // get current player
         Player player = game.getCurrentPlayer();
 
-        // create & return moves for every resourceType
-        return new ArrayList<>(MoveCreator.createMonopolyMove(game, player));
+        List<Move> monopolyMoves = new ArrayList<>();
+        monopolyMoves.add(MoveCreator.createMonopolyMove(game, player));
 
+        return monopolyMoves;
     }
 
     /**
-     * Creates a list that holds the plenty moves for the game
+     * Creates a list that holds the plenty move for the game
+     * <p>
+     * The plenty type is bound when the move is requested.
      *
      * @param game the game
      * @return the list
@@ -536,8 +526,10 @@ public class MoveCalculator {
         // get current player
         Player player = game.getCurrentPlayer();
 
-        // create & return moves for possible requested resourceType(s)
-        return new ArrayList<>(MoveCreator.createPlentyMove(game, player));
+        List<Move> plentyMoves = new ArrayList<>();
+        plentyMoves.add(MoveCreator.createPlentyMove(game, player));
+
+        return plentyMoves;
     }
 
     /**
@@ -557,22 +549,21 @@ public class MoveCalculator {
         // get current player
         Player player = game.getCurrentPlayer();
 
-        // get current board
-        Board board = game.getBoard();
+        // index the current board
+        BoardIndex index = BoardIndex.of(game.getBoard());
 
         // check if max road is reached
-        List<Road> roadsBuild = MoveLandRegistry.getRoadsOfPlayer(player, board);
-        if (roadsBuild.size() == PlayerConstants.MAX_NUMBER_ROADS) {
+        if (index.countRoads(player.getUserId()) == PlayerConstants.MAX_NUMBER_ROADS) {
             return new ArrayList<>();
         }
 
         // - calculate all possible road building moves connecting to another road -
         MoveLandRegistry.calculateRoadProgressMovesConnectingToRoad(game, previousRoadProgressMoves,
-                possibleMoves, player, board);
+                possibleMoves, player, index);
 
         // - calculate all possible road building moves connecting to settlement/city -
         MoveLandRegistry.calculateRoadProgressMovesConnectingToBuilding(game, possibleMoves,
-                player, board, previousRoadProgressMoves);
+                player, index, previousRoadProgressMoves);
 
         return new ArrayList<>(possibleMoves);
     }
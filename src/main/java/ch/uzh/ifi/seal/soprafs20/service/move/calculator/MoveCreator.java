@@ -1,7 +1,6 @@
 package ch.uzh.ifi.seal.soprafs20.service.move.calculator;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
-import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
 import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
@@ -11,6 +10,7 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
 import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
 import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.PlentyMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.RoadProgressMove;
@@ -19,12 +19,11 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstRoadMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
 
-import java.util.ArrayList;
-import java.util.List;
-
 /**
  * this helper class creates individual moves and the entities (e.g. road) that come with it
  * it always assigns a gameId and playerId to the newly created move
+ * <p>
+ * trade, knight, monopoly and plenty moves are created as descriptors, see MoveBinder
  */
 public class MoveCreator {
 
@@ -115,25 +114,15 @@ public class MoveCreator {
         return move;
     }
 
-    static List<TradeMove> createTradeMove(Game game, Player player, ResourceType offeredType) {
-
-        List<TradeMove> tradeMoves = new ArrayList<>();
-
-        // create a move for every possible needed Type
-        for (ResourceType type : ResourceType.values()) {
-            if (type != offeredType) {
-                TradeMove move = new TradeMove();
-                move.setNeededType(type);
-                move.setOfferedType(offeredType);
-                move.setGameId(game.getId());
-                move.setUserId(player.getUserId());
+    static TradeMove createTradeMove(Game game, Player player, ResourceType offeredType) {
 
-                tradeMoves.add(move);
-            }
-        }
+        // the needed type is left open, it is bound when the move is requested
+        TradeMove move = new TradeMove();
+        move.setOfferedType(offeredType);
+        move.setGameId(game.getId());
+        move.setUserId(player.getUserId());
 
-        // return list of tradeMoves
-        return tradeMoves;
+        return move;
     }
 
     static PurchaseMove createPurchaseMove(Game game, Player player) {
@@ -192,41 +181,34 @@ public class MoveCreator {
         return move;
     }
 
-    static List<MonopolyMove> createMonopolyMove(Game game, Player player) {
+    static KnightMove createKnightMove(Game game, Player player) {
 
-        List<MonopolyMove> monopolyMoves = new ArrayList<>();
+        // the tile is left open, it is bound when the move is requested
+        KnightMove move = new KnightMove();
+        move.setGameId(game.getId());
+        move.setUserId(player.getUserId());
 
-        // create a move for every resource type
-        for (ResourceType type : ResourceType.values()) {
-            MonopolyMove move = new MonopolyMove();
+        return move;
+    }
 
-            move.setMonopolyType(type);
-            move.setGameId(game.getId());
-            move.setUserId(player.getUserId());
+    static MonopolyMove createMonopolyMove(Game game, Player player) {
 
-            monopolyMoves.add(move);
-        }
+        // the resource type is left open, it is bound when the move is requested
+        MonopolyMove move = new MonopolyMove();
+        move.setGameId(game.getId());
+        move.setUserId(player.getUserId());
 
-        // return list of monopolyMoves
-        return monopolyMoves;
+        return move;
     }
 
-    static List<PlentyMove> createPlentyMove(Game game, Player player) {
-
-        List<PlentyMove> plentyMoves = new ArrayList<>();
+    static PlentyMove createPlentyMove(Game game, Player player) {
 
-        // create the and add the three different plenty move types
-        for (PlentyType type : PlentyType.values()) {
-            PlentyMove move = new PlentyMove();
-            move.setGameId(game.getId());
-            move.setUserId(player.getUserId());
-            move.setPlentyType(type);
-
-            plentyMoves.add(move);
-        }
+        // the plenty type is left open, it is bound when the move is requested
+        PlentyMove move = new PlentyMove();
+        move.setGameId(game.getId());
+        move.setUserId(player.getUserId());
 
-        // return list of plentyMoves
-        return plentyMoves;
+        return move;
     }
 
     static StealMove createStealMove(Game game, Long playerId) {
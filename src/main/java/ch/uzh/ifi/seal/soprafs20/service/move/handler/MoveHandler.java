@@ -5,22 +5,31 @@ import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 
 import java.util.List;
 
+/**
+ * Performs one kind of move.
+ * <p>
+ * A handler holds no state, one instance is shared by all games and threads, see MoveHandlerRegistry.
+ * What the handler decides while performing the move is returned in the MoveResult.
+ */
 public interface MoveHandler {
 
     /**
      * Calls the correct method from the MoveService according to the Move subclass it belongs to.
      *
-     * @param move        the move
+     * @param context     the move and the game it is performed in
      * @param moveService the service
+     * @return the result of the move
      */
-    void perform(Move move, MoveService moveService);
+    MoveResult perform(MoveContext context, MoveService moveService);
 
-    default List<Move> calculateNextMoves(Game game, Move move) {
+    default List<Move> calculateNextMoves(Game game, MoveResult result) {
         return MoveCalculator.calculateAllStandardMoves(game);
     }
 
@@ -28,7 +37,7 @@ public interface MoveHandler {
         return DTOMapper.INSTANCE.convertMoveToMoveDTO(move);
     }
 
-    default MoveHistory getHistory() {
+    default MoveHistory getHistory(MoveResult result) {
         return new MoveHistory();
     }
 }
@@ -0,0 +1,62 @@
+package ch.uzh.ifi.seal.soprafs20.service.move.handler;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstRoadMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.development.*;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.initial.FirstPassMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.initial.FirstRoadMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.initial.FirstSettlementMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.*;
+
+import java.util.Map;
+
+/**
+ * Holds one handler per kind of move.
+ * <p>
+ * The handlers hold no state, what they decide while performing a move is returned
+ * in the MoveResult. So a single instance per kind of move is shared by all games
+ * and threads.
+ */
+public class MoveHandlerRegistry {
+
+    private static final Map<Class<? extends Move>, MoveHandler> HANDLERS = Map.ofEntries(
+            Map.entry(StartMove.class, new StartMoveHandler()),
+            Map.entry(FirstSettlementMove.class, new FirstSettlementMoveHandler()),
+            Map.entry(FirstRoadMove.class, new FirstRoadMoveHandler()),
+            Map.entry(FirstPassMove.class, new FirstPassMoveHandler()),
+            Map.entry(DiceMove.class, new DiceMoveHandler()),
+            Map.entry(BuildMove.class, new BuildMoveHandler()),
+            Map.entry(TradeMove.class, new TradeMoveHandler()),
+            Map.entry(PurchaseMove.class, new PurchaseMoveHandler()),
+            Map.entry(CardMove.class, new CardMoveHandler()),
+            Map.entry(PassMove.class, new PassMoveHandler()),
+            Map.entry(KnightMove.class, new KnightMoveHandler()),
+            Map.entry(StealMove.class, new StealMoveHandler()),
+            Map.entry(MonopolyMove.class, new MonopolyMoveHandler()),
+            Map.entry(PlentyMove.class, new PlentyMoveHandler()),
+            Map.entry(RoadProgressMove.class, new RoadProgressMoveHandler()));
+
+    private MoveHandlerRegistry() {
+        throw new IllegalStateException(ErrorMsg.INIT_MSG);
+    }
+
+    /**
+     * Returns the handler of the kind of move
+     *
+     * @param moveType the class of the move
+     * @return the handler
+     * @throws IllegalStateException if there is no handler for the kind of move
+     */
+    public static MoveHandler getHandler(Class<? extends Move> moveType) {
+
+        MoveHandler handler = HANDLERS.get(moveType);
+        if (handler == null) {
+            throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
+        }
+        return handler;
+    }
+}
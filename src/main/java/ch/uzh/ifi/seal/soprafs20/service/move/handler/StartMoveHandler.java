@@ -4,6 +4,8 @@ import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.StartMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 
@@ -14,11 +16,14 @@ public class StartMoveHandler implements MoveHandler {
     /**
      * Calls the correct method from the MoveService according to the Move subclass it belongs to.
      *
-     * @param move        the move
+     * @param context     the move and the game it is performed in
      * @param moveService the service
+     * @return the result of the move
      */
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != StartMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -28,11 +33,13 @@ public class StartMoveHandler implements MoveHandler {
         StartMove startMove = (StartMove) move;
 
         // pass back to moveService
-        moveService.performStartMove(startMove);
+        moveService.performStartMove(startMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
         return MoveCalculator.calculateFirstSettlementMoves(game);
     }
 }
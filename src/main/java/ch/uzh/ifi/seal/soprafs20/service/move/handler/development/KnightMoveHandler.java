@@ -6,6 +6,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -15,7 +17,9 @@ import java.util.List;
 public class KnightMoveHandler implements MoveHandler {
 
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != KnightMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -25,11 +29,13 @@ public class KnightMoveHandler implements MoveHandler {
         KnightMove knightMove = (KnightMove) move;
 
         // pass back to moveService
-        moveService.performKnightMove(knightMove);
+        moveService.performKnightMove(knightMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
 
         List<Move> possibleStealMoves = MoveCalculator.calculateAllStealMoves(game);
         if (!possibleStealMoves.isEmpty()) {
@@ -5,6 +5,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 
@@ -14,7 +16,9 @@ import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 public class MonopolyMoveHandler implements MoveHandler {
 
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != MonopolyMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -24,7 +28,9 @@ public class MonopolyMoveHandler implements MoveHandler {
         MonopolyMove monopolyMove = (MonopolyMove) move;
 
         // send back to moveService
-        moveService.performMonopolyMove(monopolyMove);
+        moveService.performMonopolyMove(monopolyMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
@@ -8,6 +8,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.development.RoadProgressMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -18,7 +20,9 @@ public class RoadProgressMoveHandler implements MoveHandler {
 
 
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != RoadProgressMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -28,11 +32,15 @@ public class RoadProgressMoveHandler implements MoveHandler {
         BuildMove buildMove = (BuildMove) move;
 
         // pass back to moveService
-        moveService.performRoadProgressMove(buildMove);
+        moveService.performRoadProgressMove(buildMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
+
+        Move move = result.getMove();
 
         int previousRoadProgressMoves = ((RoadProgressMove) move).getPreviousRoadProgressMoves();
 
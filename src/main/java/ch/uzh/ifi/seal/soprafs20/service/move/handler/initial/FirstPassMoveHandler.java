@@ -4,6 +4,8 @@ import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -13,32 +15,35 @@ import java.util.concurrent.ThreadLocalRandom;
 
 public class FirstPassMoveHandler implements MoveHandler {
 
-    private boolean exitLoop = false;
-
     /**
      * Calls the correct method from the MoveService according to the Move subclass it belongs to.
      *
-     * @param move        the move
+     * @param context     the move and the game it is performed in
      * @param moveService the service
+     * @return the result of the move
      */
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != FirstPassMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
         }
 
         FirstPassMove firstPassMove = (FirstPassMove) move;
-        moveService.performFirstPassMove(firstPassMove);
+        moveService.performFirstPassMove(firstPassMove, context);
 
         //Calculate if the first part is over
-        exitLoop = moveService.canExitFirstPart(firstPassMove.getGameId());
+        MoveResult result = new MoveResult(move);
+        result.setFirstPartOver(moveService.canExitFirstPart(context.getGame()));
+        return result;
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
 
-        if (exitLoop) {
+        if (result.isFirstPartOver()) {
 
             //Shuffle queue for random next (first) player
             selectRandomFirstPlayer(game);
@@ -7,6 +7,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstRoadMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -16,7 +18,9 @@ import java.util.List;
 public class FirstRoadMoveHandler implements MoveHandler {
 
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != FirstRoadMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -26,12 +30,13 @@ public class FirstRoadMoveHandler implements MoveHandler {
         FirstRoadMove firstRoadMove = (FirstRoadMove) move;
 
         // pass back to moveService
-        moveService.performFirstRoadMove(firstRoadMove);
+        moveService.performFirstRoadMove(firstRoadMove, context);
 
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
         return MoveCalculator.calculateFirstPassMove(game);
     }
 
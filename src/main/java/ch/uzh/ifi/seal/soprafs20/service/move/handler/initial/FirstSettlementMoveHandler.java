@@ -7,6 +7,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -17,11 +19,14 @@ public class FirstSettlementMoveHandler implements MoveHandler {
     /**
      * Calls the correct method from the MoveService according to the Move subclass it belongs to.
      *
-     * @param move        the move
+     * @param context     the move and the game it is performed in
      * @param moveService the service
+     * @return the result of the move
      */
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != FirstSettlementMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -31,13 +36,15 @@ public class FirstSettlementMoveHandler implements MoveHandler {
         FirstSettlementMove firstSettlementMove = (FirstSettlementMove) move;
 
         //pass back to the move service
-        moveService.performFirstSettlementMove(firstSettlementMove);
+        moveService.performFirstSettlementMove(firstSettlementMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
 
-        return MoveCalculator.calculateFirstRoadMoves(game, (FirstSettlementMove) move);
+        return MoveCalculator.calculateFirstRoadMoves(game, (FirstSettlementMove) result.getMove());
     }
 
     @Override
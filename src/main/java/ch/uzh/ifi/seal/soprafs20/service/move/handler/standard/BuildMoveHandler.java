@@ -1,6 +1,5 @@
 package ch.uzh.ifi.seal.soprafs20.service.move.handler.standard;
 
-import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
 import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.entity.history.BuildMoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
@@ -8,6 +7,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.BuildMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MoveDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.mapper.DTOMapper;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 
@@ -16,10 +17,10 @@ import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
  */
 public class BuildMoveHandler implements MoveHandler {
 
-    private BuildingType buildingType;
-
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != BuildMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -28,11 +29,10 @@ public class BuildMoveHandler implements MoveHandler {
         //Cast move
         BuildMove buildMove = (BuildMove) move;
 
-        //set buildingType
-        buildingType = buildMove.getBuilding().getType();
-
         //Pass back to the moveService
-        moveService.performBuildMove(buildMove);
+        moveService.performBuildMove(buildMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
@@ -46,9 +46,9 @@ public class BuildMoveHandler implements MoveHandler {
     }
 
     @Override
-    public MoveHistory getHistory() {
+    public MoveHistory getHistory(MoveResult result) {
         BuildMoveHistory history = new BuildMoveHistory();
-        history.setBuildingType(buildingType);
+        history.setBuildingType(((BuildMove) result.getMove()).getBuilding().getType());
         return history;
     }
 }
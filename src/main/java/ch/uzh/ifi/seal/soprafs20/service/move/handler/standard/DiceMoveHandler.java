@@ -6,6 +6,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.history.DiceMoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.DiceMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -18,33 +20,33 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class DiceMoveHandler implements MoveHandler {
 
-    private boolean robberRoutine = false;
-    private int diceRoll;
-
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != DiceMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
         }
 
-        diceRoll = getDiceRoll();
-
-        if (diceRoll == 7) {
-            robberRoutine = true;
-        }
+        int diceRoll = getDiceRoll();
 
         // cast move
         DiceMove diceMove = (DiceMove) move;
 
         // pass back to the moveService
-        moveService.performDiceMove(diceMove, diceRoll);
+        moveService.performDiceMove(diceMove, diceRoll, context);
+
+        MoveResult result = new MoveResult(move);
+        result.setDiceRoll(diceRoll);
+        return result;
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
 
-        if (robberRoutine) {
+        // a seven starts the robber routine
+        if (result.getDiceRoll() == 7) {
             return MoveCalculator.calculateAllKnightMoves(game);
         }
         else {
@@ -53,9 +55,9 @@ public class DiceMoveHandler implements MoveHandler {
     }
 
     @Override
-    public MoveHistory getHistory() {
+    public MoveHistory getHistory(MoveResult result) {
         DiceMoveHistory history = new DiceMoveHistory();
-        history.setRoll(this.diceRoll);
+        history.setRoll(result.getDiceRoll());
         return history;
     }
 
@@ -4,6 +4,8 @@ import ch.uzh.ifi.seal.soprafs20.constant.ErrorMsg;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.PurchaseMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveCalculator;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
@@ -16,7 +18,9 @@ import java.util.List;
 public class PurchaseMoveHandler implements MoveHandler {
 
     @Override
-    public void perform(Move move, MoveService moveService) {
+    public MoveResult perform(MoveContext context, MoveService moveService) {
+
+        Move move = context.getMove();
 
         if (move.getClass() != PurchaseMove.class) {
             throw new IllegalStateException(ErrorMsg.WRONG_HANDLER_SETUP);
@@ -26,11 +30,15 @@ public class PurchaseMoveHandler implements MoveHandler {
         PurchaseMove purchaseMove = (PurchaseMove) move;
 
         //Pass back to the moveService
-        moveService.performPurchaseMove(purchaseMove);
+        moveService.performPurchaseMove(purchaseMove, context);
+
+        return new MoveResult(move);
     }
 
     @Override
-    public List<Move> calculateNextMoves(Game game, Move move) {
+    public List<Move> calculateNextMoves(Game game, MoveResult result) {
+
+        Move move = result.getMove();
 
         // it's not allowed to invoke a development card in the same move it got purchased
         return MoveCalculator.calculatePurchaseAndPassMoves(game);
@@ -3,22 +3,32 @@ package ch.uzh.ifi.seal.soprafs20.controller;
 
 import ch.uzh.ifi.seal.soprafs20.constant.DevelopmentType;
 import ch.uzh.ifi.seal.soprafs20.constant.GameConstants;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
 import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
+import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.BuildMove;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
 import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.game.GamePostDTO;
 import ch.uzh.ifi.seal.soprafs20.rest.dto.move.MovePutDTO;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.HistoryService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventService;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameLaneExecutor;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameStateVersions;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -29,11 +39,13 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.function.Supplier;
 
 import static org.hamcrest.Matchers.*;
 import static org.mockito.BDDMockito.given;
@@ -62,6 +74,21 @@ class GameControllerTest {
     @MockBean
     private HistoryService historyService;
 
+    @MockBean
+    private GameLaneExecutor gameLaneExecutor;
+
+    @MockBean
+    private GameStateVersions gameStateVersions;
+
+    @MockBean
+    private GameEventService gameEventService;
+
+    @BeforeEach
+    void setup() {
+        //the lane executes the work directly
+        given(gameLaneExecutor.execute(Mockito.any(), Mockito.any()))
+                .willAnswer(invocation -> ((Supplier<?>) invocation.getArgument(1)).get());
+    }
 
     /**
      * Tests GET /games when games is empty
@@ -71,10 +98,10 @@ class GameControllerTest {
     @Test
     void testGetGames_noGamesAvailable() throws Exception {
         // given
-        List<Game> allGames = new ArrayList<>();
+        List<GameListing> allGames = new ArrayList<>();
 
         // this mocks the GameService
-        given(gameService.getGames()).willReturn(allGames);
+        given(gameService.getLobby(null, false, 0, null)).willReturn(allGames);
 
         //This mocks the UserService for the token
         String testToken = "ThisIsTheUserToken";
@@ -102,12 +129,11 @@ class GameControllerTest {
     @Test
     void testGetGames_gamesAvailable() throws Exception {
         // given
-        Game game = new Game();
-        game.setId(1L);
-        List<Game> allGames = Collections.singletonList(game);
+        GameListing game = new GameListing(1L, "TestGame", 2, 1, false, false);
+        List<GameListing> allGames = Collections.singletonList(game);
 
         // this mocks the GameService
-        given(gameService.getGames()).willReturn(allGames);
+        given(gameService.getLobby(null, false, 0, null)).willReturn(allGames);
 
         //This mocks the UserService for the token
         String testToken = "ThisIsTheUserToken";
@@ -128,6 +154,41 @@ class GameControllerTest {
                 .andExpect(jsonPath("$[0].url", is("/games/1")));
     }
 
+    /**
+     * Tests GET /games with the lobby filters and a page
+     *
+     * @throws Exception the perform method can throw exceptions
+     */
+    @Test
+    void testGetGames_openGamesPage() throws Exception {
+        // given
+        GameListing game = new GameListing(2L, "OpenGame", 2, 3, true, false);
+
+        // this mocks the GameService
+        given(gameService.getLobby(false, true, 1, 5)).willReturn(Collections.singletonList(game));
+
+        //This mocks the UserService for the token
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games?started=false&open=true&page=1&size=5")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(1)))
+                .andExpect(jsonPath("$[0].gameId", is(2)))
+                .andExpect(jsonPath("$[0].name", is("OpenGame")))
+                .andExpect(jsonPath("$[0].joinedPlayers", is(3)))
+                .andExpect(jsonPath("$[0].withBots", is(true)))
+                .andExpect(jsonPath("$[0].url", is("/games/2")));
+    }
+
     /**
      * Tests GET /games when the token is incorrect.
      *
@@ -136,12 +197,11 @@ class GameControllerTest {
     @Test
     void testGetGames_tokenIncorrect() throws Exception {
         // given
-        Game game = new Game();
-        game.setId(1L);
-        List<Game> allGames = Collections.singletonList(game);
+        GameListing game = new GameListing(1L, "TestGame", 2, 1, false, false);
+        List<GameListing> allGames = Collections.singletonList(game);
 
         // this mocks the GameService
-        given(gameService.getGames()).willReturn(allGames);
+        given(gameService.getLobby(null, false, 0, null)).willReturn(allGames);
 
         //This mocks the UserService for the token
         String testToken = "ThisIsTheUserToken";
@@ -374,6 +434,341 @@ class GameControllerTest {
                 .andExpect(jsonPath("$.withBots", is(game.isWithBots())));
     }
 
+    /**
+     * Tests the GET /games/gameId endpoint.
+     * Returns the state version as ETag
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameById_tokenValid_gameExists_returnsETag() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+
+        Game game = new Game();
+        game.setId(1L);
+        game.setName("GameName");
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(gameStateVersions.getETag(1L)).willReturn("\"epoch-2\"");
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1")
+                .header("Token", testToken)
+                .header("If-None-Match", "\"epoch-1\"")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"epoch-2\""))
+                .andExpect(jsonPath("$.name", is(game.getName())));
+    }
+
+    /**
+     * Tests the GET /games/gameId endpoint.
+     * The client has seen the current state, the game is not loaded
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameById_tokenValid_notModified() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setId(2L);
+        user.setToken(testToken);
+
+        given(gameStateVersions.getETag(1L)).willReturn("\"epoch-2\"");
+        given(gameService.isRegisteredPlayerOfGame(2L, 1L)).willReturn(true);
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1")
+                .header("Token", testToken)
+                .header("If-None-Match", "\"epoch-2\"")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", "\"epoch-2\""))
+                .andExpect(content().string(""));
+
+        Mockito.verify(gameService, Mockito.never()).findGame(Mockito.any());
+        Mockito.verify(gameService, Mockito.never()).findGameSummary(Mockito.any());
+    }
+
+    /**
+     * Tests the GET /games/gameId endpoint.
+     * The client replays an ETag for a game that does not exist, 404 is returned instead of 304
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameById_tokenValid_unknownGame_notModifiedIgnored() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setId(2L);
+        user.setToken(testToken);
+
+        // this mocks the GameService, no game with the id
+        given(gameService.findGame(Mockito.any())).willReturn(null);
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/99")
+                .header("Token", testToken)
+                .header("If-None-Match", "*")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isNotFound())
+                .andExpect(header().doesNotExist("ETag"));
+    }
+
+    /**
+     * Tests the GET /games/gameId endpoint.
+     * A user that is not a player sends the current ETag, 403 is returned instead of 304
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameById_tokenValid_notPlayer_notModifiedIgnored() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setId(2L);
+        user.setToken(testToken);
+
+        Game game = new Game();
+        game.setId(1L);
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(false);
+        given(gameService.isRegisteredPlayerOfGame(2L, 1L)).willReturn(false);
+        given(gameStateVersions.getETag(1L)).willReturn("\"epoch-2\"");
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1")
+                .header("Token", testToken)
+                .header("If-None-Match", "\"epoch-2\"")
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isForbidden());
+    }
+
+    /**
+     * Tests the GET /games/gameId endpoint with a known version.
+     * Only the changes since the version are returned
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameById_tokenValid_sinceVersion_returnsDelta() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setId(1L);
+        user.setToken(testToken);
+
+        Player player = new Player();
+        player.setUserId(1L);
+        player.setUsername("Player");
+
+        Road oldRoad = new Road();
+        oldRoad.setUserId(1L);
+        oldRoad.setGameVersion(3L);
+
+        Road newRoad = new Road();
+        newRoad.setUserId(1L);
+        newRoad.setGameVersion(5L);
+
+        Board board = new Board();
+        board.addRoad(oldRoad);
+        board.addRoad(newRoad);
+
+        Game game = new Game();
+        game.setId(1L);
+        game.setName("GameName");
+        game.setVersion(5L);
+        game.setBoard(board);
+        game.addPlayer(player);
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(playerService.findPlayerByUserId(1L)).willReturn(player);
+        given(historyService.findMoveHistorySince(1L, 4L)).willReturn(new ArrayList<>());
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1")
+                .param("since", "4")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.dtoType", is("GameDeltaDTO")))
+                .andExpect(jsonPath("$.since", is(4)))
+                .andExpect(jsonPath("$.version", is(5)))
+                .andExpect(jsonPath("$.roads", hasSize(1)))
+                .andExpect(jsonPath("$.board").doesNotExist());
+    }
+
+    /**
+     * Tests the GET /games/gameId/history endpoint.
+     * Returns a page of the history and the cursor of the next page
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameHistory_tokenValid_userPermitted() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+
+        Game game = new Game();
+        game.setId(1L);
+
+        List<MoveHistory> moves = new ArrayList<>();
+        for (long sequence = 3; sequence <= 5; sequence++) {
+            MoveHistory moveHistory = new MoveHistory();
+            moveHistory.setSequence(sequence);
+            moveHistory.setMoveName("PassMove");
+            moves.add(moveHistory);
+        }
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(historyService.findMoveHistoryPage(1L, 2L, 3)).willReturn(moves);
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1/history")
+                .param("after", "2")
+                .param("limit", "2")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moves", hasSize(2)))
+                .andExpect(jsonPath("$.moves[0].sequence", is(3)))
+                .andExpect(jsonPath("$.next", is(4)))
+                .andExpect(jsonPath("$.hasMore", is(true)));
+    }
+
+    /**
+     * Tests the GET /games/gameId/events endpoint.
+     * The player is subscribed to the events of the game
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameEvents_tokenValid_userPermitted() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setId(2L);
+        user.setToken(testToken);
+
+        Game game = new Game();
+        game.setId(1L);
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(gameStateVersions.getETag(1L)).willReturn("\"epoch-2\"");
+        given(gameEventService.subscribe(Mockito.eq(1L), Mockito.eq(2L), Mockito.any())).willReturn(new SseEmitter());
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1/events")
+                .header("Token", testToken)
+                .accept(MediaType.TEXT_EVENT_STREAM);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(request().asyncStarted());
+
+        Mockito.verify(gameEventService, Mockito.times(1)).subscribe(Mockito.eq(1L), Mockito.eq(2L), Mockito.any());
+        Mockito.verify(gameStateVersions).register(1L);
+    }
+
+    /**
+     * Tests the GET /games/gameId/events endpoint.
+     * Assumes user is not allowed to access game
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetGameEvents_tokenValid_userForbidden() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+
+        Game game = new Game();
+        game.setId(1L);
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(false);
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder getRequest = get("/games/1/events")
+                .header("Token", testToken)
+                .accept(MediaType.TEXT_EVENT_STREAM);
+
+        // then
+        mockMvc.perform(getRequest)
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(gameEventService, Mockito.never()).subscribe(Mockito.any(), Mockito.any(), Mockito.any());
+    }
+
     /**
      * Tests the GET /games/gameId endpoint.
      * Assumes user is not allowed to access game
@@ -682,6 +1077,155 @@ class GameControllerTest {
                 .andExpect(status().isAccepted());
     }
 
+    /**
+     * Tests the PUT /games/gameId endpoint.
+     * Assumes the move leaves the needed type open and the client supplies it
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPutGameById_tradeMoveDescriptor_neededTypeBound() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+        user.setId(12L);
+
+        TradeMove move = new TradeMove();
+        move.setId(123L);
+        move.setGameId(1L);
+        move.setUserId(12L);
+        move.setOfferedType(ResourceType.BRICK);
+
+        MovePutDTO putDTO = new MovePutDTO();
+        putDTO.setMoveId(123L);
+        putDTO.setNeededType(ResourceType.ORE);
+
+        Game game = new Game();
+        game.setId(1L);
+        game.setName("GameName");
+
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(moveService.findMoveById(Mockito.any())).willReturn(move);
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder putRequest = put("/games/1")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(putDTO));
+
+        // then
+        mockMvc.perform(putRequest)
+                .andExpect(status().isAccepted());
+
+        Mockito.verify(moveService).performMove(Mockito.argThat(performed ->
+                performed instanceof TradeMove
+                        && ((TradeMove) performed).getNeededType() == ResourceType.ORE
+                        && ((TradeMove) performed).getOfferedType() == ResourceType.BRICK
+                        && performed.getId().equals(123L)));
+    }
+
+    /**
+     * Tests the PUT /games/gameId endpoint.
+     * Assumes the move leaves the needed type open and the client does not supply it
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPutGameById_tradeMoveDescriptor_neededTypeMissing() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+        user.setId(12L);
+
+        TradeMove move = new TradeMove();
+        move.setId(123L);
+        move.setGameId(1L);
+        move.setUserId(12L);
+        move.setOfferedType(ResourceType.BRICK);
+
+        MovePutDTO putDTO = new MovePutDTO();
+        putDTO.setMoveId(123L);
+
+        Game game = new Game();
+        game.setId(1L);
+        game.setName("GameName");
+
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+        given(moveService.findMoveById(Mockito.any())).willReturn(move);
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder putRequest = put("/games/1")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(putDTO));
+
+        // then
+        mockMvc.perform(putRequest)
+                .andExpect(status().isForbidden());
+
+        Mockito.verify(moveService, Mockito.never()).performMove(Mockito.any());
+    }
+
+    /**
+     * Tests the PUT /games/gameId endpoint.
+     * Assumes the client requests an outdated version of the game
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testPutGameById_tokenValid_gameExists_versionOutdated() throws Exception {
+
+        // given
+        String testToken = "ThisIsTheUserToken";
+        User user = new User();
+        user.setToken(testToken);
+        user.setId(12L);
+
+        Move move = new BuildMove();
+        move.setId(123L);
+        move.setGameId(1L);
+        move.setUserId(12L);
+
+        MovePutDTO putDTO = new MovePutDTO();
+        putDTO.setMoveId(123L);
+        putDTO.setVersion(4L);
+
+        Game game = new Game();
+        game.setId(1L);
+        game.setName("GameName");
+        game.setVersion(5L);
+
+        // this mocks the GameService
+        given(gameService.findGame(Mockito.any())).willReturn(game);
+        given(gameService.userCanAccessGame(user, game)).willReturn(true);
+
+        //this mocks the MoveService
+        given(moveService.findMoveById(Mockito.any())).willReturn(move);
+
+        //this mocks the UserService
+        given(userService.findUser(Mockito.any())).willReturn(user);
+
+        // when
+        MockHttpServletRequestBuilder putRequest = put("/games/1")
+                .header("Token", testToken)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(asJsonString(putDTO));
+
+        // then
+        mockMvc.perform(putRequest)
+                .andExpect(status().isConflict());
+
+        Mockito.verify(moveService, Mockito.never()).performMove(Mockito.any());
+    }
+
     /**
      * Tests the PUT /games/gameId endpoint.
      * Assumes token is not valid
@@ -0,0 +1,89 @@
+package ch.uzh.ifi.seal.soprafs20.entity;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BuildingType;
+import ch.uzh.ifi.seal.soprafs20.entity.history.BuildMoveHistory;
+import ch.uzh.ifi.seal.soprafs20.entity.history.DiceMoveHistory;
+import ch.uzh.ifi.seal.soprafs20.entity.history.HistoryEntry;
+import ch.uzh.ifi.seal.soprafs20.entity.history.MoveHistory;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class HistoryEntryTest {
+
+    @Test
+    void testDiceMoveHistory() {
+        DiceMoveHistory diceMoveHistory = new DiceMoveHistory();
+        diceMoveHistory.setRoll(12);
+        setUpMoveHistory(diceMoveHistory, "DiceMove");
+
+        MoveHistory decoded = HistoryEntry.of(diceMoveHistory, 1L, 3L).toMoveHistory();
+
+        assertTrue(decoded instanceof DiceMoveHistory, "The history should be a dice move history!");
+        assertEquals(12, ((DiceMoveHistory) decoded).getRoll(), "The roll should match!");
+        assertMoveHistory(decoded, "DiceMove");
+    }
+
+    @Test
+    void testBuildMoveHistory() {
+        for (BuildingType buildingType : BuildingType.values()) {
+            BuildMoveHistory buildMoveHistory = new BuildMoveHistory();
+            buildMoveHistory.setBuildingType(buildingType);
+            setUpMoveHistory(buildMoveHistory, "BuildMove");
+
+            MoveHistory decoded = HistoryEntry.of(buildMoveHistory, 1L, 3L).toMoveHistory();
+
+            assertTrue(decoded instanceof BuildMoveHistory, "The history should be a build move history!");
+            assertEquals(buildingType, ((BuildMoveHistory) decoded).getBuildingType(),
+                    "The building type should match!");
+            assertMoveHistory(decoded, "BuildMove");
+        }
+    }
+
+    @Test
+    void testMoveHistory_allKinds() {
+        List<String> moveNames = List.of("StartMove", "FirstSettlementMove", "FirstRoadMove", "FirstPassMove",
+                "TradeMove", "PurchaseMove", "CardMove", "PassMove", "KnightMove", "StealMove",
+                "MonopolyMove", "PlentyMove", "RoadProgressMove");
+
+        for (String moveName : moveNames) {
+            MoveHistory moveHistory = new MoveHistory();
+            setUpMoveHistory(moveHistory, moveName);
+
+            MoveHistory decoded = HistoryEntry.of(moveHistory, 1L, 3L).toMoveHistory();
+
+            assertEquals(MoveHistory.class, decoded.getClass(), "The history should be a plain move history!");
+            assertMoveHistory(decoded, moveName);
+        }
+    }
+
+    @Test
+    void testKey() {
+        HistoryEntry entry = HistoryEntry.of(new MoveHistory(), 1L, 3L);
+
+        assertTrue(entry.isNew(), "A new entry should be inserted!");
+        assertEquals(HistoryEntry.of(new MoveHistory(), 1L, 3L).getId(), entry.getId(), "The keys should match!");
+        assertNotEquals(HistoryEntry.of(new MoveHistory(), 1L, 4L).getId(), entry.getId(),
+                "The keys should not match!");
+    }
+
+    // -- helper methods --
+
+    private void setUpMoveHistory(MoveHistory moveHistory, String moveName) {
+        moveHistory.setMoveName(moveName);
+        moveHistory.setUserId(2L);
+        moveHistory.setUsername("TestUser");
+        moveHistory.setGameVersion(7L);
+    }
+
+    private void assertMoveHistory(MoveHistory decoded, String moveName) {
+        assertEquals(moveName, decoded.getMoveName(), "The move name should match!");
+        assertEquals(2L, decoded.getUserId(), "The user id should match!");
+        assertEquals("TestUser", decoded.getUsername(), "The username should match!");
+        assertEquals(7L, decoded.getGameVersion(), "The game version should match!");
+        assertEquals(1L, decoded.getGameId(), "The game id should match!");
+        assertEquals(3L, decoded.getSequence(), "The sequence should match!");
+    }
+}
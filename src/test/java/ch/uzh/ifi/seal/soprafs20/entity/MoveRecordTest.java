@@ -0,0 +1,115 @@
+package ch.uzh.ifi.seal.soprafs20.entity;
+
+import ch.uzh.ifi.seal.soprafs20.constant.DevelopmentType;
+import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
+import ch.uzh.ifi.seal.soprafs20.entity.game.cards.DevelopmentCard;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.*;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstPassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveRecordTest {
+
+    @Test
+    void testBuildMoves() {
+        Road road = new Road();
+        road.setCoordinate1(new Coordinate(3, 0));
+        road.setCoordinate2(new Coordinate(2, 1));
+        BuildMove buildMove = setUpMove(new BuildMove());
+        buildMove.setBuilding(road);
+
+        City city = new City();
+        city.setCoordinate(new Coordinate(10, 11));
+        FirstSettlementMove settlementMove = setUpMove(new FirstSettlementMove());
+        settlementMove.setBuilding(city);
+
+        RoadProgressMove roadProgressMove = setUpMove(new RoadProgressMove());
+        roadProgressMove.setBuilding(road);
+        roadProgressMove.setPreviousRoadProgressMoves(1);
+
+        for (BuildMove move : List.of(buildMove, settlementMove, roadProgressMove)) {
+            Move decoded = MoveRecord.of(move).toMove();
+
+            assertEquals(move.getClass(), decoded.getClass(), "The kind of the move should match!");
+            assertEquals(move.getMoveKey(), decoded.getMoveKey(), "The parameters should match!");
+            assertEquals(move.getBuilding().getCoordinates(), ((BuildMove) decoded).getBuilding().getCoordinates());
+            assertEquals(12L, ((BuildMove) decoded).getBuilding().getUserId(), "The builder should be the player!");
+        }
+
+        RoadProgressMove decoded = (RoadProgressMove) MoveRecord.of(roadProgressMove).toMove();
+        assertEquals(1, decoded.getPreviousRoadProgressMoves(), "The previous moves should match!");
+    }
+
+    @Test
+    void testMovesWithParameters() {
+        TradeMove tradeMove = setUpMove(new TradeMove());
+        tradeMove.setNeededType(ResourceType.ORE);
+        tradeMove.setOfferedType(ResourceType.BRICK);
+
+        MonopolyMove monopolyMove = setUpMove(new MonopolyMove());
+        monopolyMove.setMonopolyType(ResourceType.WOOL);
+
+        PlentyMove plentyMove = setUpMove(new PlentyMove());
+        plentyMove.setPlentyType(PlentyType.FARMER);
+
+        StealMove stealMove = setUpMove(new StealMove());
+        stealMove.setVictimId(13L);
+
+        KnightMove knightMove = setUpMove(new KnightMove());
+        knightMove.setTileId(99L);
+
+        DevelopmentCard card = new DevelopmentCard();
+        card.setId(7L);
+        card.setDevelopmentType(DevelopmentType.KNIGHT);
+        CardMove cardMove = setUpMove(new CardMove());
+        cardMove.setDevelopmentCard(card);
+
+        for (Move move : List.of(tradeMove, monopolyMove, plentyMove, stealMove, knightMove, cardMove)) {
+            Move decoded = MoveRecord.of(move).toMove();
+
+            assertEquals(move.getClass(), decoded.getClass(), "The kind of the move should match!");
+            assertEquals(move.getMoveKey(), decoded.getMoveKey(), "The parameters should match!");
+        }
+
+        CardMove decodedCardMove = (CardMove) MoveRecord.of(cardMove).toMove();
+        assertEquals(DevelopmentType.KNIGHT, decodedCardMove.getDevelopmentCard().getDevelopmentType());
+    }
+
+    @Test
+    void testMovesWithoutParameters() {
+        for (Move move : List.of(new StartMove(), new DiceMove(), new PurchaseMove(), new PassMove(),
+                new FirstPassMove())) {
+            setUpMove(move);
+            Move decoded = MoveRecord.of(move).toMove();
+
+            assertEquals(move.getClass(), decoded.getClass(), "The kind of the move should match!");
+            assertEquals(1L, decoded.getGameId(), "The game id should match!");
+            assertEquals(12L, decoded.getUserId(), "The user id should match!");
+        }
+    }
+
+    @Test
+    void testUnknownMove() {
+        Move move = new Move() {
+        };
+
+        assertThrows(IllegalArgumentException.class, () -> MoveRecord.of(move));
+    }
+
+    // -- helper methods --
+
+    private static <T extends Move> T setUpMove(T move) {
+        move.setGameId(1L);
+        move.setUserId(12L);
+        return move;
+    }
+}
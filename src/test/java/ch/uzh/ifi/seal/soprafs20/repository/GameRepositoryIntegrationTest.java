@@ -1,6 +1,7 @@
 package ch.uzh.ifi.seal.soprafs20.repository;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -190,4 +191,43 @@ class GameRepositoryIntegrationTest {
         assertEquals(player.getUserId(), resultPlayer.getUserId(), "The id does not match!");
         assertEquals(player.getUsername(), resultPlayer.getUsername(), "The username does not match");
     }
+
+    @Test
+    void findAllListings_success() {
+        // given
+        Game game = new Game();
+        game.setName("GameName");
+        game.setWithBots(true);
+        game.setCreatorId(1L);
+
+        Player player = new Player();
+        player.setUserId(1L);
+        player.setUsername("Username");
+        player.setGameId(1L);
+        game.addPlayer(player);
+
+        Game emptyGame = new Game();
+        emptyGame.setName("EmptyGame");
+        emptyGame.setCreatorId(2L);
+        emptyGame.setStarted(true);
+
+        game = entityManager.persistAndFlush(game);
+        emptyGame = entityManager.persistAndFlush(emptyGame);
+
+        List<GameListing> listings = gameRepository.findAllListings();
+
+        // then
+        assertEquals(2, listings.size(), "Both games should be listed!");
+        GameListing listing = listings.get(0);
+        assertEquals(game.getId(), listing.getId());
+        assertEquals("GameName", listing.getName());
+        assertEquals(game.getPlayerMinimum(), listing.getPlayerMinimum());
+        assertEquals(1, listing.getJoinedPlayers());
+        assertTrue(listing.isWithBots());
+        assertFalse(listing.isStarted());
+
+        assertEquals(emptyGame.getId(), listings.get(1).getId());
+        assertEquals(0, listings.get(1).getJoinedPlayers());
+        assertTrue(listings.get(1).isStarted());
+    }
 }
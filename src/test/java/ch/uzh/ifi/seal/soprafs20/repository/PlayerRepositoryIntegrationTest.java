@@ -1,7 +1,9 @@
 package ch.uzh.ifi.seal.soprafs20.repository;
 
 
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.game.ResourceWallet;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -9,7 +11,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.*;
 
 @DataJpaTest
 class PlayerRepositoryIntegrationTest {
@@ -60,4 +62,28 @@ class PlayerRepositoryIntegrationTest {
         assertEquals(player.getUsername(), foundPlayer.getUsername(), "The username should match!");
 
     }
+
+    @Test
+    void findByUserId_walletStored() {
+
+        ResourceWallet wallet = new ResourceWallet();
+        wallet.addResource(ResourceType.BRICK, 2);
+        wallet.addResource(ResourceType.WOOL, 5);
+
+        Player player = new Player();
+        player.setUserId(1L);
+        player.setUsername("TheUsername");
+        player.setGameId(testGameId);
+        player.setWallet(wallet);
+
+        entityManager.persistAndFlush(player);
+        entityManager.clear();
+
+        ResourceWallet foundWallet = playerRepository.findByUserId(1L).getWallet();
+
+        assertEquals(2, foundWallet.getResourceAmount(ResourceType.BRICK), "The bricks should be stored!");
+        assertEquals(5, foundWallet.getResourceAmount(ResourceType.WOOL), "The wool should be stored!");
+        assertEquals(0, foundWallet.getResourceAmount(ResourceType.ORE), "The ore should be empty!");
+        assertFalse(foundWallet.isEmpty());
+    }
 }
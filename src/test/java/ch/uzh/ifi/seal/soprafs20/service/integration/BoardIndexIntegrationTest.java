@@ -0,0 +1,129 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Road;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.repository.BoardRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.CoordinateRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.TileRepository;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.move.calculator.BoardIndex;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.transaction.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebAppConfiguration
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class BoardIndexIntegrationTest {
+
+    private final Long testGameId = 123L;
+    private final Long testUserId = 12L;
+    @Qualifier("coordinateRepository")
+    @Autowired
+    CoordinateRepository coordinateRepository;
+    @Qualifier("tileRepository")
+    @Autowired
+    TileRepository tileRepository;
+    @Qualifier("boardRepository")
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    BoardService boardService;
+
+    private Board testBoard;
+
+    @BeforeEach
+    void setup() {
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+
+        testBoard = boardService.createBoard(testGameId);
+    }
+
+    @AfterEach
+    void teardown() {
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+    }
+
+    @Test
+    void testTopology_standardBoard() {
+        BoardIndex index = BoardIndex.of(testBoard);
+
+        assertEquals(54, index.getVertexCount(), "There should be 54 vertices");
+        assertEquals(72, index.getEdgeCount(), "There should be 72 edges");
+        assertEquals(19, index.getTileCount(), "There should be 19 tiles");
+
+        for (int vertex = 0; vertex < index.getVertexCount(); vertex++) {
+            Coordinate coordinate = index.getCoordinate(vertex);
+            assertEquals(vertex, index.slotOf(coordinate), "The slot should map back to the vertex");
+            assertTrue(index.isValidBuildingVertex(vertex), "An empty board has no blocked vertices");
+        }
+
+        assertEquals(BoardIndex.NO_SLOT, index.slotOf(new Coordinate(100, 100)),
+                "Coordinates that are not on the board have no slot");
+    }
+
+    @Test
+    void testSettlement_blocksNeighbors() {
+        Coordinate coordinate = testBoard.getTiles().get(0).getCoordinates().get(0);
+        Settlement settlement = new Settlement();
+        settlement.setUserId(testUserId);
+        settlement.setCoordinate(coordinate);
+        testBoard.addSettlement(settlement);
+
+        BoardIndex index = BoardIndex.of(testBoard);
+        int vertex = index.slotOf(coordinate);
+
+        assertTrue(index.hasBuilding(vertex));
+        assertEquals(testUserId, index.getBuildingOwner(vertex));
+        assertEquals(1, index.countSettlements(testUserId));
+        assertFalse(index.isValidBuildingVertex(vertex));
+
+        for (int neighbor : index.getNeighbors(vertex)) {
+            assertFalse(index.isValidBuildingVertex(neighbor), "Neighbors of a building are blocked");
+        }
+    }
+
+    @Test
+    void testRoadEndPoints() {
+        Coordinate start = testBoard.getTiles().get(0).getCoordinates().get(0);
+        Coordinate middle = start.getNeighbors().get(0);
+        Coordinate end = middle.getNeighbors().get(0).equals(start)
+                ? middle.getNeighbors().get(1) : middle.getNeighbors().get(0);
+
+        testBoard.addRoad(createRoad(start, middle));
+        testBoard.addRoad(createRoad(middle, end));
+
+        BoardIndex index = BoardIndex.of(testBoard);
+        int[] endPoints = index.getRoadEndPoints(testUserId);
+
+        assertEquals(2, endPoints.length, "Only the outer coordinates are end points");
+        assertEquals(start, index.getCoordinate(endPoints[0]));
+        assertEquals(end, index.getCoordinate(endPoints[1]));
+        assertTrue(index.hasRoad(index.slotOf(start), index.slotOf(middle)));
+        assertTrue(index.hasRoad(index.slotOf(end), index.slotOf(middle)));
+        assertFalse(index.hasRoad(index.slotOf(start), index.slotOf(end)));
+        assertEquals(2, index.countRoads(testUserId));
+    }
+
+    private Road createRoad(Coordinate coordinate1, Coordinate coordinate2) {
+        Road road = new Road();
+        road.setUserId(testUserId);
+        road.setCoordinate1(coordinate1);
+        road.setCoordinate2(coordinate2);
+        return road;
+    }
+}
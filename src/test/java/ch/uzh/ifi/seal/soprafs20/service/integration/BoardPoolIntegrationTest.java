@@ -0,0 +1,125 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.repository.BoardRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.TileRepository;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardPool;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the BoardPool with the boards in the database. The pool is refilled on the
+ * calling thread, so the tests do not wait for the background thread.
+ */
+@WebAppConfiguration
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class BoardPoolIntegrationTest {
+
+    private final Long testGameId = 123L;
+    @Qualifier("tileRepository")
+    @Autowired
+    TileRepository tileRepository;
+    @Qualifier("boardRepository")
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    BoardService boardService;
+    @Autowired
+    BoardPool boardPool;
+
+    private BoardPool testPool;
+
+    @BeforeEach
+    void setup() {
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+
+        testPool = new BoardPool(2, Runnable::run);
+        testPool.setBoardService(boardService);
+        ReflectionTestUtils.setField(boardService, "boardPool", testPool);
+    }
+
+    @AfterEach
+    void teardown() {
+        ReflectionTestUtils.setField(boardService, "boardPool", boardPool);
+
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+    }
+
+    @Test
+    void testFill_boardsPersistedWithoutGame() {
+        testPool.fill();
+
+        assertEquals(2, testPool.getAvailable(), "The pool should be full");
+
+        List<Long> unclaimed = boardService.findUnclaimedBoardIds();
+        assertEquals(2, unclaimed.size(), "The pooled boards should be saved without a game");
+
+        for (Long boardId : unclaimed) {
+            Board board = boardRepository.findById(boardId).orElseThrow();
+            assertEquals(19, board.getTiles().size(), "The tiles should be saved with the board");
+            for (Tile tile : board.getTiles()) {
+                assertNull(tile.getGameId(), "The tiles of a pooled board have no game");
+            }
+        }
+    }
+
+    @Test
+    void testCreateBoard_pooledBoardClaimed() {
+        testPool.fill();
+        Long pooledId = boardService.findUnclaimedBoardIds().get(0);
+
+        Board board = boardService.createBoard(testGameId);
+
+        assertEquals(pooledId, board.getId(), "The first pooled board should be claimed");
+        assertEquals(testGameId, board.getGameId());
+        for (Tile tile : board.getTiles()) {
+            assertEquals(testGameId, tile.getGameId(), "The tiles should belong to the game");
+        }
+
+        //The claimed board was replaced
+        assertEquals(2, testPool.getAvailable());
+        assertFalse(boardService.findUnclaimedBoardIds().contains(pooledId));
+    }
+
+    @Test
+    void testFill_unclaimedBoardsTakenOver() {
+        Long unclaimedId = boardService.createUnclaimedBoard().getId();
+
+        testPool.fill();
+
+        assertEquals(2, testPool.getAvailable());
+        assertEquals(2, boardService.findUnclaimedBoardIds().size(), "Only one board should be added");
+        assertEquals(unclaimedId, testPool.claim(), "The unclaimed board should be claimed first");
+    }
+
+    @Test
+    void testCreateBoard_deletedPooledBoard_newBoardCreated() {
+        BoardPool stalePool = new BoardPool(1, runnable -> {});
+        stalePool.release(-1L);
+        ReflectionTestUtils.setField(boardService, "boardPool", stalePool);
+
+        Board board = boardService.createBoard(testGameId);
+
+        assertEquals(testGameId, board.getGameId());
+        assertEquals(19, board.getTiles().size(), "A new board should be created");
+        assertEquals(0, stalePool.getAvailable());
+    }
+}
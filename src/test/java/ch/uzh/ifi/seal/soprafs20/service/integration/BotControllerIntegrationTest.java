@@ -20,6 +20,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.web.WebAppConfiguration;
 
 import javax.transaction.Transactional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -67,9 +68,9 @@ class BotControllerIntegrationTest {
     PlayerRepository playerRepository;
     @Autowired
     private MoveService moveService;
-    @Qualifier("moveRepository")
+    @Qualifier("moveRecordRepository")
     @Autowired
-    private MoveRepository moveRepository;
+    private MoveRecordRepository moveRecordRepository;
     @Autowired
     private GameService gameService;
     @Qualifier("gameRepository")
@@ -98,7 +99,7 @@ class BotControllerIntegrationTest {
         //Delete players before game
         playerRepository.deleteAll();
 
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
         queueRepository.deleteAll();
         firstStackRepository.deleteAll();
         gameRepository.deleteAll();
@@ -139,7 +140,7 @@ class BotControllerIntegrationTest {
         testMove = new PassMove();
         testMove.setUserId(testPlayer.getUserId());
         testMove.setGameId(testGame.getId());
-        moveRepository.saveAndFlush(testMove);
+        moveService.addMovesForGame(testGame.getId(), List.of(testMove));
     }
 
     @AfterEach
@@ -149,7 +150,7 @@ class BotControllerIntegrationTest {
         boardRepository.deleteAll();
         playerRepository.deleteAll();
 
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
         firstStackRepository.deleteAll();
         queueRepository.deleteAll();
         gameRepository.deleteAll();
@@ -0,0 +1,115 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.*;
+import ch.uzh.ifi.seal.soprafs20.service.move.CompactMoveStore;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveDelta;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.persistence.EntityManager;
+import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebAppConfiguration
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class CompactMoveStoreIntegrationTest {
+
+    @Autowired
+    CompactMoveStore compactMoveStore;
+
+    @Autowired
+    EntityManager entityManager;
+
+    private final Long testGameId = 123L;
+
+    @BeforeEach
+    void setup() {
+        entityManager.clear();
+    }
+
+    @AfterEach
+    void teardown() {
+        compactMoveStore.removeMoves(testGameId);
+        entityManager.clear();
+    }
+
+    @Test
+    void testAddAndFindMoves() {
+
+        compactMoveStore.addMoves(createMoves());
+
+        List<Move> playerMoves = compactMoveStore.findMoves(testGameId, 1L);
+        assertEquals(2, playerMoves.size(), "The player should have two moves!");
+        assertTrue(playerMoves.get(0) instanceof BuildMove, "The first move should be the build move!");
+        assertTrue(playerMoves.get(1) instanceof TradeMove, "The second move should be the trade move!");
+
+        Move found = compactMoveStore.findMoveById(playerMoves.get(1).getId());
+        assertEquals(ResourceType.ORE, ((TradeMove) found).getNeededType(), "The parameters should be stored!");
+
+        assertEquals(3, compactMoveStore.findMoves(testGameId).size(), "The game should have three moves!");
+        assertTrue(compactMoveStore.findMoves(456L).isEmpty(), "Other games should have no moves!");
+    }
+
+    @Test
+    void testReplaceMoves_keepsUnchangedMoves() {
+
+        compactMoveStore.addMoves(createMoves());
+        List<Move> storedMoves = compactMoveStore.findMoves(testGameId);
+
+        //The build move stays, the trade move and the pass move are replaced by a dice move
+        List<Move> nextMoves = new ArrayList<>();
+        nextMoves.add(createMoves().get(0));
+        DiceMove diceMove = new DiceMove();
+        diceMove.setGameId(testGameId);
+        diceMove.setUserId(2L);
+        nextMoves.add(diceMove);
+
+        MoveDelta delta = compactMoveStore.replaceMoves(testGameId, nextMoves);
+        entityManager.flush();
+        entityManager.clear();
+
+        assertEquals(2, delta.getStaleMoves().size(), "Two moves should be removed!");
+        assertEquals(1, delta.getNewMoves().size(), "One move should be added!");
+
+        List<Move> moves = compactMoveStore.findMoves(testGameId);
+        assertEquals(2, moves.size(), "The game should have two moves!");
+        assertEquals(storedMoves.get(0).getId(), moves.get(0).getId(), "The build move should keep its id!");
+        assertEquals(diceMove.getId(), moves.get(1).getId(), "The dice move should have the id of its record!");
+    }
+
+    // -- helper methods --
+
+    private List<Move> createMoves() {
+
+        Settlement settlement = new Settlement();
+        settlement.setCoordinate(new Coordinate(3, 0));
+        BuildMove buildMove = new BuildMove();
+        buildMove.setBuilding(settlement);
+
+        TradeMove tradeMove = new TradeMove();
+        tradeMove.setNeededType(ResourceType.ORE);
+        tradeMove.setOfferedType(ResourceType.WOOL);
+
+        PassMove passMove = new PassMove();
+
+        List<Move> moves = List.of(buildMove, tradeMove, passMove);
+        for (Move move : moves) {
+            move.setGameId(testGameId);
+            move.setUserId(move == passMove ? 2L : 1L);
+        }
+        return moves;
+    }
+}
@@ -18,6 +18,7 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
 import ch.uzh.ifi.seal.soprafs20.repository.*;
 import ch.uzh.ifi.seal.soprafs20.service.*;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 import org.junit.jupiter.api.AfterEach;
@@ -186,7 +187,7 @@ class HistoryServiceIntegrationTest {
         move.setUserId(testPlayer.getUserId());
         MoveHandler handler = move.getMoveHandler();
 
-        historyService.addMoveToHistory(move, handler);
+        historyService.addMoveToHistory(new MoveResult(move), handler);
         List<MoveHistory> moveHistories = historyService.findGameHistory(testGame.getId()).getMoves();
 
         // The move history should contain one element
@@ -201,6 +202,53 @@ class HistoryServiceIntegrationTest {
         assertEquals(testPlayer.getUsername(), moveHistory.getUsername(), "The username does not match");
     }
 
+    /**
+     * Tests that only the moves performed after the given version are found
+     */
+    @Test
+    void testFindMoveHistorySince() {
+
+        Move firstMove = new PassMove();
+        firstMove.setGameId(testGame.getId());
+        firstMove.setUserId(testPlayer.getUserId());
+
+        Move secondMove = new PassMove();
+        secondMove.setGameId(testGame.getId());
+        secondMove.setUserId(testPlayer.getUserId());
+
+        historyService.addMoveToHistory(new MoveResult(firstMove), firstMove.getMoveHandler(), testPlayer, 3L);
+        historyService.addMoveToHistory(new MoveResult(secondMove), secondMove.getMoveHandler(), testPlayer, 4L);
+
+        List<MoveHistory> moveHistories = historyService.findMoveHistorySince(testGame.getId(), 3L);
+
+        assertEquals(1, moveHistories.size(), "Only the move after version 3 should be found");
+        assertEquals(4L, moveHistories.get(0).getGameVersion());
+        assertEquals(2, historyService.findMoveHistorySince(testGame.getId(), 0L).size());
+    }
+
+    /**
+     * Tests that a page of the history starts after the given sequence
+     */
+    @Test
+    void testFindMoveHistoryPage() {
+
+        for (int i = 0; i < 3; i++) {
+            Move move = new PassMove();
+            move.setGameId(testGame.getId());
+            move.setUserId(testPlayer.getUserId());
+            historyService.addMoveToHistory(new MoveResult(move), move.getMoveHandler());
+        }
+
+        List<MoveHistory> firstPage = historyService.findMoveHistoryPage(testGame.getId(), 0L, 2);
+        List<MoveHistory> secondPage = historyService.findMoveHistoryPage(testGame.getId(), 2L, 2);
+
+        assertEquals(2, firstPage.size(), "The page should be limited");
+        assertEquals(1L, firstPage.get(0).getSequence());
+        assertEquals(2L, firstPage.get(1).getSequence());
+        assertEquals(1, secondPage.size(), "Only the last move should be after sequence 2");
+        assertEquals(3L, secondPage.get(0).getSequence());
+    }
+
     @Test
     void testDiceMoveHistory() {
         DiceMove diceMove = new DiceMove();
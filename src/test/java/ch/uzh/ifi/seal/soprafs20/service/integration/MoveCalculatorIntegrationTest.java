@@ -909,14 +909,15 @@ class MoveCalculatorIntegrationTest {
         // assert
         moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId());
 
-        assertEquals(ResourceType.values().length - 1, moves.size(),
-                "a trade move must be added for every resource type (minus offered resource type)");
+        assertEquals(1, moves.size(),
+                "a trade move must be added for the offered resource type");
         for (Move move : moves) {
             assertEquals(TradeMove.class, move.getClass(),
                     "the added move must be a trade move");
             TradeMove tradeMove = (TradeMove) move;
-            assertNotEquals(ResourceType.GRAIN, tradeMove.getNeededType(),
-                    "offered type cannot be needed type");
+            assertEquals(ResourceType.GRAIN, tradeMove.getOfferedType(),
+                    "the offered type must be the affordable type");
+            assertNull(tradeMove.getNeededType(), "the needed type is bound when the move is requested");
         }
     }
 
@@ -941,8 +942,8 @@ class MoveCalculatorIntegrationTest {
         // assert
         moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId());
 
-        assertEquals(ResourceType.values().length * 2 - 2, moves.size(),
-                "a trade moves must be added for every resource type twice, minus offered two types");
+        assertEquals(2, moves.size(),
+                "a trade move must be added for both offered types");
         for (Move move : moves) {
             assertEquals(TradeMove.class, move.getClass(),
                     "the added move must be a trade move");
@@ -1023,11 +1024,12 @@ class MoveCalculatorIntegrationTest {
         // assert
         moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId());
 
-        assertEquals(testBoard.getTiles().size(), moves.size(),
-                "there must be one knight move for every tile on board");
+        assertEquals(1, moves.size(),
+                "there must be one knight move, the tile is bound when the move is requested");
         for (Move move : moves) {
             assertEquals(KnightMove.class, move.getClass(),
                     "the added move must be knight move");
+            assertNull(((KnightMove) move).getTileId(), "the tile should be left open");
         }
     }
 
@@ -1043,8 +1045,8 @@ class MoveCalculatorIntegrationTest {
         // assert
         moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId());
 
-        assertEquals(ResourceType.values().length, moves.size(),
-                "there should be a separate move for every available resource");
+        assertEquals(1, moves.size(),
+                "there should be one move, the resource is bound when the move is requested");
         for (Move move : moves) {
             assertEquals(MonopolyMove.class, move.getClass(),
                     "the added move must be a monopoly move");
@@ -1063,8 +1065,8 @@ class MoveCalculatorIntegrationTest {
         // assert
         moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId());
 
-        assertEquals(PlentyType.values().length, moves.size(),
-                "there should be a separate move for every plenty type");
+        assertEquals(1, moves.size(),
+                "there should be one move, the plenty type is bound when the move is requested");
         for (Move move : moves) {
             assertEquals(PlentyMove.class, move.getClass(),
                     "the added move must be a plenty move");
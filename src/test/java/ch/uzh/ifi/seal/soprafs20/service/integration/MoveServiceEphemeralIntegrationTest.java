@@ -0,0 +1,11 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Runs the MoveService integration tests with the moves kept in memory, as configured
+ * in the application properties
+ */
+@TestPropertySource(properties = "moves.ephemeral=true")
+class MoveServiceEphemeralIntegrationTest extends MoveServiceIntegrationTest {
+}
@@ -16,6 +16,8 @@ import ch.uzh.ifi.seal.soprafs20.entity.moves.initial.FirstSettlementMove;
 import ch.uzh.ifi.seal.soprafs20.repository.*;
 import ch.uzh.ifi.seal.soprafs20.service.*;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 import org.junit.jupiter.api.AfterEach;
@@ -26,6 +28,7 @@ import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import javax.transaction.Transactional;
 import java.util.ArrayList;
@@ -75,9 +78,9 @@ class MoveServiceIntegrationTest {
     PlayerRepository playerRepository;
     @Autowired
     private MoveService moveService;
-    @Qualifier("moveRepository")
+    @Qualifier("moveRecordRepository")
     @Autowired
-    private MoveRepository moveRepository;
+    private MoveRecordRepository moveRecordRepository;
     @Autowired
     private GameService gameService;
     @Qualifier("gameRepository")
@@ -106,7 +109,7 @@ class MoveServiceIntegrationTest {
         //Delete players before game
         playerRepository.deleteAll();
 
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
         queueRepository.deleteAll();
         firstStackRepository.deleteAll();
         gameRepository.deleteAll();
@@ -151,12 +154,14 @@ class MoveServiceIntegrationTest {
 
     @AfterEach
     void teardown() {
+        ReflectionTestUtils.setField(moveService, "verifyVictoryPoints", false);
+
         resourceWalletRepository.deleteAll();
         tileRepository.deleteAll();
         boardRepository.deleteAll();
         playerRepository.deleteAll();
 
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
         firstStackRepository.deleteAll();
         queueRepository.deleteAll();
         gameRepository.deleteAll();
@@ -165,17 +170,18 @@ class MoveServiceIntegrationTest {
     @Test
     void testFindMoveById_moveFound() {
 
-        testMove = moveRepository.saveAndFlush(testMove);
+        moveService.addMovesForGame(testGame.getId(), List.of(testMove));
 
         Move found = moveService.findMoveById(testMove.getId());
 
-        assertEquals(testMove, found, "The found move should match the testMove!");
+        assertEquals(testMove.getId(), found.getId(), "The found move should match the testMove!");
+        assertTrue(found instanceof PassMove, "The found move should match the testMove!");
     }
 
     @Test
     void testFindMoveById_noMoveWithId() {
 
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
 
         //Repository is assumed empty
         assertNull(moveService.findMoveById(12L));
@@ -228,11 +234,12 @@ class MoveServiceIntegrationTest {
         //empty handler that does no move calculations, as they are tested separately
         MoveHandler testHandler = new MoveHandler() {
             @Override
-            public void perform(Move move, MoveService moveService) {
+            public MoveResult perform(MoveContext context, MoveService moveService) {
+                return new MoveResult(context.getMove());
             }
 
             @Override
-            public List<Move> calculateNextMoves(Game game, Move move) {
+            public List<Move> calculateNextMoves(Game game, MoveResult result) {
                 return new ArrayList<>();
             }
         };
@@ -254,7 +261,9 @@ class MoveServiceIntegrationTest {
         testPlayer.addDevelopmentCard(devCard);
         int cardPoints = 1;
 
-        moveService.makeRecalculations(testGame, testHandler, testMove);
+        //The points were not counted while building, the recount corrects them
+        ReflectionTestUtils.setField(moveService, "verifyVictoryPoints", true);
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
 
         testPlayer = playerService.findPlayerByUserId(testPlayer.getUserId());
         assertEquals(cardPoints + buildingPoints, testPlayer.getVictoryPoints());
@@ -266,11 +275,12 @@ class MoveServiceIntegrationTest {
         //empty handler that does no move calculations, as they are tested separately
         MoveHandler testHandler = new MoveHandler() {
             @Override
-            public void perform(Move move, MoveService moveService) {
+            public MoveResult perform(MoveContext context, MoveService moveService) {
+                return new MoveResult(context.getMove());
             }
 
             @Override
-            public List<Move> calculateNextMoves(Game game, Move move) {
+            public List<Move> calculateNextMoves(Game game, MoveResult result) {
                 return new ArrayList<>();
             }
         };
@@ -291,11 +301,13 @@ class MoveServiceIntegrationTest {
             testPlayer.addDevelopmentCard(devCard);
         }
 
-        moveService.makeRecalculations(testGame, testHandler, testMove);
+        //The points were not counted while building, the recount corrects them
+        ReflectionTestUtils.setField(moveService, "verifyVictoryPoints", true);
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
 
         //When game is over, then game teardown is called
         assertTrue(gameRepository.findById(testGame.getId()).isEmpty(), "The game should no longer exist");
-        assertEquals(0, moveRepository.findAllByGameId(testGame.getId()).size(),
+        assertEquals(0, moveService.findMovesForGameId(testGame.getId()).size(),
                 "There should be no moves for the game!");
     }
 
@@ -303,7 +315,7 @@ class MoveServiceIntegrationTest {
     void testMakeSetupRecalculations_minReached() {
 
         //Delete the added testMove
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
 
         //Fills the game until the minimum player count is reached (testPlayer is already added)
         for (int i = 0; i < GameConstants.DEFAULT_PLAYER_MINIMUM - 1; i++) {
@@ -330,7 +342,7 @@ class MoveServiceIntegrationTest {
     @Test
     void testMakeSetupRecalculations_notEnoughPlayers() {
         //Delete the testMove from setup
-        moveRepository.deleteAll();
+        moveRecordRepository.deleteAll();
 
         //There is only the testPlayer in the game
         moveService.makeSetupRecalculations(testGame);
@@ -346,7 +358,7 @@ class MoveServiceIntegrationTest {
         setupTestMove(diceMove, testPlayer, testGame);
         moveService.performMove(diceMove);
 
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         assertTrue(moves.size() > 0, "There should be at least one move!");
 
@@ -445,7 +457,7 @@ class MoveServiceIntegrationTest {
         moveService.performMove(firstSettlementMove);
 
         //There should now be first road moves available
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         //There should be 2 or 3 moves
         assertThat(moves.size(), anyOf(is(3), is(2)));
@@ -514,7 +526,7 @@ class MoveServiceIntegrationTest {
         moveService.performMove(firstRoadMove);
 
         //there should now be a pass move available
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         assertEquals(1, moves.size(), "There should only be one move");
         assertEquals(FirstPassMove.class, moves.get(0).getClass());
@@ -554,6 +566,9 @@ class MoveServiceIntegrationTest {
 
         //There is only one settlement
         assertEquals(1, testBoard.getSettlements().size());
+
+        assertEquals(new Settlement().getVictoryPoints(), testPlayer.getVictoryPoints(),
+                "The settlement should be counted");
     }
 
     @Test
@@ -575,8 +590,9 @@ class MoveServiceIntegrationTest {
         testBoard.addSettlement(settlement);
         testBoard = boardRepository.save(testBoard);
 
-        //Add the funds to the player
+        //Add the funds and the points of the settlement to the player
         testPlayer.setWallet(new City().getPrice());
+        testPlayer.setVictoryPoints(settlement.getVictoryPoints());
         testPlayer = playerService.save(testPlayer);
 
         //Init the buildMove
@@ -601,6 +617,10 @@ class MoveServiceIntegrationTest {
 
         assertEquals(1, testBoard.getCities().size(), "There should be a city");
         assertNotNull(testBoard.getCities().get(0), "City should not be null!");
+
+        //The city replaces the points of the settlement
+        assertEquals(new City().getVictoryPoints(), testPlayer.getVictoryPoints(),
+                "The city should be counted instead of the settlement");
     }
 
     @Test
@@ -654,10 +674,10 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         //Assert that follow up moves are of type
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         //All next moves are KnightMoves
-        assertEquals(testBoard.getTiles().size(), moves.size(), "There should be a move per tile");
+        assertEquals(1, moves.size(), "There should be one move, the tile is bound when it is requested");
         for (Move move : moves) {
             assertEquals(KnightMove.class, move.getClass(),
                     "When a Knight Card is played, then KnightMoves will be calculated");
@@ -688,7 +708,7 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         //Assert that follow up moves are of type
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         //All next moves are RoadProgressMoves
         for (Move move : moves) {
@@ -721,13 +741,13 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         // get followup moves
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         // perform buildMove (build first road)
         moveService.performMove(moves.get(0));
 
         // get followup moves
-        List<Move> followUpMoves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> followUpMoves = moveService.findMovesForGameId(testGame.getId());
 
         // next move is roadProgress move
         for (Move move : followUpMoves) {
@@ -756,7 +776,7 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         // get moves
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         // assert move type
         for (Move move : moves) {
@@ -790,7 +810,7 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         // get moves
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         // assert move type
         for (Move move : moves) {
@@ -817,11 +837,11 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         //Assert that follow up moves are of type
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         //All next moves are PlentyMoves
-        assertEquals(PlentyType.values().length, moves.size(),
-                "there should be a separate move for every plenty type");
+        assertEquals(1, moves.size(),
+                "there should be one move, the plenty type is bound when it is requested");
         for (Move move : moves) {
             assertEquals(PlentyMove.class, move.getClass(),
                     "When a PlentyProgress Card is played, then PlentyMoves will be calculated");
@@ -846,9 +866,9 @@ class MoveServiceIntegrationTest {
         moveService.performMove(cardMove);
 
         //Assert that follow up moves are of type
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
-        assertEquals(ResourceType.values().length, moves.size(), "There should be one monopoly move per resource Type");
+        assertEquals(1, moves.size(), "There should be one monopoly move, the type is bound when it is requested");
         //All next moves are MonopolyMoves
         for (Move move : moves) {
             assertEquals(MonopolyMove.class, move.getClass(),
@@ -897,13 +917,15 @@ class MoveServiceIntegrationTest {
         testPlayer = playerService.findPlayerByUserId(testPlayer.getUserId());
         assertEquals(1, testPlayer.getDevelopmentCards().size(),
                 "There should be a development card added");
+        assertEquals(playerService.getPointsFromDevelopmentCards(testPlayer), testPlayer.getVictoryPoints(),
+                "A victory point card should be counted when it is drawn");
 
         for (ResourceType type : testPlayer.getWallet().getAllTypes()) {
             assertEquals(0, testPlayer.getWallet().getResourceAmount(type),
                     "Wallet should be empty!");
         }
 
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
         assertEquals(1, moves.size(), "only one move should follow");
         assertEquals(PassMove.class, moves.get(0).getClass(), "a pass move must follow," +
                 "as the player only can afford one development card");
@@ -937,7 +959,7 @@ class MoveServiceIntegrationTest {
                     "the player must have paid for the card and only can afford one more card");
         }
 
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
 
         assertEquals(2, moves.size(), "another purchase move or a pass move must follow");
         for (Move move : moves) {
@@ -1092,7 +1114,7 @@ class MoveServiceIntegrationTest {
         assertFalse(testBoard.getTiles().get(1).isRobber(),
                 "robber must be removed from tile");
 
-        List<Move> moves = moveRepository.findAllByGameId(testGame.getId());
+        List<Move> moves = moveService.findMovesForGameId(testGame.getId());
         for (Move move : moves) {
             assertEquals(StealMove.class, move.getClass(),
                     "after a knight move gets performed, a steal move must follow");
@@ -0,0 +1,146 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.City;
+import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
+import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
+import ch.uzh.ifi.seal.soprafs20.repository.BoardRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.TileRepository;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.board.ProductionIndex;
+import ch.uzh.ifi.seal.soprafs20.service.board.TileService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import javax.transaction.Transactional;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@WebAppConfiguration
+@SpringBootTest
+@Transactional
+@AutoConfigureTestDatabase
+class ProductionIndexIntegrationTest {
+
+    private final Long testGameId = 123L;
+    private final Long testUserId = 12L;
+    @Qualifier("tileRepository")
+    @Autowired
+    TileRepository tileRepository;
+    @Qualifier("boardRepository")
+    @Autowired
+    BoardRepository boardRepository;
+    @Autowired
+    BoardService boardService;
+    @Autowired
+    TileService tileService;
+
+    private Board testBoard;
+    private Tile testTile;
+    private Coordinate testCoordinate;
+
+    @BeforeEach
+    void setup() {
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+
+        testBoard = boardService.createBoard(testGameId);
+
+        // a producing tile without the robber
+        for (Tile tile : testBoard.getTiles()) {
+            if (!tile.isRobber()) {
+                testTile = tile;
+                break;
+            }
+        }
+        testCoordinate = testTile.getCoordinates().get(0);
+    }
+
+    @AfterEach
+    void teardown() {
+        boardRepository.deleteAll();
+        tileRepository.deleteAll();
+    }
+
+    @Test
+    void testGetProductions_settlement() {
+        testBoard.addSettlement(createSettlement());
+
+        ProductionIndex index = ProductionIndex.of(testBoard, tileService::convertToResource);
+        List<ProductionIndex.Production> productions = index.getProductions(testTile.getTileNumber());
+
+        ProductionIndex.Production production = findProduction(productions, testTile);
+        assertNotNull(production, "The settlement should receive the resource of the tile");
+        assertEquals(testUserId, production.getUserId());
+        assertEquals(1, production.getAmount());
+        assertTrue(index.getProductions(7).isEmpty(), "Nothing is produced on a 7");
+    }
+
+    @Test
+    void testPlaceBuilding_cityReplacesSettlement() {
+        Settlement settlement = createSettlement();
+        testBoard.addSettlement(settlement);
+        ProductionIndex index = ProductionIndex.of(testBoard, tileService::convertToResource);
+
+        // upgrade the settlement
+        City city = new City();
+        city.setUserId(testUserId);
+        city.setCoordinate(testCoordinate);
+        index.removeBuilding(settlement);
+        index.placeBuilding(city);
+        testBoard.getSettlements().remove(settlement);
+        testBoard.addCity(city);
+
+        ProductionIndex.Production production = findProduction(index.getProductions(testTile.getTileNumber()), testTile);
+        assertNotNull(production);
+        assertEquals(2, production.getAmount(), "A city produces two resources");
+        assertTrue(index.matches(testBoard), "The updated index should describe the board");
+    }
+
+    @Test
+    void testMoveRobber_blocksTile() {
+        testBoard.addSettlement(createSettlement());
+        ProductionIndex index = ProductionIndex.of(testBoard, tileService::convertToResource);
+
+        index.moveRobber(testTile.getId());
+
+        assertNull(findProduction(index.getProductions(testTile.getTileNumber()), testTile),
+                "A tile with the robber produces nothing");
+    }
+
+    @Test
+    void testMatches_changedBoard() {
+        ProductionIndex index = ProductionIndex.of(testBoard, tileService::convertToResource);
+        assertTrue(index.matches(testBoard));
+
+        testBoard.addSettlement(createSettlement());
+
+        assertFalse(index.matches(testBoard), "A building that was not added to the index should be detected");
+    }
+
+    private Settlement createSettlement() {
+        Settlement settlement = new Settlement();
+        settlement.setUserId(testUserId);
+        settlement.setCoordinate(testCoordinate);
+        return settlement;
+    }
+
+    private ProductionIndex.Production findProduction(List<ProductionIndex.Production> productions, Tile tile) {
+        ResourceType type = tileService.convertToResource(tile.getType());
+        for (ProductionIndex.Production production : productions) {
+            if (production.getType() == type) {
+                return production;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,99 @@
+package ch.uzh.ifi.seal.soprafs20.service.integration;
+
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
+import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenSigner;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests the signed tokens, as configured in the application properties
+ * <p>
+ * The tests are not transactional, every call of the UserService is committed,
+ * so the tokens are revoked like in the running application.
+ *
+ * @see UserService
+ */
+@WebAppConfiguration
+@SpringBootTest
+@AutoConfigureTestDatabase
+@TestPropertySource(properties = "auth.token.signed=true")
+class UserServiceSignedTokenIntegrationTest {
+
+    @Qualifier("userRepository")
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TokenSigner tokenSigner;
+
+    private User testUser;
+
+    @BeforeEach
+    void setup() {
+        userRepository.deleteAll();
+
+        testUser = new User();
+        testUser.setUsername("testUsername");
+        testUser.setPassword("password");
+    }
+
+    @AfterEach
+    void teardown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void createUser_signedToken_userFound() {
+        User createdUser = userService.createUser(testUser);
+
+        assertTrue(tokenSigner.isSignedToken(createdUser.getToken()), "The token should be signed");
+
+        User found = userService.findUserWithToken(createdUser.getToken());
+
+        assertNotNull(found, "The user should be found with the token");
+        assertEquals(createdUser.getId(), found.getId());
+    }
+
+    @Test
+    void logoutUser_signedToken_tokenRevoked() {
+        User createdUser = userService.createUser(testUser);
+        String token = createdUser.getToken();
+
+        assertNotNull(userService.findUserWithToken(token));
+
+        userService.logoutUser(createdUser);
+
+        assertNull(userService.findUserWithToken(token), "The token should no longer be valid after the logout");
+    }
+
+    @Test
+    void loginUser_afterLogout_newTokenValid() {
+        User createdUser = userService.createUser(testUser);
+        String oldToken = createdUser.getToken();
+
+        userService.logoutUser(createdUser);
+
+        User login = new User();
+        login.setUsername(testUser.getUsername());
+        login.setPassword(testUser.getPassword());
+        String newToken = userService.loginUser(login).getToken();
+
+        assertNotEquals(oldToken, newToken, "A new token should be issued");
+        assertNull(userService.findUserWithToken(oldToken), "The old token should stay invalid");
+        assertEquals(createdUser.getId(), userService.findUserWithToken(newToken).getId());
+    }
+}
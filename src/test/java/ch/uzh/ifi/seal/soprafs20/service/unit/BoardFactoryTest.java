@@ -0,0 +1,37 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.constant.BoardConstants;
+import ch.uzh.ifi.seal.soprafs20.constant.TileType;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardFactory;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class BoardFactoryTest {
+
+    @Test
+    void testGenerateLayout() {
+        TileType[] layout = BoardFactory.generateLayout();
+
+        assertEquals(BoardTopology.NUMBER_OF_TILES, layout.length, "There should be a type for every tile");
+        assertEquals(TileType.DESERT, layout[BoardTopology.DESERT_TILE], "The desert should be on the desert tile");
+        assertEquals(BoardConstants.NUMBER_OF_FORESTS, count(layout, TileType.FOREST));
+        assertEquals(BoardConstants.NUMBER_OF_FIELDS, count(layout, TileType.FIELD));
+        assertEquals(BoardConstants.NUMBER_OF_MOUNTAINS, count(layout, TileType.MOUNTAIN));
+        assertEquals(BoardConstants.NUMBER_OF_HILLS, count(layout, TileType.HILL));
+        assertEquals(BoardConstants.NUMBER_OF_PASTURES, count(layout, TileType.PASTURE));
+    }
+
+    // -- helper methods --
+
+    private static int count(TileType[] layout, TileType type) {
+        int count = 0;
+        for (TileType tileType : layout) {
+            if (tileType == type) {
+                count++;
+            }
+        }
+        return count;
+    }
+}
@@ -13,19 +13,26 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import ch.uzh.ifi.seal.soprafs20.repository.BoardRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.CoordinateRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.TileRepository;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardPool;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
 import ch.uzh.ifi.seal.soprafs20.service.board.CoordinateService;
+import ch.uzh.ifi.seal.soprafs20.service.board.ProductionIndex;
 import ch.uzh.ifi.seal.soprafs20.service.board.TileService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.*;
 import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.Mockito.when;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
 
 class BoardServiceTest {
 
@@ -50,14 +57,15 @@ class BoardServiceTest {
         ReflectionTestUtils.setField(tileService, "coordinateRepository", coordinateRepository);
         ReflectionTestUtils.setField(tileService, "tileRepository", tileRepository);
         ReflectionTestUtils.setField(boardService, "tileService", tileService);
+        ReflectionTestUtils.setField(boardService, "boardPool", new BoardPool(0, Runnable::run));
 
     }
 
     @Test
     void testCreateBoard() {
         when(boardRepository.saveAndFlush(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
-        when(tileRepository.saveAndFlush(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
-        when(coordinateRepository.save(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
+        when(tileRepository.save(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
+        when(coordinateService.getBoardCoordinates()).thenReturn(createBoardCoordinates());
 
         Board createdBoard = boardService.createBoard(testGameId);
 
@@ -81,6 +89,17 @@ class BoardServiceTest {
         }
         assertEquals(BoardConstants.NUMBER_OF_FORESTS, forests, "Not the right number of forests");
 
+        //The corners are taken from the topology
+        assertEquals(new Coordinate(3, 0), tiles.get(0).getCoordinates().get(0));
+        assertEquals(new Coordinate(7, 11), tiles.get(18).getCoordinates().get(5));
+    }
+
+    private List<Coordinate> createBoardCoordinates() {
+        List<Coordinate> coordinates = new ArrayList<>();
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+            coordinates.add(new Coordinate(BoardTopology.getX(vertex), BoardTopology.getY(vertex)));
+        }
+        return coordinates;
     }
 
     @Test
@@ -138,4 +157,97 @@ class BoardServiceTest {
             assertEquals(userId, building.getUserId(), "The buildings should belong to the player");
         }
     }
+
+    @Test
+    void testCreateBoard_pooledBoardClaimed() {
+        when(boardRepository.saveAndFlush(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
+
+        //A pooled board without a game
+        Board pooled = new Board();
+        pooled.setId(7L);
+        Tile tile = new Tile();
+        pooled.setTiles(new ArrayList<>(List.of(tile)));
+        when(boardRepository.findById(7L)).thenReturn(Optional.of(pooled));
+
+        //The pool is not refilled
+        BoardPool boardPool = new BoardPool(1, runnable -> {});
+        boardPool.release(7L);
+        ReflectionTestUtils.setField(boardService, "boardPool", boardPool);
+
+        Board board = boardService.createBoard(testGameId);
+
+        assertSame(pooled, board, "The pooled board should be claimed");
+        assertEquals(testGameId, board.getGameId());
+        assertEquals(testGameId, tile.getGameId(), "The tiles should belong to the game");
+        assertEquals(0, boardPool.getAvailable());
+
+        //No tile is created
+        verify(tileRepository, never()).save(Mockito.any());
+    }
+
+    @Test
+    void testGetProductionIndex_cachedIndexTrusted() {
+        Game game = createGameWithBoard();
+        ProductionIndex index = boardService.getProductionIndex(game);
+
+        //A change that does not go through the service is not checked
+        game.getBoard().addSettlement(createSettlement(game.getBoard()));
+
+        assertSame(index, boardService.getProductionIndex(game), "The cached index should be used");
+    }
+
+    @Test
+    void testGetProductionIndex_verify_changedBoardRebuilt() {
+        ReflectionTestUtils.setField(boardService, "verifyProductionIndex", true);
+
+        Game game = createGameWithBoard();
+        ProductionIndex index = boardService.getProductionIndex(game);
+
+        game.getBoard().addSettlement(createSettlement(game.getBoard()));
+
+        ProductionIndex rebuilt = boardService.getProductionIndex(game);
+
+        assertNotSame(index, rebuilt, "The index should be rebuilt");
+        assertTrue(rebuilt.matches(game.getBoard()), "The rebuilt index should describe the board");
+    }
+
+    @Test
+    void testGetProductionIndex_rolledBack_indexDropped() {
+        Game game = createGameWithBoard();
+
+        ProductionIndex index;
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index = boardService.getProductionIndex(game);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNotSame(index, boardService.getProductionIndex(game), "The index should be dropped on rollback");
+    }
+
+    // -- helper methods --
+
+    private Game createGameWithBoard() {
+        when(boardRepository.saveAndFlush(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
+        when(tileRepository.save(Mockito.any())).then(AdditionalAnswers.returnsFirstArg());
+        when(coordinateService.getBoardCoordinates()).thenReturn(createBoardCoordinates());
+
+        Game game = new Game();
+        game.setId(testGameId);
+        game.setBoard(boardService.createBoard(testGameId));
+        return game;
+    }
+
+    private Settlement createSettlement(Board board) {
+        Settlement settlement = new Settlement();
+        settlement.setCoordinate(board.getTiles().get(0).getCoordinates().get(0));
+        settlement.setUserId(112233L);
+        return settlement;
+    }
 }
@@ -0,0 +1,59 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BoardTopologyTest {
+
+    @Test
+    void testVertices_positionsAreUnique() {
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+            int x = BoardTopology.getX(vertex);
+            int y = BoardTopology.getY(vertex);
+            assertEquals(vertex, BoardTopology.getVertex(x, y), "The position should map back to the vertex");
+        }
+        assertEquals(BoardTopology.NO_VERTEX, BoardTopology.getVertex(0, 0), "(0,0) is not on the board");
+        assertEquals(BoardTopology.NO_VERTEX, BoardTopology.getVertex(-1, 3), "Negative positions are not on the board");
+    }
+
+    @Test
+    void testNeighbors_symmetricAndAtMostThree() {
+        int degreeSum = 0;
+        for (int vertex = 0; vertex < BoardTopology.NUMBER_OF_VERTICES; vertex++) {
+            int[] neighbors = BoardTopology.getNeighbors(vertex);
+            assertTrue(neighbors.length >= 2 && neighbors.length <= 3, "A vertex has two or three neighbors");
+            degreeSum += neighbors.length;
+
+            for (int neighbor : neighbors) {
+                int edge = BoardTopology.edgeBetween(vertex, neighbor);
+                assertEquals(edge, BoardTopology.edgeBetween(neighbor, vertex), "Edges are undirected");
+            }
+        }
+        assertEquals(2 * BoardTopology.NUMBER_OF_EDGES, degreeSum, "Every edge connects two vertices");
+    }
+
+    @Test
+    void testEdges_connectNeighbors() {
+        for (int edge = 0; edge < BoardTopology.NUMBER_OF_EDGES; edge++) {
+            int[] vertices = BoardTopology.getEdgeVertices(edge);
+            assertEquals(edge, BoardTopology.edgeBetween(vertices[0], vertices[1]));
+        }
+    }
+
+    @Test
+    void testTiles_vertexAdjacency() {
+        // the desert in the middle of the board is surrounded by six tiles
+        for (int vertex : BoardTopology.getTileVertices(BoardTopology.DESERT_TILE)) {
+            assertEquals(3, BoardTopology.getVertexTiles(vertex).length,
+                    "The corners of the middle tile touch three tiles");
+        }
+
+        // the top of the first tile is at the border
+        int top = BoardTopology.getTileVertices(0)[0];
+        assertEquals(3, BoardTopology.getX(top));
+        assertEquals(0, BoardTopology.getY(top));
+        assertArrayEquals(new int[]{0}, BoardTopology.getVertexTiles(top));
+    }
+}
@@ -0,0 +1,158 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.service.BotService;
+import ch.uzh.ifi.seal.soprafs20.service.move.BotRunner;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameLaneExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+class BotRunnerTest {
+
+    private final Long testGameId = 1L;
+
+    private GameLaneExecutor gameLaneExecutor;
+    private BotService botService;
+
+    @BeforeEach
+    void setup() {
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        gameLaneExecutor = new GameLaneExecutor(transactionManager, 4, 16, 0, 0);
+        botService = Mockito.mock(BotService.class);
+    }
+
+    @AfterEach
+    void teardown() {
+        gameLaneExecutor.shutdown();
+    }
+
+    @Test
+    void testRequestBotTurns_playsUntilNoMoveLeft() {
+        BotRunner botRunner = createBotRunner(4);
+        given(botService.performBotTurn(testGameId)).willReturn(true, true, false);
+
+        botRunner.requestBotTurns(testGameId);
+
+        Mockito.verify(botService, Mockito.timeout(5000).times(3)).performBotTurn(testGameId);
+        awaitIdle(botRunner);
+    }
+
+    @Test
+    void testRequestBotTurns_failedMove_playedAgain() {
+        BotRunner botRunner = createBotRunner(4);
+        given(botService.performBotTurn(testGameId))
+                .willThrow(new IllegalStateException("lane queue full"))
+                .willReturn(true, false);
+
+        botRunner.requestBotTurns(testGameId);
+
+        //The game is played again after the failure, without another request
+        Mockito.verify(botService, Mockito.timeout(5000).times(3)).performBotTurn(testGameId);
+        awaitIdle(botRunner);
+        Mockito.verify(botService, Mockito.never()).giveUpBotTurn(testGameId);
+    }
+
+    @Test
+    void testRequestBotTurns_failingMoves_botPasses() {
+        BotRunner botRunner = createBotRunner(4);
+        IllegalStateException failure = new IllegalStateException("invalid move");
+        given(botService.performBotTurn(testGameId))
+                .willThrow(failure, failure, failure)
+                .willReturn(false);
+        given(botService.giveUpBotTurn(testGameId)).willReturn(true);
+
+        botRunner.requestBotTurns(testGameId);
+
+        //One move and two retries fail, then the bot passes and the game goes on
+        Mockito.verify(botService, Mockito.timeout(5000).times(1)).giveUpBotTurn(testGameId);
+        Mockito.verify(botService, Mockito.timeout(5000).times(4)).performBotTurn(testGameId);
+        awaitIdle(botRunner);
+    }
+
+    @Test
+    void testRequestBotTurns_failingMoves_noPassMove_gameWaits() {
+        BotRunner botRunner = createBotRunner(4);
+        IllegalStateException failure = new IllegalStateException("move store changed");
+        given(botService.performBotTurn(testGameId))
+                .willThrow(failure, failure, failure, failure)
+                .willReturn(false);
+
+        //During the setup the bot has no pass move
+        given(botService.giveUpBotTurn(testGameId)).willReturn(false);
+
+        botRunner.requestBotTurns(testGameId);
+
+        //The game is not ended, the bot keeps trying until its move goes through
+        Mockito.verify(botService, Mockito.timeout(5000).times(5)).performBotTurn(testGameId);
+        awaitIdle(botRunner);
+        Mockito.verify(botService, Mockito.times(2)).giveUpBotTurn(testGameId);
+    }
+
+    @Test
+    void testRequestBotTurns_inTransaction_startsAfterCommit() {
+        BotRunner botRunner = createBotRunner(4);
+        given(botService.performBotTurn(testGameId)).willReturn(false);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            botRunner.requestBotTurns(testGameId);
+            Mockito.verify(botService, Mockito.after(100).never()).performBotTurn(testGameId);
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        Mockito.verify(botService, Mockito.timeout(5000).times(1)).performBotTurn(testGameId);
+    }
+
+    @Test
+    void testRequestBotTurns_maxGamesReached_gameWaits() throws Exception {
+        BotRunner botRunner = createBotRunner(1);
+        CountDownLatch firstGameBlocked = new CountDownLatch(1);
+
+        given(botService.performBotTurn(testGameId)).willAnswer(invocation -> {
+            firstGameBlocked.await(5, TimeUnit.SECONDS);
+            return false;
+        });
+        given(botService.performBotTurn(2L)).willReturn(false);
+
+        botRunner.requestBotTurns(testGameId);
+        botRunner.requestBotTurns(2L);
+
+        Mockito.verify(botService, Mockito.after(100).never()).performBotTurn(2L);
+        assertEquals(1, botRunner.getActiveGames(), "Only one game should be played at a time");
+
+        firstGameBlocked.countDown();
+
+        Mockito.verify(botService, Mockito.timeout(5000).times(1)).performBotTurn(2L);
+        awaitIdle(botRunner);
+    }
+
+    private BotRunner createBotRunner(int maxGames) {
+        BotRunner botRunner = new BotRunner(gameLaneExecutor, maxGames, 2, 10);
+        botRunner.setBotService(botService);
+        return botRunner;
+    }
+
+    private void awaitIdle(BotRunner botRunner) {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (botRunner.getActiveGames() > 0 && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(0, botRunner.getActiveGames(), "The runner should be idle once the bots are done");
+    }
+}
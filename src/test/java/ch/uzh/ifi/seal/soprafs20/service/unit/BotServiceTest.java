@@ -1,7 +1,10 @@
 package ch.uzh.ifi.seal.soprafs20.service.unit;
 
 import ch.uzh.ifi.seal.soprafs20.constant.ApplicationConstants;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
 import ch.uzh.ifi.seal.soprafs20.service.BotService;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
@@ -14,7 +17,10 @@ import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.BDDMockito.given;
 
@@ -53,4 +59,81 @@ class BotServiceTest {
 
 
     }
+
+    /**
+     * Tests that a bot turn performs exactly one move of the current bot
+     */
+    @Test
+    void testPerformBotTurn_botIsCurrentPlayer_performsOneMove() {
+
+        Player bot = new Player();
+        bot.setBot(true);
+        bot.setUserId(7L);
+        Game game = new Game();
+        game.setCurrentPlayer(bot);
+
+        PassMove move = new PassMove();
+        given(gameService.findGameById(testGameId)).willReturn(game);
+        given(moveService.findMovesForGameAndPlayer(testGameId, 7L)).willReturn(List.of(move));
+
+        assertTrue(botService.performBotTurn(testGameId), "The bot should have moved");
+        Mockito.verify(moveService, Mockito.times(1)).performMove(move);
+    }
+
+    /**
+     * Tests that a bot turn does nothing if a human player is the current player
+     */
+    @Test
+    void testPerformBotTurn_humanIsCurrentPlayer() {
+
+        Player human = new Player();
+        human.setUserId(8L);
+        Game game = new Game();
+        game.setCurrentPlayer(human);
+
+        given(gameService.findGameById(testGameId)).willReturn(game);
+
+        assertFalse(botService.performBotTurn(testGameId), "No bot should have moved");
+        Mockito.verify(moveService, Mockito.never()).performMove(Mockito.any());
+    }
+
+    /**
+     * Tests that a bot that gives up its turn passes and leaves its other moves
+     */
+    @Test
+    void testGiveUpBotTurn_passMoveAvailable_passes() {
+
+        Player bot = new Player();
+        bot.setBot(true);
+        bot.setUserId(7L);
+        Game game = new Game();
+        game.setCurrentPlayer(bot);
+
+        PassMove passMove = new PassMove();
+        given(gameService.findGameById(testGameId)).willReturn(game);
+        given(moveService.findMovesForGameAndPlayer(testGameId, 7L)).willReturn(List.of(new TradeMove(), passMove));
+
+        assertTrue(botService.giveUpBotTurn(testGameId), "The game should go on");
+        Mockito.verify(moveService, Mockito.times(1)).performMove(passMove);
+        Mockito.verify(moveService, Mockito.times(1)).performMove(Mockito.any());
+    }
+
+    /**
+     * Tests that a bot that can not pass reports it, so the game can be ended
+     */
+    @Test
+    void testGiveUpBotTurn_noPassMove() {
+
+        Player bot = new Player();
+        bot.setBot(true);
+        bot.setUserId(7L);
+        Game game = new Game();
+        game.setCurrentPlayer(bot);
+
+        given(gameService.findGameById(testGameId)).willReturn(game);
+        given(moveService.findMovesForGameAndPlayer(testGameId, 7L)).willReturn(List.of(new TradeMove()));
+
+        assertFalse(botService.giveUpBotTurn(testGameId), "The bot can not pass");
+        Mockito.verify(moveService, Mockito.never()).performMove(Mockito.any());
+    }
 }
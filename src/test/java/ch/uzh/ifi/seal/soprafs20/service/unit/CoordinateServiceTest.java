@@ -3,11 +3,14 @@ package ch.uzh.ifi.seal.soprafs20.service.unit;
 
 import ch.uzh.ifi.seal.soprafs20.entity.game.coordinate.Coordinate;
 import ch.uzh.ifi.seal.soprafs20.repository.CoordinateRepository;
+import ch.uzh.ifi.seal.soprafs20.service.board.BoardTopology;
 import ch.uzh.ifi.seal.soprafs20.service.board.CoordinateService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.AdditionalAnswers;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
 
 import java.util.ArrayList;
@@ -104,5 +107,27 @@ class CoordinateServiceTest {
         assertTrue(coord5.getNeighbors().contains(coord4), "coord1 is coord5s neighbor");
         assertTrue(coord5.getNeighbors().contains(coord7), "coord2 is coord5s neighbor");
     }
-}
 
+    /**
+     * Tests that the board coordinates get created and their neighbors taken from the topology
+     */
+    @Test
+    void testGetBoardCoordinates_emptyRepository() {
+        given(coordinateRepository.findAllWithNeighbors()).willReturn(new ArrayList<>());
+        given(coordinateRepository.save(Mockito.any())).will(AdditionalAnswers.returnsFirstArg());
+
+        List<Coordinate> boardCoordinates = coordinateService.getBoardCoordinates();
+
+        assertEquals(BoardTopology.NUMBER_OF_VERTICES, boardCoordinates.size(), "There should be 54 coordinates");
+
+        //The top of the first tile has the upper left and upper right corner as neighbors
+        Coordinate top = boardCoordinates.get(0);
+        assertEquals(new Coordinate(3, 0), top);
+        assertEquals(2, top.getNeighbors().size(), "The top should have 2 neighbors");
+        assertTrue(top.getNeighbors().contains(new Coordinate(2, 1)));
+        assertTrue(top.getNeighbors().contains(new Coordinate(4, 1)));
+
+        //No coordinate is looked up on its own
+        Mockito.verify(coordinateRepository, Mockito.never()).findByXAndY(Mockito.anyInt(), Mockito.anyInt());
+    }
+}
@@ -0,0 +1,161 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.EphemeralMoveStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EphemeralMoveStoreTest {
+
+    private final Long testGameId = 1L;
+    private final Long testUserId = 12L;
+
+    private EphemeralMoveStore ephemeralMoveStore;
+
+    @BeforeEach
+    void setup() {
+        ephemeralMoveStore = new EphemeralMoveStore();
+    }
+
+    @Test
+    void testReplaceMoves_assignsIds() {
+        Move passMove = createPassMove(testUserId);
+        Move tradeMove = createTradeMove();
+
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(passMove, tradeMove));
+
+        assertNotNull(passMove.getId());
+        assertNotEquals(passMove.getId(), tradeMove.getId(), "Different moves need different ids");
+        assertEquals(passMove, ephemeralMoveStore.findMoveById(passMove.getId()));
+        assertEquals(tradeMove, ephemeralMoveStore.findMoveById(tradeMove.getId()));
+        assertEquals(2, ephemeralMoveStore.findMoves(testGameId).size());
+    }
+
+    @Test
+    void testReplaceMoves_deterministicIds() {
+        EphemeralMoveStore otherStore = new EphemeralMoveStore();
+        Move move = createPassMove(testUserId);
+        Move sameMove = createPassMove(testUserId);
+
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(move));
+        otherStore.replaceMoves(testGameId, List.of(sameMove));
+
+        assertEquals(move.getId(), sameMove.getId(), "The same move set should get the same ids");
+    }
+
+    @Test
+    void testReplaceMoves_oldIdsExpire() {
+        Move oldMove = createPassMove(testUserId);
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(oldMove));
+        Long oldId = oldMove.getId();
+
+        Move newMove = createPassMove(testUserId);
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(newMove));
+
+        assertNull(ephemeralMoveStore.findMoveById(oldId), "Moves of an older generation should not be found");
+        assertNotEquals(oldId, newMove.getId());
+        assertEquals(List.of(newMove), ephemeralMoveStore.findMoves(testGameId));
+    }
+
+    @Test
+    void testAddMoves_duplicateKeys() {
+        Move move = createPassMove(testUserId);
+        Move duplicate = createPassMove(testUserId);
+
+        ephemeralMoveStore.addMoves(testGameId, List.of(move));
+        ephemeralMoveStore.addMoves(testGameId, List.of(duplicate));
+
+        assertNotEquals(move.getId(), duplicate.getId(), "Equal moves need different ids");
+        assertEquals(2, ephemeralMoveStore.findMoves(testGameId).size());
+    }
+
+    @Test
+    void testFindMoves_forPlayer() {
+        Move move = createPassMove(testUserId);
+        Move otherMove = createPassMove(13L);
+
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(move, otherMove));
+
+        assertEquals(List.of(move), ephemeralMoveStore.findMoves(testGameId, testUserId));
+        assertTrue(ephemeralMoveStore.findMoves(2L, testUserId).isEmpty(), "Other games have no moves");
+    }
+
+    @Test
+    void testRemoveMoves() {
+        Move move = createPassMove(testUserId);
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(move));
+
+        ephemeralMoveStore.removeMoves(testGameId);
+
+        assertNull(ephemeralMoveStore.findMoveById(move.getId()));
+        assertTrue(ephemeralMoveStore.findMoves(testGameId).isEmpty());
+    }
+
+    @Test
+    void testReplaceMoves_rolledBack_restoresMoves() {
+        Move committedMove = createPassMove(testUserId);
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(committedMove));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ephemeralMoveStore.replaceMoves(testGameId, List.of(createTradeMove()));
+            ephemeralMoveStore.addMoves(testGameId, List.of(createPassMove(testUserId)));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            }
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(committedMove), ephemeralMoveStore.findMoves(testGameId),
+                "The moves before the transaction should be restored");
+        assertEquals(committedMove, ephemeralMoveStore.findMoveById(committedMove.getId()));
+    }
+
+    @Test
+    void testReplaceMoves_committed_keepsMoves() {
+        ephemeralMoveStore.replaceMoves(testGameId, List.of(createPassMove(testUserId)));
+
+        Move nextMove = createTradeMove();
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            ephemeralMoveStore.replaceMoves(testGameId, List.of(nextMove));
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertEquals(List.of(nextMove), ephemeralMoveStore.findMoves(testGameId));
+    }
+
+    private PassMove createPassMove(Long userId) {
+        PassMove move = new PassMove();
+        move.setUserId(userId);
+        move.setGameId(testGameId);
+        return move;
+    }
+
+    private TradeMove createTradeMove() {
+        TradeMove move = new TradeMove();
+        move.setUserId(testUserId);
+        move.setGameId(testGameId);
+        move.setOfferedType(ResourceType.ORE);
+        move.setNeededType(ResourceType.WOOL);
+        return move;
+    }
+}
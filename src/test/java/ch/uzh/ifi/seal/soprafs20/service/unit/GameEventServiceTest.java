@@ -0,0 +1,94 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameEventServiceTest {
+
+    private GameEventService gameEventService;
+
+    @BeforeEach
+    void setup() {
+        //the events are sent directly
+        gameEventService = new GameEventService(Runnable::run, 60000L);
+    }
+
+    @AfterEach
+    void teardown() {
+        gameEventService.shutdown();
+    }
+
+    @Test
+    void testSubscribe_oneBroadcasterPerGame() {
+        SseEmitter first = gameEventService.subscribe(1L, 1L, () -> "\"epoch-1\"");
+        SseEmitter second = gameEventService.subscribe(1L, 2L, () -> "\"epoch-1\"");
+        gameEventService.subscribe(2L, 3L, () -> "\"epoch-2\"");
+
+        assertNotNull(first);
+        assertNotSame(first, second, "Every connection should have its own emitter");
+        assertEquals(2, gameEventService.getSubscriberCount(1L));
+        assertEquals(1, gameEventService.getSubscriberCount(2L));
+    }
+
+    @Test
+    void testPublishStateChanged_keepsSubscriptions() {
+        gameEventService.subscribe(1L, 1L, () -> "\"epoch-1\"");
+
+        gameEventService.publishStateChanged(1L, "\"epoch-2\"");
+        gameEventService.publishStateChanged(3L, "\"epoch-3\"");
+
+        assertEquals(1, gameEventService.getSubscriberCount(1L));
+        assertEquals(0, gameEventService.getSubscriberCount(3L), "A game without connections should have no broadcaster");
+    }
+
+    @Test
+    void testPublishGameEnded_removesSubscriptions() {
+        gameEventService.subscribe(1L, 1L, () -> "\"epoch-1\"");
+        gameEventService.subscribe(2L, 2L, () -> "\"epoch-2\"");
+
+        gameEventService.publishGameEnded(1L);
+
+        assertEquals(0, gameEventService.getSubscriberCount(1L));
+        assertEquals(1, gameEventService.getSubscriberCount(2L), "Other games should keep their connections");
+    }
+
+    @Test
+    void testSubscribe_gameEnded_subscriptionClosed() {
+        gameEventService.subscribe(1L, 1L, () -> "\"epoch-1\"");
+        gameEventService.publishGameEnded(1L);
+
+        //The game has no ETag anymore, the late subscription gets the end event instead of waiting
+        gameEventService.subscribe(1L, 2L, () -> null);
+
+        assertEquals(0, gameEventService.getSubscriberCount(1L), "The late subscription should be closed");
+    }
+
+    @Test
+    void testSubscribe_firstEventSentInOrder() {
+        Queue<Runnable> queued = new ArrayDeque<>();
+        GameEventService queuedService = new GameEventService(queued::add, 60000L);
+        AtomicInteger reads = new AtomicInteger();
+
+        queuedService.subscribe(1L, 1L, () -> "\"epoch-" + reads.incrementAndGet() + "\"");
+        queuedService.publishStateChanged(1L, "\"epoch-2\"");
+
+        //The ETag of the first event is only read when the events of the game are sent
+        assertEquals(0, reads.get());
+        assertEquals(1, queued.size(), "The first event and the change should be sent by one task");
+
+        queued.poll().run();
+
+        assertEquals(1, reads.get());
+        assertEquals(1, queuedService.getSubscriberCount(1L));
+        queuedService.shutdown();
+    }
+}
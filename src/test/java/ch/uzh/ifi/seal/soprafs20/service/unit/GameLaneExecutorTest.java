@@ -0,0 +1,130 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameLaneExecutor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameLaneExecutorTest {
+
+    private final Long testGameId = 1L;
+
+    private GameLaneExecutor gameLaneExecutor;
+
+    @BeforeEach
+    void setup() {
+        PlatformTransactionManager transactionManager = Mockito.mock(PlatformTransactionManager.class);
+        gameLaneExecutor = new GameLaneExecutor(transactionManager, 4, 16, 2, 0);
+    }
+
+    @AfterEach
+    void teardown() {
+        gameLaneExecutor.shutdown();
+    }
+
+    @Test
+    void testSubmit_sameGame_executedInOrder() throws Exception {
+        List<Integer> executed = Collections.synchronizedList(new ArrayList<>());
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+
+        for (int i = 0; i < 100; i++) {
+            int task = i;
+            results.add(gameLaneExecutor.submit(testGameId, () -> {
+                executed.add(task);
+                return task;
+            }));
+        }
+
+        CompletableFuture.allOf(results.toArray(CompletableFuture<?>[]::new)).get(10, TimeUnit.SECONDS);
+
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, executed.get(i), "The tasks of a game should be executed in order");
+        }
+    }
+
+    @Test
+    void testSubmit_otherGames_executedInParallel() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+
+        CompletableFuture<Boolean> first = gameLaneExecutor.submit(testGameId, () -> awaitOther(bothStarted));
+        CompletableFuture<Boolean> second = gameLaneExecutor.submit(2L, () -> awaitOther(bothStarted));
+
+        assertTrue(first.get(10, TimeUnit.SECONDS), "Different games should not wait for each other");
+        assertTrue(second.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_returnsResult() {
+        assertEquals("done", gameLaneExecutor.execute(testGameId, () -> "done"));
+    }
+
+    @Test
+    void testExecute_rethrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> gameLaneExecutor.execute(testGameId, () -> {
+            throw new IllegalArgumentException("invalid move");
+        }));
+
+        // the lane is still usable afterwards
+        assertEquals(1, gameLaneExecutor.execute(testGameId, () -> 1));
+    }
+
+    @Test
+    void testExecute_nestedInSameGame_executedDirectly() {
+        int result = gameLaneExecutor.execute(testGameId,
+                () -> gameLaneExecutor.execute(testGameId, () -> 2) + 1);
+
+        assertEquals(3, result, "A nested task of the same game must not wait for its own lane");
+    }
+
+    @Test
+    void testExecute_concurrentChange_retried() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        int result = gameLaneExecutor.execute(testGameId, () -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new ObjectOptimisticLockingFailureException(Game.class, testGameId);
+            }
+            return attempts.get();
+        });
+
+        assertEquals(3, result, "The task should be executed again until it succeeds");
+    }
+
+    @Test
+    void testExecute_concurrentChange_retriesBounded() {
+        AtomicInteger attempts = new AtomicInteger();
+
+        assertThrows(OptimisticLockingFailureException.class, () -> gameLaneExecutor.execute(testGameId, () -> {
+            attempts.incrementAndGet();
+            throw new ObjectOptimisticLockingFailureException(Game.class, testGameId);
+        }));
+
+        assertEquals(3, attempts.get(), "The task should be retried twice");
+    }
+
+    private boolean awaitOther(CountDownLatch bothStarted) {
+        bothStarted.countDown();
+        try {
+            return bothStarted.await(5, TimeUnit.SECONDS);
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
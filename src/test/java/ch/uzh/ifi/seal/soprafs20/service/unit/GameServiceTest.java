@@ -1,17 +1,21 @@
 package ch.uzh.ifi.seal.soprafs20.service.unit;
 
 import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.GameListing;
 import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
 import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.history.GameHistory;
 import ch.uzh.ifi.seal.soprafs20.repository.GameRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.PlayerRepository;
+import ch.uzh.ifi.seal.soprafs20.service.GameLobby;
+import ch.uzh.ifi.seal.soprafs20.service.GameMemberships;
 import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.HistoryService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.QueueService;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameStateVersions;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -44,6 +48,12 @@ class GameServiceTest {
     @Mock
     HistoryService historyService;
     @Mock
+    GameMemberships gameMemberships;
+    @Mock
+    GameLobby gameLobby;
+    @Mock
+    GameStateVersions gameStateVersions;
+    @Mock
     private GameRepository gameRepository;
     @InjectMocks
     private GameService gameService;
@@ -70,6 +80,9 @@ class GameServiceTest {
         ReflectionTestUtils.setField(gameService, "queueService", queueService);
         ReflectionTestUtils.setField(gameService, "moveService", moveService);
         ReflectionTestUtils.setField(gameService, "historyService", historyService);
+        ReflectionTestUtils.setField(gameService, "gameMemberships", gameMemberships);
+        ReflectionTestUtils.setField(gameService, "gameLobby", gameLobby);
+        ReflectionTestUtils.setField(gameService, "gameStateVersions", gameStateVersions);
     }
 
     @Test
@@ -203,4 +216,57 @@ class GameServiceTest {
 
         assertFalse(result, "The user should not be able to access the game!");
     }
+
+    @Test
+    void testFindGameOfUser_registered() {
+        Player testPlayer = new Player();
+        testPlayer.setUserId(12L);
+        testGame.setPlayers(Collections.singletonList(testPlayer));
+
+        given(gameMemberships.getGameId(12L)).willReturn(1L);
+        given(gameRepository.findById(1L)).willReturn(Optional.of(testGame));
+
+        Game game = gameService.findGameOfUser(12L);
+
+        assertEquals(testGame, game, "The registered game should be returned!");
+        Mockito.verify(gameRepository, Mockito.never()).findByPlayerUserId(Mockito.any());
+        Mockito.verify(gameRepository, Mockito.never()).findAll();
+    }
+
+    @Test
+    void testFindGameOfUser_outdatedRegistration() {
+        given(gameMemberships.getGameId(12L)).willReturn(2L);
+        given(gameRepository.findById(2L)).willReturn(Optional.empty());
+        given(gameRepository.findByPlayerUserId(12L)).willReturn(Collections.singletonList(testGame));
+
+        Game game = gameService.findGameOfUser(12L);
+
+        assertEquals(testGame, game, "The game of the player should be returned!");
+        Mockito.verify(gameMemberships).forget(12L);
+        Mockito.verify(gameMemberships).remember(12L, 1L);
+    }
+
+    @Test
+    void testGetLobby_filterAndPage() {
+        List<GameListing> listings = new ArrayList<>();
+        listings.add(new GameListing(1L, "Open1", 2, 1, false, false));
+        listings.add(new GameListing(2L, "Started", 2, 4, false, true));
+        listings.add(new GameListing(3L, "Full", 2, 4, false, false));
+        listings.add(new GameListing(4L, "Open2", 2, 2, true, false));
+
+        given(gameLobby.getListings(Mockito.any())).willReturn(listings);
+
+        assertEquals(4, gameService.getLobby(null, false, 0, null).size(), "All games should be listed!");
+        assertEquals(1, gameService.getLobby(true, false, 0, null).size(), "Only the started game should be listed!");
+        assertEquals(3, gameService.getLobby(false, false, 0, null).size(), "The started game should not be listed!");
+
+        List<GameListing> open = gameService.getLobby(null, true, 0, null);
+        assertEquals(2, open.size(), "Only the open games should be listed!");
+        assertEquals(4L, open.get(1).getId(), "The games should be ordered by id!");
+
+        List<GameListing> secondPage = gameService.getLobby(null, true, 1, 1);
+        assertEquals(1, secondPage.size(), "The page should have one game!");
+        assertEquals(4L, secondPage.get(0).getId(), "The second open game should be on the second page!");
+        assertTrue(gameService.getLobby(null, true, 2, 1).isEmpty(), "The third page should be empty!");
+    }
 }
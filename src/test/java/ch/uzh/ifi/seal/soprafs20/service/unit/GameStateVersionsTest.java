@@ -0,0 +1,70 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.service.event.GameEventService;
+import ch.uzh.ifi.seal.soprafs20.service.move.GameStateVersions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GameStateVersionsTest {
+
+    private GameEventService gameEventService;
+    private GameStateVersions gameStateVersions;
+
+    @BeforeEach
+    void setup() {
+        gameEventService = Mockito.mock(GameEventService.class);
+        gameStateVersions = new GameStateVersions(gameEventService);
+    }
+
+    @Test
+    void testGetVersion_unchanged_sameVersion() {
+        gameStateVersions.register(1L);
+        long version = gameStateVersions.getVersion(1L);
+
+        gameStateVersions.register(1L);
+
+        assertEquals(version, gameStateVersions.getVersion(1L), "Registering again should keep the version");
+        assertEquals(gameStateVersions.getETag(1L), gameStateVersions.getETag(1L));
+    }
+
+    @Test
+    void testGetVersion_unknownGame_notRegistered() {
+        assertNull(gameStateVersions.getVersion(1L));
+        assertNull(gameStateVersions.getETag(1L));
+
+        //Looking up an unknown game does not register it
+        assertNull(gameStateVersions.getVersion(1L));
+    }
+
+    @Test
+    void testChanged_increasesVersion() {
+        gameStateVersions.register(1L);
+        gameStateVersions.register(2L);
+        long version = gameStateVersions.getVersion(1L);
+        String eTag = gameStateVersions.getETag(1L);
+        long otherVersion = gameStateVersions.getVersion(2L);
+
+        gameStateVersions.changed(1L);
+
+        assertTrue(gameStateVersions.getVersion(1L) > version, "The version should increase");
+        assertNotEquals(eTag, gameStateVersions.getETag(1L));
+        assertEquals(otherVersion, gameStateVersions.getVersion(2L), "Other games should not change");
+        Mockito.verify(gameEventService).publishStateChanged(1L, gameStateVersions.getETag(1L));
+    }
+
+    @Test
+    void testRemove_registeredAgain_newVersion() {
+        gameStateVersions.register(1L);
+        long version = gameStateVersions.getVersion(1L);
+
+        gameStateVersions.remove(1L);
+
+        assertNull(gameStateVersions.getVersion(1L), "A removed game should have no version");
+        gameStateVersions.register(1L);
+        assertTrue(gameStateVersions.getVersion(1L) > version, "A removed game should never get an old version");
+        Mockito.verify(gameEventService).publishGameEnded(1L);
+    }
+}
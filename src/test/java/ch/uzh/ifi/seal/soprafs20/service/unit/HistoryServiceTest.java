@@ -2,6 +2,7 @@ package ch.uzh.ifi.seal.soprafs20.service.unit;
 
 import ch.uzh.ifi.seal.soprafs20.entity.history.GameHistory;
 import ch.uzh.ifi.seal.soprafs20.repository.GameHistoryRepository;
+import ch.uzh.ifi.seal.soprafs20.repository.HistoryEntryRepository;
 import ch.uzh.ifi.seal.soprafs20.service.HistoryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -21,6 +22,8 @@ class HistoryServiceTest {
     private HistoryService historyService;
     @Mock
     private GameHistoryRepository gameHistoryRepository;
+    @Mock
+    private HistoryEntryRepository historyEntryRepository;
 
     @BeforeEach
     void setup() {
@@ -0,0 +1,118 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.constant.PlentyType;
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Board;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Tile;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.KnightMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.MonopolyMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.development.PlentyMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.calculator.MoveBinder;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveBinderTest {
+
+    private Game testGame;
+
+    @BeforeEach
+    void setup() {
+        Tile tile = new Tile();
+        tile.setId(7L);
+        List<Tile> tiles = new ArrayList<>();
+        tiles.add(tile);
+
+        Board board = new Board();
+        board.setTiles(tiles);
+
+        testGame = new Game();
+        testGame.setId(1L);
+        testGame.setBoard(board);
+    }
+
+    @Test
+    void testBind_tradeMove() {
+        TradeMove descriptor = setUpMove(new TradeMove());
+        descriptor.setOfferedType(ResourceType.BRICK);
+
+        Move bound = MoveBinder.bind(testGame, descriptor, ResourceType.ORE, null, null, null);
+
+        assertTrue(bound instanceof TradeMove);
+        assertEquals(ResourceType.ORE, ((TradeMove) bound).getNeededType());
+        assertEquals(ResourceType.BRICK, ((TradeMove) bound).getOfferedType());
+        assertEquals(descriptor.getId(), bound.getId(), "The bound move should keep the id of the descriptor");
+        assertNull(descriptor.getNeededType(), "The descriptor should not be changed");
+
+        assertNull(MoveBinder.bind(testGame, descriptor, ResourceType.BRICK, null, null, null),
+                "The needed type can not be the offered type");
+        assertNull(MoveBinder.bind(testGame, descriptor, null, null, null, null),
+                "The needed type is required");
+    }
+
+    @Test
+    void testBind_knightMove() {
+        KnightMove descriptor = setUpMove(new KnightMove());
+
+        Move bound = MoveBinder.bind(testGame, descriptor, null, null, null, 7L);
+
+        assertEquals(7L, ((KnightMove) bound).getTileId());
+        assertNull(MoveBinder.bind(testGame, descriptor, null, null, null, 8L),
+                "The tile has to be on the board of the game");
+    }
+
+    @Test
+    void testBind_monopolyAndPlentyMove() {
+        Move monopoly = MoveBinder.bind(testGame, setUpMove(new MonopolyMove()), null, ResourceType.WOOL, null, null);
+        Move plenty = MoveBinder.bind(testGame, setUpMove(new PlentyMove()), null, null, PlentyType.MINER, null);
+
+        assertEquals(ResourceType.WOOL, ((MonopolyMove) monopoly).getMonopolyType());
+        assertEquals(PlentyType.MINER, ((PlentyMove) plenty).getPlentyType());
+        assertNull(MoveBinder.bind(testGame, setUpMove(new PlentyMove()), null, ResourceType.WOOL, null, null),
+                "The plenty type is required");
+    }
+
+    @Test
+    void testBind_concreteMove_unchanged() {
+        PassMove passMove = setUpMove(new PassMove());
+        TradeMove tradeMove = setUpMove(new TradeMove());
+        tradeMove.setOfferedType(ResourceType.BRICK);
+        tradeMove.setNeededType(ResourceType.ORE);
+
+        assertFalse(MoveBinder.isDescriptor(passMove));
+        assertFalse(MoveBinder.isDescriptor(tradeMove));
+        assertSame(passMove, MoveBinder.bind(testGame, passMove, null, null, null, null));
+        assertSame(tradeMove, MoveBinder.bind(testGame, tradeMove, ResourceType.WOOL, null, null, null),
+                "The parameters of a concrete move should not be replaced");
+    }
+
+    @Test
+    void testBindRandomly() {
+        TradeMove descriptor = setUpMove(new TradeMove());
+        descriptor.setOfferedType(ResourceType.BRICK);
+
+        for (int i = 0; i < 20; i++) {
+            TradeMove bound = (TradeMove) MoveBinder.bindRandomly(testGame, descriptor);
+            assertNotNull(bound.getNeededType());
+            assertNotEquals(ResourceType.BRICK, bound.getNeededType(), "The needed type has to be another type");
+        }
+        assertEquals(7L, ((KnightMove) MoveBinder.bindRandomly(testGame, setUpMove(new KnightMove()))).getTileId());
+    }
+
+    // -- helper methods --
+
+    private <T extends Move> T setUpMove(T move) {
+        move.setId(3L);
+        move.setGameId(testGame.getId());
+        move.setUserId(12L);
+        return move;
+    }
+}
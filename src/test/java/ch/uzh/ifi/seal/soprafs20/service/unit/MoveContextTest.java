@@ -0,0 +1,56 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.entity.Game;
+import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveContextTest {
+
+    private Game testGame;
+    private Player testPlayer;
+    private Player otherPlayer;
+
+    @BeforeEach
+    void setup() {
+        testPlayer = new Player();
+        testPlayer.setUserId(12L);
+
+        otherPlayer = new Player();
+        otherPlayer.setUserId(13L);
+
+        testGame = new Game();
+        testGame.setId(1L);
+        testGame.addPlayer(testPlayer);
+        testGame.addPlayer(otherPlayer);
+    }
+
+    @Test
+    void testGetPlayer() {
+        MoveContext context = new MoveContext(createMove(testPlayer.getUserId()), testGame);
+
+        assertSame(testPlayer, context.getMovingPlayer(), "The moving player should be taken from the game");
+        assertSame(otherPlayer, context.getPlayer(otherPlayer.getUserId()));
+        assertSame(testGame, context.getGame());
+    }
+
+    @Test
+    void testGetPlayer_notInGame() {
+        MoveContext context = new MoveContext(createMove(99L), testGame);
+
+        assertThrows(NullPointerException.class, context::getMovingPlayer,
+                "A player that is not part of the game can not be found");
+    }
+
+    private Move createMove(Long userId) {
+        PassMove move = new PassMove();
+        move.setUserId(userId);
+        move.setGameId(testGame.getId());
+        return move;
+    }
+}
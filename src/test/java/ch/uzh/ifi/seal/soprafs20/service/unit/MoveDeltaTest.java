@@ -0,0 +1,81 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.constant.ResourceType;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveDelta;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveDeltaTest {
+
+    private final Long testUserId = 12L;
+
+    @Test
+    void testBetween_sameMoves_emptyDelta() {
+        List<Move> stored = List.of(createTradeMove(ResourceType.ORE, ResourceType.WOOL), createPassMove());
+        List<Move> next = List.of(createTradeMove(ResourceType.ORE, ResourceType.WOOL), createPassMove());
+
+        MoveDelta delta = MoveDelta.between(stored, next);
+
+        assertTrue(delta.isEmpty(), "Equal move sets should not produce a delta");
+    }
+
+    @Test
+    void testBetween_changedMoves() {
+        Move keptMove = createPassMove();
+        Move staleMove = createTradeMove(ResourceType.ORE, ResourceType.WOOL);
+        Move newMove = createTradeMove(ResourceType.BRICK, ResourceType.WOOL);
+
+        MoveDelta delta = MoveDelta.between(List.of(staleMove, keptMove), List.of(createPassMove(), newMove));
+
+        assertEquals(List.of(staleMove), delta.getStaleMoves(), "Only the invalid move should be removed");
+        assertEquals(List.of(newMove), delta.getNewMoves(), "Only the new move should be added");
+    }
+
+    @Test
+    void testBetween_duplicateMoves_matchedOneByOne() {
+        List<Move> stored = new ArrayList<>();
+        stored.add(createTradeMove(ResourceType.ORE, ResourceType.WOOL));
+
+        List<Move> next = new ArrayList<>();
+        next.add(createTradeMove(ResourceType.ORE, ResourceType.WOOL));
+        next.add(createTradeMove(ResourceType.ORE, ResourceType.WOOL));
+
+        MoveDelta delta = MoveDelta.between(stored, next);
+
+        assertTrue(delta.getStaleMoves().isEmpty());
+        assertEquals(1, delta.getNewMoves().size(), "The second occurrence should be added");
+    }
+
+    @Test
+    void testBetween_otherPlayer_replacesMoves() {
+        Move stored = createPassMove();
+        Move next = createPassMove();
+        next.setUserId(13L);
+
+        MoveDelta delta = MoveDelta.between(List.of(stored), List.of(next));
+
+        assertEquals(List.of(stored), delta.getStaleMoves());
+        assertEquals(List.of(next), delta.getNewMoves());
+    }
+
+    private TradeMove createTradeMove(ResourceType offered, ResourceType needed) {
+        TradeMove move = new TradeMove();
+        move.setUserId(testUserId);
+        move.setOfferedType(offered);
+        move.setNeededType(needed);
+        return move;
+    }
+
+    private PassMove createPassMove() {
+        PassMove move = new PassMove();
+        move.setUserId(testUserId);
+        return move;
+    }
+}
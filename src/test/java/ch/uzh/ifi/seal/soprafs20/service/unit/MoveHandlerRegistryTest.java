@@ -0,0 +1,52 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.entity.history.DiceMoveHistory;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.DiceMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.Move;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.PassMove;
+import ch.uzh.ifi.seal.soprafs20.entity.moves.TradeMove;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandlerRegistry;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.DiceMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.PassMoveHandler;
+import ch.uzh.ifi.seal.soprafs20.service.move.handler.standard.TradeMoveHandler;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoveHandlerRegistryTest {
+
+    @Test
+    void testGetHandler_sharedPerKindOfMove() {
+        MoveHandler handler = new PassMove().getMoveHandler();
+
+        assertTrue(handler instanceof PassMoveHandler);
+        assertSame(handler, new PassMove().getMoveHandler(), "The handler should be shared");
+        assertSame(handler, MoveHandlerRegistry.getHandler(PassMove.class));
+        assertTrue(new TradeMove().getMoveHandler() instanceof TradeMoveHandler);
+    }
+
+    @Test
+    void testGetHandler_unknownMove() {
+        Move move = new Move() {
+        };
+
+        assertThrows(IllegalStateException.class, move::getMoveHandler);
+    }
+
+    @Test
+    void testHistory_readFromResult() {
+        MoveHandler handler = MoveHandlerRegistry.getHandler(DiceMove.class);
+        assertTrue(handler instanceof DiceMoveHandler);
+
+        MoveResult first = new MoveResult(new DiceMove());
+        first.setDiceRoll(7);
+        MoveResult second = new MoveResult(new DiceMove());
+        second.setDiceRoll(4);
+
+        //The shared handler keeps no roll of its own
+        assertEquals(7, ((DiceMoveHistory) handler.getHistory(first)).getRoll());
+        assertEquals(4, ((DiceMoveHistory) handler.getHistory(second)).getRoll());
+    }
+}
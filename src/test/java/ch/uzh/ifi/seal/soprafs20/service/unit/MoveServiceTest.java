@@ -10,6 +10,10 @@ import ch.uzh.ifi.seal.soprafs20.service.GameService;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
 import ch.uzh.ifi.seal.soprafs20.service.board.BoardService;
 import ch.uzh.ifi.seal.soprafs20.service.board.TileService;
+import ch.uzh.ifi.seal.soprafs20.service.move.CompactMoveStore;
+import ch.uzh.ifi.seal.soprafs20.service.move.EphemeralMoveStore;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveDelta;
+import ch.uzh.ifi.seal.soprafs20.service.move.MoveResult;
 import ch.uzh.ifi.seal.soprafs20.service.move.MoveService;
 import ch.uzh.ifi.seal.soprafs20.service.move.handler.MoveHandler;
 import org.junit.jupiter.api.BeforeEach;
@@ -21,7 +25,7 @@ import org.mockito.MockitoAnnotations;
 import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.BDDMockito.given;
@@ -34,6 +38,9 @@ class MoveServiceTest {
     @Mock
     private MoveRepository moveRepository;
 
+    @Mock
+    private CompactMoveStore compactMoveStore;
+
     @Mock
     private PlayerService playerService;
 
@@ -63,6 +70,11 @@ class MoveServiceTest {
         ReflectionTestUtils.setField(moveService, "gameService", gameService);
         ReflectionTestUtils.setField(moveService, "boardService", boardService);
         ReflectionTestUtils.setField(moveService, "tileService", tileService);
+        ReflectionTestUtils.setField(moveService, "compactMoveStore", compactMoveStore);
+
+        //The move store writes all next moves
+        given(compactMoveStore.replaceMoves(Mockito.any(), Mockito.any()))
+                .willAnswer(invocation -> MoveDelta.between(new ArrayList<>(), invocation.getArgument(1)));
 
         //Move with all default fields, returns testHandler
         testMove = new Move() {
@@ -87,15 +99,66 @@ class MoveServiceTest {
         Move move = new PassMove();
         move.setId(1L);
 
-        given(moveRepository.findById(1L)).willReturn(Optional.of(move));
+        given(compactMoveStore.findMoveById(1L)).willReturn(move);
 
         assertEquals(move, moveService.findMoveById(1L), "The found move does not match the given Id!");
     }
 
+    @Test
+    void testFindMoveById_ephemeralMoves() {
+
+        //setup
+        EphemeralMoveStore ephemeralMoveStore = new EphemeralMoveStore();
+        ReflectionTestUtils.setField(moveService, "ephemeralMoveStore", ephemeralMoveStore);
+        ReflectionTestUtils.setField(moveService, "ephemeralMoves", true);
+
+        Move move = new PassMove();
+        move.setUserId(testPlayer.getUserId());
+        move.setGameId(testGame.getId());
+        ephemeralMoveStore.replaceMoves(testGame.getId(), List.of(move));
+
+        assertEquals(move, moveService.findMoveById(move.getId()), "The move should be resolved from memory!");
+        assertEquals(List.of(move), moveService.findMovesForGameAndPlayer(testGame.getId(), testPlayer.getUserId()));
+        Mockito.verifyNoInteractions(moveRepository);
+        Mockito.verifyNoInteractions(compactMoveStore);
+    }
+
     @Test
     void testMakeRecalculations_belowWin() {
 
         //Setup
+        testGame.getCurrentPlayer().setVictoryPoints(GameConstants.WIN_POINTS - 1);
+
+        //new Moves empty, recalculation tested in tests for MoveCalculator
+        given(testHandler.calculateNextMoves(Mockito.any(), Mockito.any())).willReturn(new ArrayList<>());
+
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
+
+        //The counter is used as it is, the points are not recounted
+        assertEquals(GameConstants.WIN_POINTS - 1, testGame.getCurrentPlayer().getVictoryPoints());
+        Mockito.verify(boardService, Mockito.never()).getPointsFromBuildings(Mockito.any(), Mockito.any());
+        Mockito.verify(gameService, Mockito.never()).teardownGameWithId(Mockito.any());
+        Mockito.verify(testHandler).calculateNextMoves(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testMakeRecalculations_aboveWin() {
+
+        //Setup
+        testGame.getCurrentPlayer().setVictoryPoints(GameConstants.WIN_POINTS);
+
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
+
+        //The game is over, no further moves are calculated
+        Mockito.verify(gameService).teardownGameWithId(testGame.getId());
+        Mockito.verify(testHandler, Mockito.never()).calculateNextMoves(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    void testMakeRecalculations_verifyPoints_belowWin() {
+
+        //Setup
+        ReflectionTestUtils.setField(moveService, "verifyVictoryPoints", true);
 
         //Assumes the player has 1 victory point card
         given(playerService.getPointsFromDevelopmentCards(Mockito.any())).willReturn(1);
@@ -106,16 +169,17 @@ class MoveServiceTest {
         //new Moves empty, recalculation tested in tests for MoveCalculator
         given(testHandler.calculateNextMoves(Mockito.any(), Mockito.any())).willReturn(new ArrayList<>());
 
-        moveService.makeRecalculations(testGame, testHandler, testMove);
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
 
-        //Calculated points are
+        //The counter is corrected to the recounted points
         assertEquals(3, testGame.getCurrentPlayer().getVictoryPoints(), "Victory point calculation wrong!");
     }
 
     @Test
-    void testMakeRecalculations_aboveWin() {
+    void testMakeRecalculations_verifyPoints_aboveWin() {
 
         //Setup
+        ReflectionTestUtils.setField(moveService, "verifyVictoryPoints", true);
 
         //Assumes the player has 1 victory point card
         given(playerService.getPointsFromDevelopmentCards(Mockito.any())).willReturn(1);
@@ -126,10 +190,11 @@ class MoveServiceTest {
         //new Moves empty, recalculation tested in tests for MoveCalculator
         given(testHandler.calculateNextMoves(Mockito.any(), Mockito.any())).willReturn(new ArrayList<>());
 
-        moveService.makeRecalculations(testGame, testHandler, testMove);
+        moveService.makeRecalculations(testGame, testHandler, new MoveResult(testMove));
 
         //Calculated points are
         assertEquals(GameConstants.WIN_POINTS + 1, testGame.getCurrentPlayer().getVictoryPoints(), "Victory point calculation wrong!");
+        Mockito.verify(gameService).teardownGameWithId(testGame.getId());
     }
 
 
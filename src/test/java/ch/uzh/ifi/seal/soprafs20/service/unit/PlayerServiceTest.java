@@ -8,7 +8,6 @@ import ch.uzh.ifi.seal.soprafs20.entity.game.Player;
 import ch.uzh.ifi.seal.soprafs20.entity.game.ResourceWallet;
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Building;
 import ch.uzh.ifi.seal.soprafs20.entity.game.buildings.Settlement;
-import ch.uzh.ifi.seal.soprafs20.entity.moves.PurchaseMove;
 import ch.uzh.ifi.seal.soprafs20.repository.PlayerRepository;
 import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
 import ch.uzh.ifi.seal.soprafs20.service.PlayerService;
@@ -88,13 +87,7 @@ class PlayerServiceTest {
     @Test
     void testAddDevelopmentCard_playerNull() {
 
-        PurchaseMove purchaseMove = new PurchaseMove();
-        purchaseMove.setUserId(testUserId);
-        purchaseMove.setGameId(testGameId);
-
-        given(playerRepository.findByUserId(testUserId)).willReturn(null);
-
-        assertThrows(NullPointerException.class, () -> playerService.addDevelopmentCard(purchaseMove));
+        assertThrows(NullPointerException.class, () -> playerService.addDevelopmentCard(null));
 
     }
 
@@ -0,0 +1,89 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.constant.UserStatus;
+import ch.uzh.ifi.seal.soprafs20.entity.User;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenCacheTest {
+
+    private final AtomicLong now = new AtomicLong(1000L);
+
+    private TokenCache tokenCache;
+
+    @BeforeEach
+    void setup() {
+        tokenCache = new TokenCache(100L, 2, now::get);
+    }
+
+    @Test
+    void testGet_cachedUser_returnsCopy() {
+        User user = createUser(1L, "token1");
+        tokenCache.put(user);
+
+        User cached = tokenCache.get("token1");
+
+        assertNotSame(user, cached, "The cache should never hand out the entity");
+        assertEquals(user.getId(), cached.getId());
+        assertEquals(user.getUsername(), cached.getUsername());
+        assertNull(cached.getPassword(), "The password should not be cached");
+    }
+
+    @Test
+    void testGet_expired() {
+        tokenCache.put(createUser(1L, "token1"));
+
+        now.addAndGet(100L);
+
+        assertNull(tokenCache.get("token1"), "The entry should have expired");
+        assertEquals(0, tokenCache.size());
+    }
+
+    @Test
+    void testPut_full_evictsLeastRecentlyUsed() {
+        tokenCache.put(createUser(1L, "token1"));
+        tokenCache.put(createUser(2L, "token2"));
+        tokenCache.get("token1");
+
+        tokenCache.put(createUser(3L, "token3"));
+
+        assertNotNull(tokenCache.get("token1"));
+        assertNull(tokenCache.get("token2"), "The least recently used token should be evicted");
+        assertNotNull(tokenCache.get("token3"));
+    }
+
+    @Test
+    void testInvalidateUser() {
+        tokenCache.put(createUser(1L, "token1"));
+        tokenCache.put(createUser(2L, "token2"));
+
+        tokenCache.invalidateUser(1L);
+
+        assertNull(tokenCache.get("token1"));
+        assertNotNull(tokenCache.get("token2"));
+    }
+
+    @Test
+    void testPut_disabled() {
+        TokenCache disabled = new TokenCache(0L, 2, now::get);
+
+        disabled.put(createUser(1L, "token1"));
+
+        assertNull(disabled.get("token1"));
+    }
+
+    private User createUser(Long id, String token) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername("user" + id);
+        user.setPassword("password");
+        user.setToken(token);
+        user.setStatus(UserStatus.ONLINE);
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package ch.uzh.ifi.seal.soprafs20.service.unit;
+
+import ch.uzh.ifi.seal.soprafs20.service.auth.SignedToken;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenSigner;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TokenSignerTest {
+
+    private final AtomicLong now = new AtomicLong(1000L);
+
+    private TokenSigner tokenSigner;
+
+    @BeforeEach
+    void setup() {
+        tokenSigner = new TokenSigner(true, "secret", 100L, now::get);
+    }
+
+    @Test
+    void testVerify_validToken() {
+        String token = tokenSigner.sign(1L, 3L);
+
+        SignedToken signedToken = tokenSigner.verify(token);
+
+        assertTrue(tokenSigner.isSignedToken(token));
+        assertNotNull(signedToken, "The token should be valid");
+        assertEquals(1L, signedToken.getUserId());
+        assertEquals(3L, signedToken.getGeneration());
+        assertEquals(1000L, signedToken.getIssuedAt());
+    }
+
+    @Test
+    void testVerify_changedPayload() {
+        String token = tokenSigner.sign(1L, 0L);
+        String changed = token.replaceFirst("s1\\.1\\.", "s1.2.");
+
+        assertNull(tokenSigner.verify(changed), "A changed token should not be valid");
+    }
+
+    @Test
+    void testVerify_otherSecret() {
+        String token = new TokenSigner(true, "other secret", 0L, now::get).sign(1L, 0L);
+
+        assertNull(tokenSigner.verify(token), "A token signed with another secret should not be valid");
+    }
+
+    @Test
+    void testVerify_expired() {
+        String token = tokenSigner.sign(1L, 0L);
+
+        now.addAndGet(100L);
+
+        assertNull(tokenSigner.verify(token), "The token should have expired");
+    }
+
+    @Test
+    void testVerify_notSignedToken() {
+        assertFalse(tokenSigner.isSignedToken("7f3c2a1e-uuid-token"));
+        assertNull(tokenSigner.verify("7f3c2a1e-uuid-token"));
+        assertNull(tokenSigner.verify("s1.garbage"));
+        assertNull(tokenSigner.verify(null));
+    }
+}
@@ -5,12 +5,16 @@ import ch.uzh.ifi.seal.soprafs20.entity.User;
 import ch.uzh.ifi.seal.soprafs20.exceptions.RestException;
 import ch.uzh.ifi.seal.soprafs20.repository.UserRepository;
 import ch.uzh.ifi.seal.soprafs20.service.UserService;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenCache;
+import ch.uzh.ifi.seal.soprafs20.service.auth.TokenSigner;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
@@ -28,6 +32,8 @@ class UserServiceTest {
     @BeforeEach
     void setup() {
         MockitoAnnotations.initMocks(this);
+        userService.setTokenCache(new TokenCache(60000, 100));
+        userService.setTokenSigner(new TokenSigner(false, "", 0));
 
         // given
         testUser = new User();
@@ -180,4 +186,90 @@ class UserServiceTest {
 
     }
 
+    @Test
+    void testFindUserWithToken_cached_noSecondQuery() {
+        given(userRepository.findByToken(testUser.getToken())).willReturn(testUser);
+
+        userService.findUserWithToken(testUser.getToken());
+        User foundUser = userService.findUserWithToken(testUser.getToken());
+
+        Mockito.verify(userRepository, Mockito.times(1)).findByToken(testUser.getToken());
+        assertEquals(testUser.getId(), foundUser.getId(), "The cached user should be found");
+    }
+
+    @Test
+    void testLogoutUser_invalidatesToken() {
+        given(userRepository.findByToken(testUser.getToken())).willReturn(testUser);
+        given(userRepository.findByUsername(testUser.getUsername())).willReturn(testUser);
+
+        userService.findUserWithToken(testUser.getToken());
+        userService.logoutUser(testUser);
+        userService.findUserWithToken(testUser.getToken());
+
+        Mockito.verify(userRepository, Mockito.times(2)).findByToken(testUser.getToken());
+    }
+
+    @Test
+    void testFindUserWithToken_signedToken_noQuery() {
+        TokenSigner tokenSigner = new TokenSigner(true, "secret", 0);
+        userService.setTokenSigner(tokenSigner);
+        given(userRepository.findUserById(testUser.getId())).willReturn(testUser);
+
+        String token = tokenSigner.sign(testUser.getId(), testUser.getTokenGeneration());
+        userService.findUserWithToken(token);
+        User foundUser = userService.findUserWithToken(token);
+
+        assertEquals(testUser.getId(), foundUser.getId(), "The user of the token should be found");
+        Mockito.verify(userRepository, Mockito.never()).findByToken(Mockito.any());
+        Mockito.verify(userRepository, Mockito.times(1)).findUserById(testUser.getId());
+    }
+
+    @Test
+    void testFindUserWithToken_signedToken_invalidAfterLogout() {
+        TokenSigner tokenSigner = new TokenSigner(true, "secret", 0);
+        userService.setTokenSigner(tokenSigner);
+        given(userRepository.findUserById(testUser.getId())).willReturn(testUser);
+
+        String token = tokenSigner.sign(testUser.getId(), testUser.getTokenGeneration());
+        User principal = userService.findUserWithToken(token);
+        userService.logoutUser(principal);
+
+        assertNull(userService.findUserWithToken(token), "The token should be invalid after the logout");
+        assertEquals(UserStatus.OFFLINE, testUser.getStatus());
+    }
+
+    @Test
+    void testFindUserWithToken_signedToken_validUntilLogoutCommitted() {
+        TokenSigner tokenSigner = new TokenSigner(true, "secret", 0);
+        userService.setTokenSigner(tokenSigner);
+        given(userRepository.findUserById(testUser.getId())).willReturn(testUser);
+
+        String token = tokenSigner.sign(testUser.getId(), testUser.getTokenGeneration());
+        User principal = userService.findUserWithToken(token);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            userService.logoutUser(principal);
+
+            //The logout is not committed yet, it could still be rolled back
+            assertNotNull(userService.findUserWithToken(token), "The token should be valid until the commit");
+
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCommit();
+            }
+        }
+        finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertNull(userService.findUserWithToken(token), "The token should be invalid after the commit");
+    }
+
+    @Test
+    void testFindUserWithToken_signedToken_forged() {
+        userService.setTokenSigner(new TokenSigner(true, "secret", 0));
+        String forged = new TokenSigner(true, "other secret", 0).sign(testUser.getId(), 0);
+
+        assertNull(userService.findUserWithToken(forged), "A token with a wrong signature is not valid");
+    }
 }